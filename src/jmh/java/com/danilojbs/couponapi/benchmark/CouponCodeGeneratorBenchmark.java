@@ -0,0 +1,70 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.generator.CouponCodeGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Benchmark da geração de códigos.
+ * nextCode*: geração por blocos reservados (a sequence do banco é simulada por um contador em memória,
+ * portanto o custo da reserva aparece diluído em 1 acesso a cada blockSize códigos).
+ * randomWithProbe: alternativa "sorteia e confere se existe", em um espaço reduzido (36^4) ocupado
+ * na proporção "fill"; mostra como as tentativas crescem (1 / (1 - fill)) perto da saturação,
+ * enquanto a geração por blocos mantém custo constante e nunca colide.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponCodeGeneratorBenchmark {
+
+    private static final int SMALL_KEYSPACE = 36 * 36 * 36 * 36;
+
+    @Param({"0.5", "0.9", "0.99"})
+    private double fill;
+
+    private CouponCodeGenerator generator;
+    private BitSet used;
+    private SplittableRandom random;
+
+    @Setup
+    public void setUp() {
+        AtomicLong blocks = new AtomicLong();
+        generator = new CouponCodeGenerator(blocks::getAndIncrement, 1000);
+
+        random = new SplittableRandom(42);
+        used = new BitSet(SMALL_KEYSPACE);
+        int target = (int) (SMALL_KEYSPACE * fill);
+        while (used.cardinality() < target) {
+            used.set(random.nextInt(SMALL_KEYSPACE));
+        }
+    }
+
+    @Benchmark
+    public String nextCode() {
+        return generator.next();
+    }
+
+    // Disputa entre threads pelo mesmo bloco (incremento atômico) e pela reserva do próximo bloco
+    @Benchmark
+    @Threads(4)
+    public String nextCodeContended() {
+        return generator.next();
+    }
+
+    // Sorteio com verificação de existência; o código encontrado não é marcado para manter a ocupação constante
+    @Benchmark
+    public int randomWithProbe() {
+        int candidate;
+        do {
+            candidate = random.nextInt(SMALL_KEYSPACE);
+        } while (used.get(candidate));
+        return candidate;
+    }
+}
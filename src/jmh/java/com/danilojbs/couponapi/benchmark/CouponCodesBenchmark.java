@@ -0,0 +1,58 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.domain.CouponCodes;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da normalização/validação do código: regex original x implementação manual (CouponCodes).
+ * Executar com "-prof gc" para comparar a taxa de alocação (gc.alloc.rate.norm em B/op).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponCodesBenchmark {
+
+    @Param({"ABC123", "AB-C1@23"})
+    private String rawCode;
+
+    private BigDecimal discount;
+
+    @Setup
+    public void setUp() {
+        discount = new BigDecimal("10.00");
+    }
+
+    // Implementação anterior: String.replaceAll compila o Pattern a cada chamada
+    @Benchmark
+    public String normalizeRegex() {
+        return rawCode.replaceAll("[^a-zA-Z0-9]", "");
+    }
+
+    @Benchmark
+    public String normalizeManual() {
+        return CouponCodes.normalize(rawCode);
+    }
+
+    // Validação do DTO: contagem dos caracteres válidos sem criar a String normalizada
+    @Benchmark
+    public boolean validateCodeManual() {
+        return CouponCodes.normalizedLength(rawCode) == CouponCodes.CODE_LENGTH;
+    }
+
+    // Implementação anterior da regra de desconto mínimo
+    @Benchmark
+    public boolean validateDiscountAllocating() {
+        return discount.compareTo(new BigDecimal("0.5")) >= 0;
+    }
+
+    @Benchmark
+    public boolean validateDiscountShared() {
+        return CouponCodes.isValidDiscount(discount);
+    }
+}
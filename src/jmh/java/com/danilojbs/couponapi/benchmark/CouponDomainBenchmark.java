@@ -0,0 +1,67 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do domínio: criação/validação do Coupon e conversão para DTO.
+ * Recomendado executar com "-prof gc" para acompanhar a taxa de alocação.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponDomainBenchmark {
+
+    private static final BigDecimal MIN_DISCOUNT = new BigDecimal("0.5");
+
+    @Param({"ABC123", "AB-C1@23"})
+    private String rawCode;
+
+    private BigDecimal discount;
+    private Instant expiration;
+    private Coupon coupon;
+
+    @Setup
+    public void setUp() {
+        discount = new BigDecimal("10.00");
+        expiration = Instant.now().plusSeconds(86_400);
+        coupon = new Coupon("ABC123", "Cupom Benchmark", discount, expiration, true);
+    }
+
+    // Construtor completo: formatCode (regex) + validate (inclui new BigDecimal("0.5"))
+    @Benchmark
+    public Coupon constructCoupon() {
+        return new Coupon(rawCode, "Cupom Benchmark", discount, expiration, true);
+    }
+
+    // Apenas a normalização do código (String.replaceAll com regex)
+    @Benchmark
+    public String formatCode() {
+        return Coupon.formatCode(rawCode);
+    }
+
+    // Comparação do desconto alocando o mínimo a cada chamada (comportamento atual do validate)
+    @Benchmark
+    public int discountCompareAllocating() {
+        return discount.compareTo(new BigDecimal("0.5"));
+    }
+
+    // Referência: a mesma comparação com o mínimo em uma constante
+    @Benchmark
+    public int discountCompareConstant() {
+        return discount.compareTo(MIN_DISCOUNT);
+    }
+
+    @Benchmark
+    public CouponResponseDTO responseFrom() {
+        return CouponResponseDTO.from(coupon);
+    }
+}
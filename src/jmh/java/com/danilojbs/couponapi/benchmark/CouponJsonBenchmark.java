@@ -0,0 +1,83 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import com.danilojbs.couponapi.dto.serialization.CouponResponseSerializer;
+import com.danilojbs.couponapi.dto.serialization.CouponValidationResponseSerializer;
+import org.openjdk.jmh.annotations.*;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark da serialização do CouponResponseDTO com o Jackson (mesmo mapper padrão do Spring Boot).
+ * mapper: serialização padrão (introspecção do record) ou serializers dedicados, em JSON ou CBOR.
+ * O tamanho de cada resposta (bytes/resposta) é impresso no início do fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CouponJsonBenchmark {
+
+    @Param({"json-default", "json-dedicated", "cbor-default", "cbor-dedicated"})
+    private String mapper;
+
+    private ObjectMapper objectMapper;
+    private CouponResponseDTO response;
+    private CouponValidationResponseDTO lookup;
+    private CouponPageResponseDTO page;
+
+    @Setup
+    public void setUp() {
+        SimpleModule dedicated = new SimpleModule()
+                .addSerializer(new CouponResponseSerializer())
+                .addSerializer(new CouponValidationResponseSerializer());
+        objectMapper = switch (mapper) {
+            case "json-default" -> JsonMapper.builder().findAndAddModules().build();
+            case "json-dedicated" -> JsonMapper.builder().findAndAddModules().addModule(dedicated).build();
+            case "cbor-default" -> CBORMapper.builder().findAndAddModules().build();
+            case "cbor-dedicated" -> CBORMapper.builder().findAndAddModules().addModule(dedicated).build();
+            default -> throw new IllegalArgumentException(mapper);
+        };
+        response = new CouponResponseDTO("0b6f2c7e-4f0e-4a55-9a51-6f0c1f5b7e21", "ABC123", "Cupom Benchmark",
+                new BigDecimal("10.00"), Instant.parse("2030-01-01T00:00:00Z"), true);
+        lookup = CouponValidationResponseDTO.valid(response);
+
+        // Página padrão da listagem (100 cupons)
+        List<CouponResponseDTO> items = new ArrayList<>(100);
+        for (int i = 0; i < 100; i++) {
+            items.add(new CouponResponseDTO("0b6f2c7e-4f0e-4a55-9a51-6f0c1f5b" + String.format("%04d", i), "CPN" + String.format("%03d", i),
+                    "Cupom Benchmark " + i, new BigDecimal(i + ".50"), Instant.parse("2030-01-01T00:00:00Z").plusSeconds(i * 3601L), i % 2 == 0));
+        }
+        page = new CouponPageResponseDTO(items, "0b6f2c7e-4f0e-4a55-9a51-6f0c1f5b0099");
+
+        System.out.printf("%n[%s] bytes/response: coupon=%d lookup=%d page(100)=%d%n", mapper,
+                serializeResponse().length, serializeLookup().length, serializePage().length);
+    }
+
+    @Benchmark
+    public byte[] serializeResponse() {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] serializeLookup() {
+        return objectMapper.writeValueAsBytes(lookup);
+    }
+
+    @Benchmark
+    public byte[] serializePage() {
+        return objectMapper.writeValueAsBytes(page);
+    }
+}
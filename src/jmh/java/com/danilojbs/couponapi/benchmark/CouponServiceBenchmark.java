@@ -0,0 +1,72 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.CouponapiApplication;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.service.CouponService;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.SpringApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do serviço contra o H2 em memória: CouponService.create seguido de CouponService.delete.
+ * O contexto Spring é iniciado uma vez por fork, sem servidor web.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CouponServiceBenchmark {
+
+    private ConfigurableApplicationContext context;
+    private CouponService service;
+    private Instant expiration;
+    private int sequence;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SpringApplication application = new SpringApplication(CouponapiApplication.class);
+        application.setWebApplicationType(WebApplicationType.NONE);
+        context = application.run("--logging.level.root=WARN");
+        service = context.getBean(CouponService.class);
+        expiration = Instant.now().plusSeconds(86_400);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public CouponResponseDTO create() {
+        return service.create(request(nextCode()));
+    }
+
+    @Benchmark
+    public void createAndDelete() {
+        service.delete(service.create(request(nextCode())).id());
+    }
+
+    // Códigos únicos de 6 caracteres em base 36 (2 bilhões de combinações por execução)
+    private String nextCode() {
+        String code = Integer.toString(sequence++, 36).toUpperCase();
+        return "000000".substring(code.length()) + code;
+    }
+
+    private CreateCouponRequestDTO request(String code) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(code);
+        request.setDescription("Cupom Benchmark");
+        request.setDiscountValue(BigDecimal.TEN);
+        request.setExpirationDate(expiration);
+        request.setPublished(true);
+        return request;
+    }
+}
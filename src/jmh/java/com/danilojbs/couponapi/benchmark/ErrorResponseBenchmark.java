@@ -0,0 +1,109 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.controller.exception.GlobalExceptionHandler;
+import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpStatus;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do caminho de erro (404) sob carga: da exceção lançada ao corpo JSON em bytes.
+ * - legacy: exceção com stack trace, corpo em LinkedHashMap serializado pelo Jackson e contador buscado por tags
+ *   (comportamento anterior do GlobalExceptionHandler).
+ * - template: exceção de domínio stackless e corpo montado pelo GlobalExceptionHandler a partir dos templates.
+ * "depth" simula a profundidade da pilha de uma requisição real (filtros, DispatcherServlet, proxies).
+ * Execução: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="ErrorResponseBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ErrorResponseBenchmark {
+
+    private static final String ID = "0190a4e2-5b3c-7d41-8f00-1234567890ab";
+
+    @Param({"16", "128"})
+    private int depth;
+
+    private ObjectMapper mapper;
+    private MeterRegistry registry;
+    private GlobalExceptionHandler handler;
+
+    @Setup
+    public void setUp() {
+        mapper = JsonMapper.builder().findAndAddModules().build();
+        registry = new SimpleMeterRegistry();
+        handler = new GlobalExceptionHandler(new CouponMetrics(new SimpleMeterRegistry()));
+    }
+
+    @Benchmark
+    public byte[] legacy() {
+        try {
+            throwAt(depth, true);
+            return null;
+        } catch (RuntimeException ex) {
+            return legacyResponse(ex, HttpStatus.NOT_FOUND);
+        }
+    }
+
+    @Benchmark
+    public byte[] template() {
+        try {
+            throwAt(depth, false);
+            return null;
+        } catch (CouponNotFoundException ex) {
+            return handler.handleNotFoundException(ex).getBody();
+        }
+    }
+
+    // Várias threads no mesmo caminho de erro (ex: cliente com defeito repetindo ids inexistentes)
+    @Benchmark
+    @Threads(4)
+    public byte[] legacyContended() {
+        return legacy();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public byte[] templateContended() {
+        return template();
+    }
+
+    private void throwAt(int remaining, boolean withStackTrace) {
+        if (remaining > 0) {
+            throwAt(remaining - 1, withStackTrace);
+            return;
+        }
+        if (withStackTrace) {
+            throw new RuntimeException("Coupon not found with id: " + ID);
+        }
+        throw new CouponNotFoundException(ID);
+    }
+
+    // Reprodução do buildResponse anterior
+    private byte[] legacyResponse(Exception ex, HttpStatus status) {
+        Counter.builder("coupon.api.exceptions")
+                .tag("exception", ex.getClass().getSimpleName())
+                .tag("status", String.valueOf(status.value()))
+                .register(registry)
+                .increment();
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("timestamp", Instant.now());
+        body.put("status", status.value());
+        body.put("error", status.getReasonPhrase());
+        body.put("message", ex.getMessage());
+        return mapper.writeValueAsBytes(body);
+    }
+}
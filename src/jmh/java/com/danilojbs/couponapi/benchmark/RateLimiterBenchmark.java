@@ -0,0 +1,82 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.config.RateLimitProperties;
+import com.danilojbs.couponapi.config.RateLimitProperties.Limit;
+import com.danilojbs.couponapi.ratelimit.TokenBucketRateLimiter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do custo do limite de requisições por requisição (TokenBucketRateLimiter.tryAcquire).
+ * - allowed: limite alto o suficiente para nunca recusar (caminho comum).
+ * - rejected: cliente já sem fichas (cliente abusivo sendo recusado).
+ * "clients" é a quantidade de clientes distintos alternados entre as requisições:
+ * 1 concentra todas as threads no mesmo balde (pior caso de disputa no compareAndSet).
+ * As variantes Contended rodam com 8 threads.
+ * Execução: ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="RateLimiterBenchmark -prof gc"
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RateLimiterBenchmark {
+
+    @Param({"1", "10000"})
+    private int clients;
+
+    private String[] clientIds;
+    private TokenBucketRateLimiter limiter;
+
+    @State(Scope.Thread)
+    public static class Cursor {
+        private int next;
+    }
+
+    @Setup
+    public void setUp() {
+        clientIds = new String[clients];
+        for (int i = 0; i < clients; i++) {
+            clientIds[i] = "partner-" + i;
+        }
+        limiter = new TokenBucketRateLimiter(new RateLimitProperties(true, "X-Api-Key", 100_000, Map.of(
+                "allowed", new Limit(Long.MAX_VALUE / 2_000_000_000L, 1e9),
+                "rejected", new Limit(1, 0.001)), Set.of()), new SimpleMeterRegistry());
+        for (String client : clientIds) {
+            limiter.tryAcquire("rejected", client); // Consome a única ficha de cada cliente
+        }
+    }
+
+    @Benchmark
+    public long allowed(Cursor cursor) {
+        return limiter.tryAcquire("allowed", nextClient(cursor));
+    }
+
+    @Benchmark
+    public long rejected(Cursor cursor) {
+        return limiter.tryAcquire("rejected", nextClient(cursor));
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long allowedContended(Cursor cursor) {
+        return allowed(cursor);
+    }
+
+    @Benchmark
+    @Threads(8)
+    public long rejectedContended(Cursor cursor) {
+        return rejected(cursor);
+    }
+
+    private String nextClient(Cursor cursor) {
+        int index = cursor.next;
+        cursor.next = index + 1 == clients ? 0 : index + 1;
+        return clientIds[index];
+    }
+}
@@ -0,0 +1,51 @@
+package com.danilojbs.couponapi.benchmark;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.profiling.RequestStages;
+import com.danilojbs.couponapi.profiling.Stage;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark do custo da medição por etapa nas requisições não amostradas (a maioria com coupon.profiling.enabled=true).
+ * Compara a criação do Coupon sem medição, com RequestStages.start/stop e com RequestStages.time (usado pelo CouponService).
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class RequestStagesBenchmark {
+
+    private BigDecimal discount;
+    private Instant expiration;
+
+    @Setup
+    public void setUp() {
+        discount = new BigDecimal("10.00");
+        expiration = Instant.now().plusSeconds(86_400);
+    }
+
+    @Benchmark
+    public Coupon constructCoupon() {
+        return new Coupon("ABC123", "Cupom Benchmark", discount, expiration, true);
+    }
+
+    @Benchmark
+    public Coupon constructCouponMeasured() {
+        long start = RequestStages.start();
+        Coupon coupon = new Coupon("ABC123", "Cupom Benchmark", discount, expiration, true);
+        RequestStages.stop(Stage.DOMAIN, start);
+        return coupon;
+    }
+
+    // Mesmo trecho do CouponService.save (etapa "domain")
+    @Benchmark
+    public Coupon constructCouponTimed() {
+        return RequestStages.time(Stage.DOMAIN, () -> new Coupon("ABC123", "Cupom Benchmark", discount, expiration, true));
+    }
+}
@@ -0,0 +1,17 @@
+package com.danilojbs.couponapi.cache;
+
+import java.util.List;
+
+/**
+ * Mensagem de invalidação do cache de consulta por código, enviada às demais instâncias.
+ * origin: identificador da instância que alterou o cupom (cada instância ignora as próprias mensagens).
+ * sequence: sequência crescente por origem; um salto indica mensagens perdidas.
+ * codes: códigos alterados (operações em lote enviam uma única mensagem por bloco confirmado).
+ * version: versão do cupom gravada pela alteração (ANY_VERSION quando desconhecida, ex: UPDATEs em lote).
+ * publishedAtNanos: instante do envio (epoch em nanos), base da medição do atraso de invalidação.
+ */
+public record CacheInvalidation(String origin, long sequence, List<String> codes, long version, long publishedAtNanos) {
+
+    // Versão desconhecida: qualquer versão em cache é considerada desatualizada
+    public static final long ANY_VERSION = Long.MAX_VALUE;
+}
@@ -0,0 +1,17 @@
+package com.danilojbs.couponapi.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Transporte das invalidações do cache entre instâncias (implementação escolhida por coupon.lookup-cache.transport).
+ * Entrega "no máximo uma vez" e na ordem de envio por origem: mensagens perdidas são detectadas pela sequence
+ * e tratadas pelo receptor (descarte do cache inteiro); o TTL limita a desatualização em qualquer caso.
+ */
+public interface CacheInvalidationTransport {
+
+    // Envia a invalidação às demais instâncias, sem bloquear quem chama (executado após o commit)
+    void publish(CacheInvalidation invalidation);
+
+    // Registra o receptor das invalidações (inclusive as enviadas pela própria instância)
+    void subscribe(Consumer<CacheInvalidation> listener);
+}
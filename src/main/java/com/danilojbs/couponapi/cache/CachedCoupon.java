@@ -0,0 +1,31 @@
+package com.danilojbs.couponapi.cache;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+
+import java.time.Instant;
+
+/**
+ * Entrada imutável do cache de consulta por código.
+ * coupon nulo representa um código inexistente (cache negativo).
+ * exhausted: limite de resgates atingido (cada resgate invalida a entrada, ver CouponService.redeem).
+ * version: versão do cupom lida do banco; invalidações de versões já conhecidas são ignoradas.
+ */
+public record CachedCoupon(CouponResponseDTO coupon, CouponStatus status, boolean exhausted, long version) {
+
+    public static final CachedCoupon MISSING = new CachedCoupon(null, null, false, -1);
+
+    public static CachedCoupon of(Coupon coupon) {
+        return new CachedCoupon(CouponResponseDTO.from(coupon), coupon.getStatus(), coupon.isRedemptionLimitReached(),
+                coupon.getVersion());
+    }
+
+    public boolean isMissing() {
+        return coupon == null;
+    }
+
+    public boolean isExpired(Instant now) {
+        return !coupon.expirationDate().isAfter(now);
+    }
+}
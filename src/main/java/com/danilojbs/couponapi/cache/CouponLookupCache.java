@@ -0,0 +1,189 @@
+package com.danilojbs.couponapi.cache;
+
+import com.danilojbs.couponapi.config.LookupCacheProperties;
+import com.danilojbs.couponapi.datasource.ReadYourWritesTracker;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache em memória (read-through) para consulta de cupons por código.
+ * Limitado por quantidade (descarte dos menos usados) e por tempo: cada entrada vive no máximo
+ * o TTL configurado e nunca além da data de expiração do próprio cupom.
+ *
+ * Com várias instâncias, cada alteração confirmada é enviada às demais pelo CacheInvalidationTransport:
+ * - entradas com versão igual ou posterior à da mensagem são mantidas (mensagens atrasadas ou repetidas não descartam dados novos);
+ * - um salto na sequence de uma origem (mensagem perdida) descarta o cache inteiro; uma mensagem atrasada
+ *   (sequence já superada) não faz a sequence registrada voltar;
+ * - o TTL limita a desatualização mesmo que uma perda não seja detectada.
+ * Toda invalidação (local ou recebida) é registrada no ReadYourWritesTracker: com réplica de leitura,
+ * a recarga do código vai ao banco principal em vez de guardar no cache o estado ainda não replicado.
+ */
+@Component
+public class CouponLookupCache {
+
+    private final Cache<String, CachedCoupon> cache;
+    private final CacheInvalidationTransport transport;
+    private final ReadYourWritesTracker readYourWrites;
+    private final String nodeId = UUID.randomUUID().toString();
+    private final Object publishLock = new Object();
+    private long sequence; // Protegida por publishLock
+    private final Map<String, Long> lastSequenceByOrigin = new ConcurrentHashMap<>();
+    private final Timer invalidationLag;
+    private final LongAdder invalidationsReceived = new LongAdder();
+    private final LongAdder resyncs = new LongAdder();
+
+    public CouponLookupCache(LookupCacheProperties properties, CacheInvalidationTransport transport,
+                             ReadYourWritesTracker readYourWrites, MeterRegistry registry) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfter(new CouponExpiry(properties.ttl(), properties.negativeTtl()))
+                .recordStats()
+                .build();
+        this.transport = transport;
+        this.readYourWrites = readYourWrites;
+        this.invalidationLag = Timer.builder("coupon.lookup.cache.invalidation.lag")
+                .description("Tempo entre o envio da invalidação por outra instância e sua aplicação no cache local")
+                .publishPercentileHistogram()
+                .register(registry);
+        transport.subscribe(this::onInvalidation);
+    }
+
+    // Retorna a entrada do cache ou carrega do banco (uma única carga por código, mesmo sob concorrência)
+    public CachedCoupon get(String code, Function<String, CachedCoupon> loader) {
+        return cache.get(code, loader);
+    }
+
+    // Remove o código do cache local e das demais instâncias (versão gravada desconhecida)
+    public void evict(String code) {
+        evict(List.of(code), CacheInvalidation.ANY_VERSION);
+    }
+
+    /**
+     * Remove o código do cache somente após o commit da transação atual.
+     * Evita que uma leitura concorrente recarregue o valor antigo antes da alteração ser gravada.
+     */
+    public void evictAfterCommit(String code) {
+        evictAfterCommit(code, CacheInvalidation.ANY_VERSION);
+    }
+
+    // Mesmo que evictAfterCommit(code), informando a versão gravada pela transação
+    public void evictAfterCommit(String code, long version) {
+        evictAfterCommit(List.of(code), version);
+    }
+
+    /**
+     * Remove os códigos de um bloco do cache após o commit, com uma única mensagem às demais instâncias
+     * (operações em lote: evita uma mensagem por cupom).
+     */
+    public void evictAllAfterCommit(Collection<String> codes) {
+        if (!codes.isEmpty()) {
+            evictAfterCommit(List.copyOf(codes), CacheInvalidation.ANY_VERSION);
+        }
+    }
+
+    public Cache<String, CachedCoupon> nativeCache() {
+        return cache;
+    }
+
+    public long getInvalidationsReceived() {
+        return invalidationsReceived.sum();
+    }
+
+    public long getResyncs() {
+        return resyncs.sum();
+    }
+
+    private void evictAfterCommit(List<String> codes, long version) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            evict(codes, version);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                evict(codes, version);
+            }
+        });
+    }
+
+    private void evict(List<String> codes, long version) {
+        codes.forEach(readYourWrites::recordWrite);
+        cache.invalidateAll(codes);
+        // Sequence e envio sob o mesmo lock: commits simultâneos chegam ao transporte na ordem da sequence
+        synchronized (publishLock) {
+            transport.publish(new CacheInvalidation(nodeId, ++sequence, codes, version, epochNanos()));
+        }
+    }
+
+    /*
+     * Invalidação recebida de outra instância.
+     * Códigos inexistentes (cache negativo) são sempre removidos: a mensagem pode ser a criação do cupom.
+     */
+    void onInvalidation(CacheInvalidation invalidation) {
+        if (nodeId.equals(invalidation.origin())) {
+            return;
+        }
+        invalidationsReceived.increment();
+        invalidation.codes().forEach(readYourWrites::recordWrite);
+        // Mantém a maior sequence recebida (mensagens de uma origem são entregues por um único receptor)
+        Long previous = lastSequenceByOrigin.get(invalidation.origin());
+        lastSequenceByOrigin.merge(invalidation.origin(), invalidation.sequence(), Math::max);
+        if (previous != null && invalidation.sequence() > previous + 1) {
+            resyncs.increment();
+            cache.invalidateAll(); // Mensagens perdidas: não há como saber quais códigos mudaram
+        } else {
+            for (String code : invalidation.codes()) {
+                cache.asMap().computeIfPresent(code,
+                        (key, cached) -> cached.isMissing() || cached.version() < invalidation.version() ? null : cached);
+            }
+        }
+        invalidationLag.record(Math.max(0, epochNanos() - invalidation.publishedAtNanos()), TimeUnit.NANOSECONDS);
+    }
+
+    private static long epochNanos() {
+        Instant now = Instant.now();
+        return now.getEpochSecond() * 1_000_000_000L + now.getNano();
+    }
+
+    // Política de expiração por entrada: min(TTL, tempo restante até a expiração do cupom)
+    private record CouponExpiry(Duration ttl, Duration negativeTtl) implements Expiry<String, CachedCoupon> {
+
+        @Override
+        public long expireAfterCreate(String code, CachedCoupon value, long currentTime) {
+            if (value.isMissing()) {
+                return negativeTtl.toNanos();
+            }
+            // Comparação entre Durations: datas distantes (ex: ano 2999) estourariam um long em nanos
+            Duration untilExpiration = Duration.between(Instant.now(), value.coupon().expirationDate());
+            Duration lifetime = untilExpiration.compareTo(ttl) < 0 ? untilExpiration : ttl;
+            return lifetime.isNegative() ? 0 : lifetime.toNanos();
+        }
+
+        @Override
+        public long expireAfterUpdate(String code, CachedCoupon value, long currentTime, long currentDuration) {
+            return expireAfterCreate(code, value, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String code, CachedCoupon value, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -0,0 +1,22 @@
+package com.danilojbs.couponapi.cache;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Consumer;
+
+/**
+ * Instância única (padrão): não há outras instâncias a avisar, a invalidação é apenas local.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.lookup-cache", name = "transport", havingValue = "none", matchIfMissing = true)
+public class LocalInvalidationTransport implements CacheInvalidationTransport {
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+    }
+}
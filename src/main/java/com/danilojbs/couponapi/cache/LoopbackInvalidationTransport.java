@@ -0,0 +1,69 @@
+package com.danilojbs.couponapi.cache;
+
+import com.danilojbs.couponapi.config.LookupCacheProperties;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Transporte em memória entre instâncias da mesma JVM (substituto local de um pub/sub, ex: em testes com vários contextos).
+ * Instâncias com o mesmo canal (coupon.lookup-cache.channel) recebem as mensagens umas das outras.
+ * Como em um broker, a entrega é assíncrona: cada receptor tem sua própria thread, que preserva a ordem de envio.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.lookup-cache", name = "transport", havingValue = "loopback")
+public class LoopbackInvalidationTransport implements CacheInvalidationTransport, DisposableBean {
+
+    private static final Map<String, List<Subscriber>> CHANNELS = new ConcurrentHashMap<>();
+
+    private final List<Subscriber> channel;
+    private final List<Subscriber> subscribers = new CopyOnWriteArrayList<>();
+
+    private record Subscriber(Consumer<CacheInvalidation> listener, ExecutorService executor) {
+    }
+
+    @Autowired
+    public LoopbackInvalidationTransport(LookupCacheProperties properties) {
+        this(properties.channel());
+    }
+
+    public LoopbackInvalidationTransport(String channel) {
+        this.channel = CHANNELS.computeIfAbsent(channel, name -> new CopyOnWriteArrayList<>());
+    }
+
+    @Override
+    public void publish(CacheInvalidation invalidation) {
+        for (Subscriber subscriber : channel) {
+            subscriber.executor().execute(() -> subscriber.listener().accept(invalidation));
+        }
+    }
+
+    @Override
+    public void subscribe(Consumer<CacheInvalidation> listener) {
+        Subscriber subscriber = new Subscriber(listener, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation");
+            thread.setDaemon(true);
+            return thread;
+        }));
+        subscribers.add(subscriber);
+        channel.add(subscriber);
+    }
+
+    // Encerramento da instância: deixa o canal e para de receber mensagens
+    @Override
+    public void destroy() {
+        for (Subscriber subscriber : subscribers) {
+            channel.remove(subscriber);
+            subscriber.executor().shutdownNow();
+        }
+    }
+}
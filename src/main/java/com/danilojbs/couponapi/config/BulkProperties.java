@@ -0,0 +1,12 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da criação em lote (coupon.bulk.*).
+ * chunkSize: quantidade de cupons enviados ao banco por transação/lote JDBC.
+ */
+@ConfigurationProperties(prefix = "coupon.bulk")
+public record BulkProperties(@DefaultValue("500") int chunkSize) {
+}
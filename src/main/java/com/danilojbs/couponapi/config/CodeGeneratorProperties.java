@@ -0,0 +1,13 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da geração de códigos (coupon.code-generator.*).
+ * blockSize: quantidade de códigos reservados por acesso à sequence do banco.
+ * Não deve ser alterado depois que códigos forem gerados (os blocos passariam a se sobrepor).
+ */
+@ConfigurationProperties(prefix = "coupon.code-generator")
+public record CodeGeneratorProperties(@DefaultValue("1000") int blockSize) {
+}
@@ -0,0 +1,23 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do processo de expiração de cupons (coupon.expiration.*).
+ * batchSize: linhas atualizadas por UPDATE/transação.
+ * maxRowsPerSecond: limite de vazão para não competir com o tráfego da API (0 = sem limite).
+ * maxBatchesPerRun: limite de lotes por execução, por status.
+ * interval: intervalo entre execuções.
+ */
+@ConfigurationProperties(prefix = "coupon.expiration")
+public record ExpirationProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1000") int batchSize,
+        @DefaultValue("5000") int maxRowsPerSecond,
+        @DefaultValue("100") int maxBatchesPerRun,
+        @DefaultValue("1m") Duration interval
+) {
+}
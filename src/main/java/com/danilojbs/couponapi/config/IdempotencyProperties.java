@@ -0,0 +1,27 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do cabeçalho Idempotency-Key (coupon.idempotency.*).
+ * store: "memory" (padrão, por instância) ou "jdbc" (compartilhado entre instâncias via tabela idempotency_keys).
+ * ttl: por quanto tempo uma chave e sua resposta são mantidas.
+ * maxSize: quantidade máxima de chaves em memória (somente store "memory").
+ * waitTimeout: tempo máximo que uma requisição duplicada aguarda a execução da original.
+ * pollInterval: intervalo de consulta à execução original (somente store "jdbc").
+ * lease: prazo de uma execução em andamento (somente store "jdbc"); vencido sem resposta, outra requisição assume a chave.
+ *        Deve ser maior que a duração de uma criação, para que uma execução lenta (mas viva) não seja repetida.
+ */
+@ConfigurationProperties(prefix = "coupon.idempotency")
+public record IdempotencyProperties(
+        @DefaultValue("memory") String store,
+        @DefaultValue("24h") Duration ttl,
+        @DefaultValue("100000") long maxSize,
+        @DefaultValue("10s") Duration waitTimeout,
+        @DefaultValue("50ms") Duration pollInterval,
+        @DefaultValue("10s") Duration lease
+) {
+}
@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * Configurações da importação de arquivos de cupons (coupon.import.*).
+ * directory: diretório dos arquivos recebidos e dos arquivos de rejeições (vazio = diretório temporário do sistema).
+ * validationThreads: threads de validação por importação (0 = uma por núcleo disponível).
+ * queueCapacity: blocos aguardando entre as etapas; fila cheia bloqueia a etapa anterior (backpressure).
+ * maxConcurrentJobs: importações processadas ao mesmo tempo; as demais aguardam na fila (estado QUEUED).
+ * maxRetainedJobs: importações finalizadas mantidas para consulta (as mais antigas são descartadas com o arquivo de rejeições).
+ * maxSize: tamanho máximo do arquivo recebido; uploads maiores são recusados (413) e o arquivo parcial é removido.
+ */
+@ConfigurationProperties(prefix = "coupon.import")
+public record ImportProperties(
+        @DefaultValue("") String directory,
+        @DefaultValue("0") int validationThreads,
+        @DefaultValue("4") int queueCapacity,
+        @DefaultValue("2") int maxConcurrentJobs,
+        @DefaultValue("100") int maxRetainedJobs,
+        @DefaultValue("1GB") DataSize maxSize
+) {
+}
@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do cache de consulta por código (coupon.lookup-cache.*).
+ * maxSize: quantidade máxima de códigos em memória (os menos usados são descartados).
+ * ttl: tempo máximo de vida de um cupom no cache; com várias instâncias, é também o limite de desatualização
+ * caso uma invalidação não seja detectada.
+ * negativeTtl: tempo de vida de códigos inexistentes, evitando consultas repetidas ao banco.
+ * transport: envio das invalidações às demais instâncias, "none" (padrão, instância única) ou "loopback" (mesma JVM).
+ * channel: canal compartilhado pelas instâncias (somente transport "loopback").
+ */
+@ConfigurationProperties(prefix = "coupon.lookup-cache")
+public record LookupCacheProperties(
+        @DefaultValue("100000") long maxSize,
+        @DefaultValue("5m") Duration ttl,
+        @DefaultValue("5s") Duration negativeTtl,
+        @DefaultValue("none") String transport,
+        @DefaultValue("coupon-lookup") String channel
+) {
+}
@@ -0,0 +1,86 @@
+package com.danilojbs.couponapi.config;
+
+import com.danilojbs.couponapi.cache.CouponLookupCache;
+import com.danilojbs.couponapi.outbox.CouponOutboxRelay;
+import com.danilojbs.couponapi.outbox.QueueCouponEventSink;
+import com.danilojbs.couponapi.service.CouponExpirationSweeper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Registro de métricas de componentes que já mantêm seus próprios contadores.
+ * Os valores são lidos somente no momento da coleta (scrape), sem custo no caminho da requisição.
+ * Métricas HTTP, JPA/Hibernate e do pool Hikari são registradas automaticamente pelo Actuator.
+ */
+@Configuration
+public class MetricsConfig {
+
+    // Acertos, falhas, cargas e descartes do cache de consulta por código, e invalidações entre instâncias
+    @Bean
+    public MeterBinder couponLookupCacheMetrics(CouponLookupCache lookupCache) {
+        return registry -> {
+            CaffeineCacheMetrics.monitor(registry, lookupCache.nativeCache(), "couponLookup");
+            FunctionCounter.builder("coupon.lookup.cache.invalidations.received", lookupCache, CouponLookupCache::getInvalidationsReceived)
+                    .description("Invalidações recebidas de outras instâncias")
+                    .register(registry);
+            FunctionCounter.builder("coupon.lookup.cache.resyncs", lookupCache, CouponLookupCache::getResyncs)
+                    .description("Descartes do cache inteiro por invalidações perdidas (salto na sequência)")
+                    .register(registry);
+        };
+    }
+
+    // Vazão e atraso (lag) da rotina de expiração
+    @Bean
+    public MeterBinder couponExpirationMetrics(CouponExpirationSweeper sweeper) {
+        return registry -> {
+            FunctionCounter.builder("coupon.expiration.expired", sweeper, CouponExpirationSweeper::getTotalExpired)
+                    .description("Cupons alterados para EXPIRED")
+                    .register(registry);
+            Gauge.builder("coupon.expiration.last.run.rows", sweeper, CouponExpirationSweeper::getLastRunRows)
+                    .description("Cupons expirados na última execução")
+                    .register(registry);
+            Gauge.builder("coupon.expiration.last.run.throughput", sweeper, CouponExpirationSweeper::getLastRunRowsPerSecond)
+                    .description("Linhas por segundo na última execução")
+                    .baseUnit("rows/s")
+                    .register(registry);
+            Gauge.builder("coupon.expiration.lag", sweeper, CouponExpirationSweeper::getLagSeconds)
+                    .description("Há quanto tempo o cupom vencido mais antigo aguarda expiração")
+                    .baseUnit("seconds")
+                    .register(registry);
+        };
+    }
+
+    // Entrega do outbox: publicados, falhas, reenvios, contrapressão, pendentes e atraso
+    @Bean
+    public MeterBinder couponOutboxMetrics(CouponOutboxRelay relay, ObjectProvider<QueueCouponEventSink> queueSink) {
+        return registry -> {
+            FunctionCounter.builder("coupon.outbox.published", relay, CouponOutboxRelay::getTotalPublished)
+                    .description("Eventos publicados e confirmados")
+                    .register(registry);
+            FunctionCounter.builder("coupon.outbox.failures", relay, CouponOutboxRelay::getFailedBatches)
+                    .description("Lotes não confirmados (falha no destino ou no commit)")
+                    .register(registry);
+            FunctionCounter.builder("coupon.outbox.redeliveries", relay, CouponOutboxRelay::getRedeliveries)
+                    .description("Eventos enviados ao destino sem confirmação, que serão reenviados")
+                    .register(registry);
+            FunctionCounter.builder("coupon.outbox.backpressure", relay, CouponOutboxRelay::getBackpressureStalls)
+                    .description("Execuções interrompidas porque o destino aceitou apenas parte do lote")
+                    .register(registry);
+            Gauge.builder("coupon.outbox.pending", relay, CouponOutboxRelay::getPending)
+                    .description("Eventos aguardando publicação")
+                    .register(registry);
+            Gauge.builder("coupon.outbox.lag", relay, CouponOutboxRelay::getLagSeconds)
+                    .description("Há quanto tempo o evento pendente mais antigo aguarda publicação")
+                    .baseUnit("seconds")
+                    .register(registry);
+            queueSink.ifAvailable(queue -> Gauge.builder("coupon.outbox.queue.size", queue, QueueCouponEventSink::size)
+                    .description("Eventos na fila local aguardando consumo")
+                    .register(registry));
+        };
+    }
+}
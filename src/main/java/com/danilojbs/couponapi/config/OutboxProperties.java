@@ -0,0 +1,28 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações do outbox de eventos de cupons (coupon.outbox.*).
+ * enabled: liga/desliga o relay agendado (os eventos continuam sendo gravados na tabela coupon_outbox).
+ * sink: destino dos eventos, "listener" (padrão, eventos Spring no próprio processo), "file" (NDJSON) ou "queue" (fila limitada).
+ * batchSize: eventos lidos, publicados e removidos por transação.
+ * maxBatchesPerRun: limite de lotes por execução do relay.
+ * interval: intervalo entre execuções do relay.
+ * file: arquivo de destino (somente sink "file").
+ * queueCapacity: capacidade da fila; cheia, o relay para e tenta novamente na próxima execução (somente sink "queue").
+ */
+@ConfigurationProperties(prefix = "coupon.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("listener") String sink,
+        @DefaultValue("500") int batchSize,
+        @DefaultValue("100") int maxBatchesPerRun,
+        @DefaultValue("1s") Duration interval,
+        @DefaultValue("coupon-events.ndjson") String file,
+        @DefaultValue("10000") int queueCapacity
+) {
+}
@@ -0,0 +1,19 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+/**
+ * Configurações da medição por etapa das requisições (coupon.profiling.*).
+ * sampleRate: fração das requisições medidas (0.01 = 1%); as demais executam sem medição.
+ * serverTiming: envia as durações das etapas no cabeçalho Server-Timing das requisições medidas.
+ * significantDigits: precisão dos histogramas (HdrHistogram, 1 a 5 dígitos significativos).
+ */
+@ConfigurationProperties(prefix = "coupon.profiling")
+public record ProfilingProperties(
+        @DefaultValue("false") boolean enabled,
+        @DefaultValue("0.01") double sampleRate,
+        @DefaultValue("true") boolean serverTiming,
+        @DefaultValue("2") int significantDigits
+) {
+}
@@ -0,0 +1,39 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Configurações do limite de requisições por cliente (coupon.rate-limit.*).
+ * clientHeader: cabeçalho que identifica o cliente/parceiro.
+ * apiKeys: chaves reconhecidas no clientHeader; chaves ausentes ou desconhecidas são limitadas pelo IP de origem
+ * (chaves inventadas a cada requisição não ganham um balde novo nem descartam os baldes dos parceiros).
+ * maxClients: quantidade máxima de clientes acompanhados por endpoint (os menos ativos são descartados).
+ * limits: limite de cada endpoint, pelo nome usado em @RateLimited (endpoints sem limite configurado não são limitados).
+ */
+@ConfigurationProperties(prefix = "coupon.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Api-Key") String clientHeader,
+        @DefaultValue("100000") long maxClients,
+        Map<String, Limit> limits,
+        Set<String> apiKeys
+) {
+
+    public RateLimitProperties {
+        limits = limits == null ? Map.of() : Map.copyOf(limits);
+        apiKeys = apiKeys == null ? Set.of()
+                : apiKeys.stream().filter(key -> !key.isBlank()).collect(Collectors.toUnmodifiableSet());
+    }
+
+    /**
+     * capacity: rajada máxima (requisições aceitas de uma vez por um cliente parado).
+     * refillPerSecond: taxa sustentada de requisições por segundo.
+     */
+    public record Limit(long capacity, double refillPerSecond) {
+    }
+}
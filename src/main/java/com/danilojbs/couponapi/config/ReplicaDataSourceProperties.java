@@ -0,0 +1,26 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+/**
+ * Configurações da réplica de leitura (coupon.datasource.replica.*).
+ * enabled: liga o roteamento; transações somente leitura vão para a réplica e as demais para o banco principal (spring.datasource).
+ * url, username, password, maximumPoolSize: conexão e pool da réplica.
+ * readYourWritesWindow: por quanto tempo, após uma alteração, as leituras do mesmo código vão ao banco principal
+ * (deve cobrir o atraso máximo de replicação).
+ * readYourWritesMaxSize: quantidade máxima de códigos acompanhados nessa janela.
+ */
+@ConfigurationProperties(prefix = "coupon.datasource.replica")
+public record ReplicaDataSourceProperties(
+        @DefaultValue("false") boolean enabled,
+        String url,
+        @DefaultValue("sa") String username,
+        @DefaultValue("") String password,
+        @DefaultValue("10") int maximumPoolSize,
+        @DefaultValue("5s") Duration readYourWritesWindow,
+        @DefaultValue("100000") long readYourWritesMaxSize
+) {
+}
@@ -0,0 +1,13 @@
+package com.danilojbs.couponapi.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/*
+ * Habilita as rotinas agendadas (expiração de cupons, relay do outbox, limpeza de chaves de idempotência).
+ * Cada rotina é desligável individualmente (ex: coupon.expiration.enabled=false, coupon.outbox.enabled=false).
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+}
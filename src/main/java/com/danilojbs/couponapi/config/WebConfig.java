@@ -0,0 +1,54 @@
+package com.danilojbs.couponapi.config;
+
+import com.danilojbs.couponapi.profiling.StageTimedValidator;
+import com.danilojbs.couponapi.profiling.StageTimingInterceptor;
+import com.danilojbs.couponapi.ratelimit.RateLimitInterceptor;
+import lombok.AllArgsConstructor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverters;
+import org.springframework.http.converter.cbor.JacksonCborHttpMessageConverter;
+import org.springframework.validation.Validator;
+import org.springframework.validation.beanvalidation.LocalValidatorFactoryBean;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+/*
+ * Registro dos interceptors e conversores da API.
+ * Limite de requisições por cliente: desligável com coupon.rate-limit.enabled=false (ex: testes de carga).
+ * CBOR (Accept: application/cbor): usa o CBORMapper do Spring Boot, com os mesmos serializers do JSON
+ * (o conversor padrão do Spring criaria um mapper próprio, sem os @JacksonComponent). JSON continua o padrão.
+ * Medição por etapa (coupon.profiling.enabled=true): o interceptor vem antes do limite de requisições,
+ * para que as recusas (429) também sejam medidas, e o validador do MVC passa a medir o Bean Validation.
+ */
+@Configuration
+@AllArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+
+    private final RateLimitProperties rateLimitProperties;
+    private final RateLimitInterceptor rateLimitInterceptor;
+    private final ProfilingProperties profilingProperties;
+    private final StageTimingInterceptor stageTimingInterceptor;
+    private final LocalValidatorFactoryBean defaultValidator;
+    private final CBORMapper cborMapper;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        if (profilingProperties.enabled()) {
+            registry.addInterceptor(stageTimingInterceptor).addPathPatterns("/api/**");
+        }
+        if (rateLimitProperties.enabled()) {
+            registry.addInterceptor(rateLimitInterceptor).addPathPatterns("/api/**");
+        }
+    }
+
+    @Override
+    public Validator getValidator() {
+        return profilingProperties.enabled() ? new StageTimedValidator(defaultValidator) : null;
+    }
+
+    @Override
+    public void configureMessageConverters(HttpMessageConverters.ServerBuilder builder) {
+        builder.withCborConverter(new JacksonCborHttpMessageConverter(cborMapper));
+    }
+}
@@ -1,26 +1,217 @@
 package com.danilojbs.couponapi.controller;
 
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.BulkCreateResponseDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteRequestDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteResponseDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationRequestDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationResponseDTO;
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
 import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
 import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.dto.ImportJobResponseDTO;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore.IdempotentResult;
+import com.danilojbs.couponapi.importer.CouponImportService;
+import com.danilojbs.couponapi.importer.ImportFormat;
+import com.danilojbs.couponapi.importer.ImportJob;
+import com.danilojbs.couponapi.ratelimit.RateLimited;
+import com.danilojbs.couponapi.service.CouponBulkService;
+import com.danilojbs.couponapi.service.CouponQueryService;
 import com.danilojbs.couponapi.service.CouponService;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.MappingIterator;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.SequenceWriter;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
 
 @RestController
 @RequestMapping("/api/coupons")
 @AllArgsConstructor
 public class CouponController {
 
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String IDEMPOTENT_REPLAYED_HEADER = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     private final CouponService service;
+    private final CouponBulkService bulkService;
+    private final CouponQueryService queryService;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyStore idempotencyStore;
+    private final CouponImportService importService;
 
-    // Requisição da criação de cupons
+    /*
+     * Requisição da criação de cupons.
+     * Com o cabeçalho Idempotency-Key, repetições da mesma requisição (ex: retentativas após timeout)
+     * devolvem a resposta original sem criar o cupom novamente (cabeçalho Idempotent-Replayed: true).
+     */
+    @RateLimited("create")
     @PostMapping
-    public ResponseEntity<CouponResponseDTO> create(@Valid @RequestBody CreateCouponRequestDTO request) {
-        var response = service.create(request);
-        return ResponseEntity.status(HttpStatus.CREATED).body(response);
+    public ResponseEntity<CouponResponseDTO> create(@Valid @RequestBody CreateCouponRequestDTO request,
+                                                    @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        if (idempotencyKey == null) {
+            var response = service.create(request);
+            return ResponseEntity.status(HttpStatus.CREATED).body(response);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new CouponBusinessException("Idempotency-Key must have between 1 and 255 characters.");
+        }
+
+        IdempotentResult result = idempotencyStore.execute(idempotencyKey, fingerprint(request), () -> service.create(request));
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAYED_HEADER, String.valueOf(result.replayed()))
+                .body(result.response());
+    }
+
+    /*
+     * Requisição da criação de cupons em lote.
+     * Aceita um array JSON ou NDJSON (um cupom por linha); o corpo é lido de forma incremental,
+     * sem carregar o payload inteiro em memória.
+     */
+    @RateLimited("bulk")
+    @PostMapping(value = "/bulk", consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+    public ResponseEntity<BulkCreateResponseDTO> createBulk(InputStream body) {
+        try (MappingIterator<CreateCouponRequestDTO> requests =
+                     objectMapper.readerFor(CreateCouponRequestDTO.class).readValues(body)) {
+            return ResponseEntity.ok(bulkService.createAll(requests));
+        }
+    }
+
+    /*
+     * Requisições de importação de arquivos (NDJSON ou CSV, um cupom por linha/registro).
+     * O arquivo é recebido em stream e processado em segundo plano: a resposta 202 aponta (Location) para o progresso.
+     */
+    @RateLimited("bulk")
+    @PostMapping(value = "/imports", consumes = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<ImportJobResponseDTO> importNdjson(InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength) throws IOException {
+        return accepted(importService.start(ImportFormat.NDJSON, body, contentLength));
+    }
+
+    @RateLimited("bulk")
+    @PostMapping(value = "/imports", consumes = "text/csv")
+    public ResponseEntity<ImportJobResponseDTO> importCsv(InputStream body,
+            @RequestHeader(value = HttpHeaders.CONTENT_LENGTH, defaultValue = "-1") long contentLength) throws IOException {
+        return accepted(importService.start(ImportFormat.CSV, body, contentLength));
+    }
+
+    // Requisição de progresso da importação (registros lidos, gravados e rejeitados)
+    @GetMapping("/imports/{id}")
+    public ResponseEntity<ImportJobResponseDTO> importProgress(@PathVariable String id) {
+        return ResponseEntity.ok(ImportJobResponseDTO.from(importService.find(id)));
+    }
+
+    // Requisição do arquivo de rejeições (NDJSON: linha, código e motivo), disponível também durante a importação
+    @GetMapping(value = "/imports/{id}/rejections", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> importRejections(@PathVariable String id) {
+        ImportJob job = importService.find(id);
+        StreamingResponseBody body = out -> {
+            if (Files.exists(job.getRejectionFile())) { // Importação ainda na fila: nenhuma rejeição
+                Files.copy(job.getRejectionFile(), out);
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Requisição de exclusão em lote (Soft-Delete) por lista de ids ou filtro, com resultado por id
+    @RateLimited("bulk")
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<BulkDeleteResponseDTO> deleteBulk(@RequestBody BulkDeleteRequestDTO request) {
+        return ResponseEntity.ok(bulkService.deleteAll(request));
+    }
+
+    // Requisições de publicação/despublicação em lote (UPDATE em conjunto por bloco, com resultado por id)
+    @RateLimited("bulk")
+    @PatchMapping("/bulk-publish")
+    public ResponseEntity<BulkPublicationResponseDTO> publishBulk(@RequestBody BulkPublicationRequestDTO request) {
+        return ResponseEntity.ok(bulkService.changePublicationAll(request, true));
+    }
+
+    @RateLimited("bulk")
+    @PatchMapping("/bulk-unpublish")
+    public ResponseEntity<BulkPublicationResponseDTO> unpublishBulk(@RequestBody BulkPublicationRequestDTO request) {
+        return ResponseEntity.ok(bulkService.changePublicationAll(request, false));
+    }
+
+    // Requisição de listagem paginada por cursor (keyset); "after" recebe o nextCursor da página anterior
+    @GetMapping
+    public ResponseEntity<CouponPageResponseDTO> list(@ModelAttribute CouponFilterDTO filter,
+                                                      @RequestParam(required = false) String after,
+                                                      @RequestParam(defaultValue = "" + CouponQueryService.DEFAULT_PAGE_SIZE) int size) {
+        return ResponseEntity.ok(queryService.list(filter, after, size));
+    }
+
+    // Requisição de exportação em NDJSON: cada cupom é escrito na resposta assim que lido do banco
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportNdjson(@ModelAttribute CouponFilterDTO filter) {
+        StreamingResponseBody body = out -> {
+            try (SequenceWriter writer = objectMapper.writer().withRootValueSeparator("\n").writeValues(out)) {
+                queryService.export(filter, writer::write);
+                out.write('\n');
+            }
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
+    }
+
+    // Requisição de exportação em CSV: mesmo fluxo em stream da exportação NDJSON
+    @GetMapping(value = "/export", produces = "text/csv")
+    public ResponseEntity<StreamingResponseBody> exportCsv(@ModelAttribute CouponFilterDTO filter) {
+        StreamingResponseBody body = out -> {
+            Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+            writer.write(CouponExportWriter.CSV_HEADER);
+            queryService.export(filter, coupon -> CouponExportWriter.writeCsvRow(writer, coupon));
+            writer.flush();
+        };
+        return ResponseEntity.ok().contentType(MediaType.parseMediaType("text/csv")).body(body);
+    }
+
+    // Requisição de consulta/validação do cupom pelo código (servida pelo cache em memória)
+    @RateLimited("lookup")
+    @GetMapping("/by-code/{code}")
+    public ResponseEntity<CouponValidationResponseDTO> validateByCode(@PathVariable String code) {
+        return ResponseEntity.ok(service.validateCode(code));
+    }
+
+    // Requisição de resgate do cupom pelo código (respeita o limite de resgates)
+    @RateLimited("redeem")
+    @PostMapping("/by-code/{code}/redemptions")
+    public ResponseEntity<Void> redeem(@PathVariable String code) {
+        service.redeem(code);
+        return ResponseEntity.noContent().build();
+    }
+
+    // Requisições de publicação/despublicação do cupom (o status acompanha: ACTIVE/INACTIVE)
+    @PatchMapping("/{id}/publish")
+    public ResponseEntity<Void> publish(@PathVariable String id) {
+        service.changePublication(id, true);
+        return ResponseEntity.noContent().build();
+    }
+
+    @PatchMapping("/{id}/unpublish")
+    public ResponseEntity<Void> unpublish(@PathVariable String id) {
+        service.changePublication(id, false);
+        return ResponseEntity.noContent().build();
     }
 
     // Requisição para exclusão do cupom (Soft-Delete)
@@ -30,4 +221,20 @@ public class CouponController {
         return ResponseEntity.noContent().build();
     }
 
+    private ResponseEntity<ImportJobResponseDTO> accepted(ImportJob job) {
+        return ResponseEntity.accepted()
+                .location(URI.create("/api/coupons/imports/" + job.getId()))
+                .body(ImportJobResponseDTO.from(job));
+    }
+
+    // Impressão digital (SHA-256) do corpo da requisição: identifica a reutilização da chave com outro payload
+    private String fingerprint(CreateCouponRequestDTO request) {
+        try {
+            byte[] hash = MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+            return HexFormat.of().formatHex(hash);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
 }
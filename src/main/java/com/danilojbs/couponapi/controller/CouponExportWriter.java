@@ -0,0 +1,51 @@
+package com.danilojbs.couponapi.controller;
+
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+
+/**
+ * Escrita das linhas de exportação em CSV (RFC 4180).
+ * Utilizado pelo endpoint de exportação para escrever cada registro assim que ele é lido do banco.
+ */
+final class CouponExportWriter {
+
+    static final String CSV_HEADER = "id,code,description,discountValue,expirationDate,published\n";
+
+    private CouponExportWriter() {
+    }
+
+    static void writeCsvRow(Writer writer, CouponResponseDTO coupon) {
+        try {
+            writer.write(coupon.id());
+            writer.write(',');
+            writer.write(coupon.code());
+            writer.write(',');
+            writeCsvField(writer, coupon.description());
+            writer.write(',');
+            writer.write(coupon.discountValue().toPlainString());
+            writer.write(',');
+            writer.write(coupon.expirationDate().toString());
+            writer.write(',');
+            writer.write(String.valueOf(coupon.published()));
+            writer.write('\n');
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    // Campos com vírgula, aspas ou quebra de linha são delimitados por aspas (aspas internas duplicadas)
+    private static void writeCsvField(Writer writer, String value) throws IOException {
+        boolean quote = value.indexOf(',') >= 0 || value.indexOf('"') >= 0
+                || value.indexOf('\n') >= 0 || value.indexOf('\r') >= 0;
+        if (!quote) {
+            writer.write(value);
+            return;
+        }
+        writer.write('"');
+        writer.write(value.replace("\"", "\"\""));
+        writer.write('"');
+    }
+}
@@ -0,0 +1,140 @@
+package com.danilojbs.couponapi.controller.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.validation.FieldError;
+import tools.jackson.core.io.JsonStringEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Corpos de erro pré-serializados (mesmo JSON gerado antes pelo Jackson a partir de um LinkedHashMap):
+ * {"timestamp":"...","status":404,"error":"Not Found","message":"...","errors":{...}}
+ * O trecho fixo de cada status é montado uma única vez; a cada resposta são copiados apenas
+ * o timestamp, a mensagem e os erros de campo para um único byte[], sem mapas intermediários.
+ */
+final class ErrorResponseTemplates {
+
+    private static final JsonStringEncoder ENCODER = JsonStringEncoder.getInstance();
+
+    private static final byte[] OPEN = ascii("{\"timestamp\":\"");
+    private static final byte[] ERRORS = ascii(",\"errors\":{");
+    private static final byte[] NULL = ascii("null");
+
+    // ","status":404,"error":"Not Found","message":
+    private static final Map<HttpStatus, byte[]> STATUS_PARTS = new EnumMap<>(HttpStatus.class);
+
+    static {
+        for (HttpStatus status : HttpStatus.values()) {
+            StringBuilder part = new StringBuilder("\",\"status\":").append(status.value()).append(",\"error\":\"");
+            ENCODER.quoteAsString(status.getReasonPhrase(), part);
+            STATUS_PARTS.put(status, ascii(part.append("\",\"message\":").toString()));
+        }
+    }
+
+    // Timestamp do último milissegundo já formatado: sob rajadas de erros, as respostas do mesmo ms reutilizam os bytes
+    private static volatile Timestamp lastTimestamp = new Timestamp(0, ascii(Instant.EPOCH.toString()));
+
+    private record Timestamp(long millis, byte[] bytes) {
+    }
+
+    private ErrorResponseTemplates() {
+    }
+
+    // Mensagem como string JSON (entre aspas); mensagens fixas podem ser codificadas uma única vez pelo chamador
+    static byte[] message(String message) {
+        return message == null ? NULL : quote(message);
+    }
+
+    static byte[] render(HttpStatus status, byte[] quotedMessage, List<FieldError> fieldErrors) {
+        byte[] timestamp = timestamp();
+        byte[] statusPart = STATUS_PARTS.get(status);
+        byte[] errors = fieldErrors == null || fieldErrors.isEmpty() ? null : fieldErrors(fieldErrors);
+
+        int length = OPEN.length + timestamp.length + statusPart.length + quotedMessage.length + 1
+                + (errors == null ? 0 : ERRORS.length + errors.length + 1);
+        byte[] body = new byte[length];
+        int position = copy(OPEN, body, 0);
+        position = copy(timestamp, body, position);
+        position = copy(statusPart, body, position);
+        position = copy(quotedMessage, body, position);
+        if (errors != null) {
+            position = copy(ERRORS, body, position);
+            position = copy(errors, body, position);
+            body[position++] = '}';
+        }
+        body[position] = '}';
+        return body;
+    }
+
+    /*
+     * "campo":"mensagem" separados por vírgula, na ordem de validação.
+     * Campo com mais de um erro: prevalece o último (mesmo resultado do HashMap usado anteriormente).
+     */
+    private static byte[] fieldErrors(List<FieldError> fieldErrors) {
+        StringBuilder json = new StringBuilder(fieldErrors.size() * 48);
+        for (int i = 0; i < fieldErrors.size(); i++) {
+            FieldError error = fieldErrors.get(i);
+            if (overriddenLater(fieldErrors, i)) {
+                continue;
+            }
+            if (!json.isEmpty()) {
+                json.append(',');
+            }
+            json.append('"');
+            ENCODER.quoteAsString(error.getField(), json);
+            json.append("\":");
+            if (error.getDefaultMessage() == null) {
+                json.append("null");
+            } else {
+                json.append('"');
+                ENCODER.quoteAsString(error.getDefaultMessage(), json);
+                json.append('"');
+            }
+        }
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static boolean overriddenLater(List<FieldError> fieldErrors, int index) {
+        String field = fieldErrors.get(index).getField();
+        for (int i = index + 1; i < fieldErrors.size(); i++) {
+            if (Objects.equals(field, fieldErrors.get(i).getField())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static byte[] quote(String value) {
+        byte[] encoded = ENCODER.quoteAsUTF8(value);
+        byte[] quoted = new byte[encoded.length + 2];
+        quoted[0] = '"';
+        System.arraycopy(encoded, 0, quoted, 1, encoded.length);
+        quoted[quoted.length - 1] = '"';
+        return quoted;
+    }
+
+    // Precisão de milissegundos (ex: 2026-01-01T10:00:00.123Z)
+    private static byte[] timestamp() {
+        long now = System.currentTimeMillis();
+        Timestamp cached = lastTimestamp;
+        if (cached.millis() != now) {
+            cached = new Timestamp(now, ascii(Instant.ofEpochMilli(now).toString()));
+            lastTimestamp = cached;
+        }
+        return cached.bytes();
+    }
+
+    private static int copy(byte[] source, byte[] target, int position) {
+        System.arraycopy(source, 0, target, position, source.length);
+        return position + source.length;
+    }
+
+    private static byte[] ascii(String value) {
+        return value.getBytes(StandardCharsets.US_ASCII);
+    }
+}
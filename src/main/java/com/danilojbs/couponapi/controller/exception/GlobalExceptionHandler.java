@@ -1,60 +1,137 @@
 package com.danilojbs.couponapi.controller.exception;
 
 import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
 import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
+import com.danilojbs.couponapi.idempotency.IdempotencyKeyConflictException;
+import com.danilojbs.couponapi.importer.ImportJobNotFoundException;
+import com.danilojbs.couponapi.importer.ImportTooLargeException;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import com.danilojbs.couponapi.ratelimit.RateLimitExceededException;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
+import tools.jackson.core.JacksonException;
 
-import java.time.Instant;
-import java.util.HashMap;
-import java.util.LinkedHashMap;
-import java.util.Map;
+import java.util.List;
 
 @RestControllerAdvice
+@AllArgsConstructor
 public class GlobalExceptionHandler {
 
-    // Captura erros de validação do DTO
-    @ExceptionHandler(MethodArgumentNotValidException.class)
-    public ResponseEntity<Object> handleValidationExceptions(MethodArgumentNotValidException ex) {
-        Map<String, String> fieldErrors = new HashMap<>();
+    private final CouponMetrics metrics;
+
+    // Cabeçalhos compartilhados (somente leitura) por todas as respostas de erro
+    private static final HttpHeaders JSON_HEADERS = jsonHeaders(null);
+
+    // Cabeçalhos das respostas 429 pré-montados para os valores mais comuns de Retry-After (1 a 60 segundos)
+    private static final int MAX_CACHED_RETRY_AFTER = 60;
+    private static final HttpHeaders[] RETRY_AFTER_HEADERS = retryAfterHeaders();
 
-        ex.getBindingResult().getAllErrors().forEach((error) -> {
-            String fieldName = ((FieldError) error).getField();
-            String errorMessage = error.getDefaultMessage();
-            fieldErrors.put(fieldName, errorMessage);
-        });
+    // Mensagens fixas codificadas em JSON uma única vez
+    private static final byte[] VALIDATION_FAILED = ErrorResponseTemplates.message("Validation failed");
+    private static final byte[] MALFORMED_BODY = ErrorResponseTemplates.message("Malformed request body");
 
-        return buildResponse(HttpStatus.BAD_REQUEST, "Validation failed", fieldErrors);
+    // Captura erros de validação do DTO
+    @ExceptionHandler(MethodArgumentNotValidException.class)
+    public ResponseEntity<byte[]> handleValidationExceptions(MethodArgumentNotValidException ex) {
+        return buildResponse(ex, HttpStatus.BAD_REQUEST, VALIDATION_FAILED, ex.getBindingResult().getFieldErrors());
     }
 
     // Captura erros quando o cupom não é encontrado (404 Not Found)
     @ExceptionHandler(CouponNotFoundException.class)
-    public ResponseEntity<Object> handleNotFoundException(CouponNotFoundException ex) {
-        return buildResponse(HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    public ResponseEntity<byte[]> handleNotFoundException(CouponNotFoundException ex) {
+        return buildResponse(ex, HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    // Captura consultas a importações inexistentes ou já descartadas (404 Not Found)
+    @ExceptionHandler(ImportJobNotFoundException.class)
+    public ResponseEntity<byte[]> handleImportNotFound(ImportJobNotFoundException ex) {
+        return buildResponse(ex, HttpStatus.NOT_FOUND, ex.getMessage(), null);
+    }
+
+    // Captura arquivos de importação acima de coupon.import.max-size (413 Content Too Large)
+    @ExceptionHandler(ImportTooLargeException.class)
+    public ResponseEntity<byte[]> handleImportTooLarge(ImportTooLargeException ex) {
+        return buildResponse(ex, HttpStatus.CONTENT_TOO_LARGE, ex.getMessage(), null);
     }
 
     // Captura erros da regra de negócio (400 Bad Request)
     @ExceptionHandler(CouponBusinessException.class)
-    public ResponseEntity<Object> handleBusinessException(CouponBusinessException ex) {
-        return buildResponse(HttpStatus.BAD_REQUEST, ex.getMessage(), null);
+    public ResponseEntity<byte[]> handleBusinessException(CouponBusinessException ex) {
+        return buildResponse(ex, HttpStatus.BAD_REQUEST, ex.getMessage(), null);
     }
 
-    // Função auxiliar para manter o padrão de respostas da API
-    private ResponseEntity<Object> buildResponse(HttpStatus status, String message, Map<String, String> errors) {
-        Map<String, Object> body = new LinkedHashMap<>();
-        body.put("timestamp", Instant.now());
-        body.put("status", status.value());
-        body.put("error", status.getReasonPhrase());
-        body.put("message", message);
+    // Captura alterações concorrentes do mesmo cupom que esgotaram as tentativas (409 Conflict)
+    @ExceptionHandler({CouponConflictException.class, OptimisticLockingFailureException.class})
+    public ResponseEntity<byte[]> handleConcurrentModification(RuntimeException ex) {
+        return buildResponse(ex, HttpStatus.CONFLICT, ex.getMessage(), null);
+    }
 
-        if (errors != null && !errors.isEmpty()) {
-            body.put("errors", errors);
+    // Captura conflitos de Idempotency-Key (409 em andamento, 422 payload diferente)
+    @ExceptionHandler(IdempotencyKeyConflictException.class)
+    public ResponseEntity<byte[]> handleIdempotencyConflict(IdempotencyKeyConflictException ex) {
+        return buildResponse(ex, ex.getStatus(), ex.getMessage(), null);
+    }
+
+    // Captura requisições acima do limite do cliente (429 Too Many Requests, com Retry-After)
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<byte[]> handleRateLimitExceeded(RateLimitExceededException ex) {
+        long retryAfter = ex.getRetryAfterSeconds();
+        HttpHeaders headers = retryAfter <= MAX_CACHED_RETRY_AFTER
+                ? RETRY_AFTER_HEADERS[(int) retryAfter]
+                : jsonHeaders(String.valueOf(retryAfter));
+        return buildResponse(ex, HttpStatus.TOO_MANY_REQUESTS, ex.getMessage(), null, headers);
+    }
+
+    // Captura erros de leitura de payloads lidos manualmente (ex: criação em lote via stream)
+    @ExceptionHandler(JacksonException.class)
+    public ResponseEntity<byte[]> handleMalformedPayload(JacksonException ex) {
+        return buildResponse(ex, HttpStatus.BAD_REQUEST, MALFORMED_BODY, null);
+    }
+
+    // Função auxiliar para manter o padrão de respostas da API (e contabilizar a exceção por tipo)
+    private ResponseEntity<byte[]> buildResponse(Exception ex, HttpStatus status, String message, List<FieldError> errors) {
+        return buildResponse(ex, status, ErrorResponseTemplates.message(message), errors);
+    }
+
+    // O corpo já sai serializado do template: nenhum mapa é montado nem passa pelo Jackson
+    private ResponseEntity<byte[]> buildResponse(Exception ex, HttpStatus status, byte[] message, List<FieldError> errors) {
+        return buildResponse(ex, status, message, errors, JSON_HEADERS);
+    }
+
+    private ResponseEntity<byte[]> buildResponse(Exception ex, HttpStatus status, String message, List<FieldError> errors,
+                                                 HttpHeaders headers) {
+        return buildResponse(ex, status, ErrorResponseTemplates.message(message), errors, headers);
+    }
+
+    private ResponseEntity<byte[]> buildResponse(Exception ex, HttpStatus status, byte[] message, List<FieldError> errors,
+                                                 HttpHeaders headers) {
+        metrics.exceptionHandled(ex, status.value());
+        return new ResponseEntity<>(ErrorResponseTemplates.render(status, message, errors), headers, status);
+    }
+
+    private static HttpHeaders jsonHeaders(String retryAfter) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setContentType(MediaType.APPLICATION_JSON);
+        if (retryAfter != null) {
+            headers.set(HttpHeaders.RETRY_AFTER, retryAfter);
         }
+        return HttpHeaders.readOnlyHttpHeaders(headers);
+    }
 
-        return new ResponseEntity<>(body, status);
+    private static HttpHeaders[] retryAfterHeaders() {
+        HttpHeaders[] headers = new HttpHeaders[MAX_CACHED_RETRY_AFTER + 1];
+        for (int seconds = 0; seconds <= MAX_CACHED_RETRY_AFTER; seconds++) {
+            headers[seconds] = jsonHeaders(String.valueOf(seconds));
+        }
+        return headers;
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,47 @@
+package com.danilojbs.couponapi.datasource;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Escolhe o banco de cada conexão: transações somente leitura (@Transactional(readOnly = true), leituras dos
+ * repositórios Spring Data) vão para a réplica; escritas e acessos sem transação vão para o banco principal.
+ * Deve ser envolvido por um LazyConnectionDataSourceProxy: a conexão só é obtida no primeiro comando SQL,
+ * quando o atributo somente leitura da transação já está disponível.
+ */
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource {
+
+    private enum Route { PRIMARY, REPLICA }
+
+    private static final ThreadLocal<Boolean> PRIMARY_FORCED = new ThreadLocal<>();
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica) {
+        setTargetDataSources(Map.of(Route.PRIMARY, primary, Route.REPLICA, replica));
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    // Executa a leitura no banco principal mesmo em transação somente leitura (ex: código alterado há pouco)
+    public static <T> T onPrimary(Supplier<T> action) {
+        if (PRIMARY_FORCED.get() != null) {
+            return action.get();
+        }
+        PRIMARY_FORCED.set(Boolean.TRUE);
+        try {
+            return action.get();
+        } finally {
+            PRIMARY_FORCED.remove();
+        }
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        return TransactionSynchronizationManager.isCurrentTransactionReadOnly() && PRIMARY_FORCED.get() == null
+                ? Route.REPLICA
+                : Route.PRIMARY;
+    }
+}
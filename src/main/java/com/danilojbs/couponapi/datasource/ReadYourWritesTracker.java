@@ -0,0 +1,45 @@
+package com.danilojbs.couponapi.datasource;
+
+import com.danilojbs.couponapi.config.ReplicaDataSourceProperties;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Leitura das próprias escritas com réplica de leitura:
+ * códigos alterados (nesta ou em outra instância) são lidos do banco principal durante readYourWritesWindow,
+ * evitando que a réplica ainda atrasada devolva o estado anterior (ex: 404 logo após a criação, ACTIVE após a exclusão)
+ * e que esse estado seja guardado no cache de consulta.
+ * Sem réplica configurada, não acompanha nada e as leituras seguem normalmente.
+ */
+@Component
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWrites;
+
+    public ReadYourWritesTracker(ReplicaDataSourceProperties properties) {
+        this.recentWrites = properties.enabled()
+                ? Caffeine.newBuilder()
+                        .maximumSize(properties.readYourWritesMaxSize())
+                        .expireAfterWrite(properties.readYourWritesWindow())
+                        .build()
+                : null;
+    }
+
+    public void recordWrite(String code) {
+        if (recentWrites != null) {
+            recentWrites.put(code, Boolean.TRUE);
+        }
+    }
+
+    public boolean requiresPrimary(String code) {
+        return recentWrites != null && recentWrites.getIfPresent(code) != null;
+    }
+
+    // Executa a leitura do código no banco principal se ele foi alterado dentro da janela; senão, na réplica
+    public <T> T read(String code, Supplier<T> query) {
+        return requiresPrimary(code) ? ReadWriteRoutingDataSource.onPrimary(query) : query.get();
+    }
+}
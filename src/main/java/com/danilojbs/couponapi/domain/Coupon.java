@@ -6,19 +6,28 @@ import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.UuidGenerator;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
 
 @Entity
-@Table(name = "coupons")
+@Table(name = "coupons") // Esquema e índices: src/main/resources/db/migration
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 public class Coupon {
 
+    /*
+     * UUID versão 7 (ordenado pelo instante de criação) armazenado no tipo nativo de 16 bytes (uuid/binary(16)).
+     * Novos registros são inseridos no fim do índice da chave primária, em vez de espalhados pelas páginas da B-tree.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.UUID)
-    private String id;
+    @GeneratedValue
+    @UuidGenerator(style = UuidGenerator.Style.VERSION_7)
+    private UUID id;
 
     @Column(unique = true, nullable = false, length = 6)
     private String code;
@@ -44,15 +53,38 @@ public class Coupon {
     @Setter
     private Instant deletedAt;
 
+    // Limite de resgates do cupom (nulo = ilimitado)
+    private Integer maxRedemptions;
+
+    // Contador de resgates; alterado apenas via UPDATE condicional no banco (CouponRepository.redeem)
+    @Column(nullable = false)
+    private int redemptionCount;
+
+    /*
+     * Controle de concorrência otimista: o UPDATE da entidade inclui "where version = ?" e falha
+     * se outra transação alterou o cupom depois da leitura. Os UPDATEs em conjunto do CouponRepository
+     * também incrementam a versão, para que uma gravação da entidade nunca sobrescreva essas alterações.
+     */
+    @Version
+    @Column(nullable = false)
+    private long version;
+
     // Construtor padrão
     public Coupon(String code, String description, BigDecimal discountValue, Instant expirationDate, Boolean published) {
+        this(code, description, discountValue, expirationDate, published, null);
+    }
+
+    // Construtor com limite de resgates
+    public Coupon(String code, String description, BigDecimal discountValue, Instant expirationDate, Boolean published,
+                  Integer maxRedemptions) {
         this.code = formatCode(code);
         this.description = description;
         this.discountValue = discountValue;
         this.expirationDate = expirationDate;
         this.published = (published != null) ? published : false;
 
-        this.status = this.published ? CouponStatus.ACTIVE : CouponStatus.INACTIVE;
+        this.status = statusFor(this.published);
+        this.maxRedemptions = maxRedemptions;
 
         validate();
     }
@@ -64,6 +96,37 @@ public class Coupon {
         if (this.status == null) this.status = CouponStatus.INACTIVE;
     }
 
+    /*
+     * Converte o id recebido na API (texto) para UUID.
+     * Um valor fora do formato não corresponde a nenhum cupom: retorna vazio em vez de falhar,
+     * mantendo o comportamento de "cupom não encontrado" nas rotas que recebem o id.
+     */
+    public static Optional<UUID> parseId(String id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(UUID.fromString(id));
+        } catch (IllegalArgumentException ex) {
+            return Optional.empty();
+        }
+    }
+
+    /*
+     * Status correspondente à publicação: publicado = ACTIVE, não publicado = INACTIVE.
+     * Regra única usada pelo construtor e pelas atualizações de publicação em conjunto (sem carregar a entidade).
+     */
+    public static CouponStatus statusFor(boolean published) {
+        return published ? CouponStatus.ACTIVE : CouponStatus.INACTIVE;
+    }
+
+    // Cupons excluídos ou expirados têm status final: a publicação não pode mais ser alterada
+    public static final Set<CouponStatus> FINAL_STATUSES = Set.of(CouponStatus.DELETED, CouponStatus.EXPIRED);
+
+    public static boolean isPublicationChangeable(CouponStatus status) {
+        return !FINAL_STATUSES.contains(status);
+    }
+
     // Função responsável pelo Soft-Delete do cupom
     public void markAsDeleted() {
         if (this.status == CouponStatus.DELETED) {
@@ -75,9 +138,14 @@ public class Coupon {
     }
 
 
+    // Indica se o limite de resgates foi atingido
+    public boolean isRedemptionLimitReached() {
+        return this.maxRedemptions != null && this.redemptionCount >= this.maxRedemptions;
+    }
+
     // Função auxiliar para validação das regras de negócio
     private void validate() {
-        if (this.code == null || this.code.length() != 6) {
+        if (!CouponCodes.isValidCode(this.code)) {
             // Envia uma exception caso o cupom seja inválido
             throw new CouponBusinessException("Invalid coupon code. It must be exactly 6 characters.");
         }
@@ -85,14 +153,19 @@ public class Coupon {
             // Envia uma exception caso a data de expiração seja no passado
             throw new CouponBusinessException("Expiration date cannot be in the past.");
         }
-        if (this.discountValue == null || this.discountValue.compareTo(new BigDecimal("0.5")) < 0) {
+        if (!CouponCodes.isValidDiscount(this.discountValue)) {
             // Envia uma exception caso o valor de desconto seja menor que 0.5
             throw new CouponBusinessException("Minimum discount value allowed is 0.5.");
         }
+        if (this.maxRedemptions != null && this.maxRedemptions < 1) {
+            // Envia uma exception caso o limite de resgates não seja positivo
+            throw new CouponBusinessException("Max redemptions must be greater than zero.");
+        }
     }
 
     // Método responsável pela padronização do código do cupom (remoção de caracteres especiais)
-    private String formatCode(String code) {
-        return (code != null) ? code.replaceAll("[^a-zA-Z0-9]", "") : null;
+    // Público para que consultas por código apliquem exatamente a mesma normalização
+    public static String formatCode(String code) {
+        return CouponCodes.normalize(code);
     }
 }
\ No newline at end of file
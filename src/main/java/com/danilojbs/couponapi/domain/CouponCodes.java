@@ -0,0 +1,75 @@
+package com.danilojbs.couponapi.domain;
+
+import java.math.BigDecimal;
+
+/**
+ * Regras de formatação e validação compartilhadas entre a entidade Coupon e a validação dos DTOs.
+ * Implementação manual (sem regex) para evitar alocações no caminho de criação de cupons:
+ * um código já normalizado é devolvido sem cópia, e a contagem de caracteres válidos não aloca memória.
+ */
+public final class CouponCodes {
+
+    public static final int CODE_LENGTH = 6;
+
+    // String usada em anotações (@DecimalMin) e BigDecimal pré-alocado para as comparações em runtime
+    public static final String MIN_DISCOUNT_VALUE = "0.5";
+    public static final BigDecimal MIN_DISCOUNT = new BigDecimal(MIN_DISCOUNT_VALUE);
+
+    private CouponCodes() {
+    }
+
+    /**
+     * Remove todos os caracteres que não sejam letras ASCII (a-z, A-Z) ou dígitos (0-9).
+     * Mesma semântica de code.replaceAll("[^a-zA-Z0-9]", "").
+     */
+    public static String normalize(String code) {
+        if (code == null) {
+            return null;
+        }
+        int length = code.length();
+        int first = 0;
+        while (first < length && isAllowed(code.charAt(first))) {
+            first++;
+        }
+        if (first == length) {
+            return code; // Já normalizado: nenhuma alocação
+        }
+
+        char[] buffer = new char[length - 1];
+        code.getChars(0, first, buffer, 0);
+        int size = first;
+        for (int i = first + 1; i < length; i++) {
+            char c = code.charAt(i);
+            if (isAllowed(c)) {
+                buffer[size++] = c;
+            }
+        }
+        return new String(buffer, 0, size);
+    }
+
+    // Quantidade de caracteres que restariam após a normalização (sem criar a String normalizada)
+    public static int normalizedLength(String code) {
+        if (code == null) {
+            return 0;
+        }
+        int count = 0;
+        for (int i = 0; i < code.length(); i++) {
+            if (isAllowed(code.charAt(i))) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public static boolean isValidCode(String normalizedCode) {
+        return normalizedCode != null && normalizedCode.length() == CODE_LENGTH;
+    }
+
+    public static boolean isValidDiscount(BigDecimal discountValue) {
+        return discountValue != null && discountValue.compareTo(MIN_DISCOUNT) >= 0;
+    }
+
+    public static boolean isAllowed(char c) {
+        return (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9');
+    }
+}
@@ -1,6 +1,7 @@
 package com.danilojbs.couponapi.domain;
 
 // Status padrões para os cupons
+// EXPIRED: atribuído pelo processo de expiração (CouponExpirationSweeper) após a expirationDate
 public enum CouponStatus {
-    ACTIVE, INACTIVE, DELETED
+    ACTIVE, INACTIVE, DELETED, EXPIRED
 }
@@ -2,7 +2,8 @@ package com.danilojbs.couponapi.domain.exception;
 
 public class CouponBusinessException extends RuntimeException {
     // Exception responsável por erros da regra de negócio
+    // Sem stack trace: é uma recusa esperada (400) e o rastreamento nunca é lido, apenas a mensagem
     public CouponBusinessException(String message) {
-        super(message);
+        super(message, null, false, false);
     }
 }
@@ -0,0 +1,20 @@
+package com.danilojbs.couponapi.domain.exception;
+
+public class CouponConflictException extends RuntimeException {
+    // Exception responsável para alterações concorrentes que não se resolveram dentro do limite de tentativas (409)
+    public CouponConflictException(String id) {
+        this("Coupon was modified concurrently, please retry: " + id, null);
+    }
+
+    private CouponConflictException(String message, Void unused) {
+        super(message, null, false, false); // Stackless
+    }
+
+    /*
+     * Operações em lote: o UPDATE do bloco alterou menos cupons que os lidos, sem indicar quais mudaram.
+     * Os blocos anteriores já foram confirmados; repetir a requisição é seguro (itens já processados não mudam de novo).
+     */
+    public static CouponConflictException bulkChunk() {
+        return new CouponConflictException("Coupons were modified concurrently during the bulk operation, please retry.", null);
+    }
+}
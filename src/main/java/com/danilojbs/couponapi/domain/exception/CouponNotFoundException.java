@@ -3,6 +3,12 @@ package com.danilojbs.couponapi.domain.exception;
 public class CouponNotFoundException extends RuntimeException {
     // Exception responsável para erro de cupom não encontrado (inexistente)
     public CouponNotFoundException(String id) {
-        super("Coupon not found with id: " + id);
+        this("id", id);
+    }
+
+    // Permite informar o campo utilizado na busca (ex: "code")
+    // Stackless (sem fillInStackTrace), como as demais exceções de domínio: só a mensagem chega ao cliente
+    public CouponNotFoundException(String field, String value) {
+        super("Coupon not found with " + field + ": " + value, null, false, false);
     }
 }
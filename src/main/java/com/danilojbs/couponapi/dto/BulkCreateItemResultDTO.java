@@ -0,0 +1,26 @@
+package com.danilojbs.couponapi.dto;
+
+/**
+ * Resultado individual de um item da criação em lote.
+ * index: posição do item no payload enviado (base 0).
+ * status: CREATED ou REJECTED.
+ */
+public record BulkCreateItemResultDTO(
+        int index,
+        String status,
+        String code,
+        String id,
+        String error
+) {
+
+    public static final String CREATED = "CREATED";
+    public static final String REJECTED = "REJECTED";
+
+    public static BulkCreateItemResultDTO created(int index, CouponResponseDTO coupon) {
+        return new BulkCreateItemResultDTO(index, CREATED, coupon.code(), coupon.id(), null);
+    }
+
+    public static BulkCreateItemResultDTO rejected(int index, String code, String error) {
+        return new BulkCreateItemResultDTO(index, REJECTED, code, null, error);
+    }
+}
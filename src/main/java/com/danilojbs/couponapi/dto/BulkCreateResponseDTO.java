@@ -0,0 +1,18 @@
+package com.danilojbs.couponapi.dto;
+
+import java.util.List;
+
+// Resumo da criação em lote com o resultado de cada item
+public record BulkCreateResponseDTO(
+        int created,
+        int rejected,
+        List<BulkCreateItemResultDTO> items
+) {
+
+    public static BulkCreateResponseDTO of(List<BulkCreateItemResultDTO> items) {
+        int created = (int) items.stream()
+                .filter(item -> BulkCreateItemResultDTO.CREATED.equals(item.status()))
+                .count();
+        return new BulkCreateResponseDTO(created, items.size() - created, items);
+    }
+}
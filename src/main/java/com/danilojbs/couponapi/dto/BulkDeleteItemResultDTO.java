@@ -0,0 +1,15 @@
+package com.danilojbs.couponapi.dto;
+
+/**
+ * Resultado individual de um cupom na exclusão em lote.
+ * status: DELETED, ALREADY_DELETED ou NOT_FOUND.
+ */
+public record BulkDeleteItemResultDTO(
+        String id,
+        String status
+) {
+
+    public static final String DELETED = "DELETED";
+    public static final String ALREADY_DELETED = "ALREADY_DELETED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+}
@@ -0,0 +1,27 @@
+package com.danilojbs.couponapi.dto;
+
+import com.danilojbs.couponapi.domain.CouponStatus;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Requisição de exclusão em lote: informe os ids OU um filtro (nunca os dois).
+ * codePrefix: prefixo do código (mesma formatação da criação).
+ * expiresBefore: cupons com expirationDate anterior à data informada (exclusivo).
+ */
+public record BulkDeleteRequestDTO(
+        List<String> ids,
+        String codePrefix,
+        CouponStatus status,
+        Instant expiresBefore
+) {
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+
+    public boolean hasFilter() {
+        return (codePrefix != null && !codePrefix.isBlank()) || status != null || expiresBefore != null;
+    }
+}
@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.dto;
+
+import java.util.List;
+
+// Resumo da exclusão em lote com o resultado de cada id
+public record BulkDeleteResponseDTO(
+        int deleted,
+        int alreadyDeleted,
+        int notFound,
+        List<BulkDeleteItemResultDTO> items
+) {
+
+    public static BulkDeleteResponseDTO of(List<BulkDeleteItemResultDTO> items) {
+        int deleted = 0;
+        int alreadyDeleted = 0;
+        for (BulkDeleteItemResultDTO item : items) {
+            if (BulkDeleteItemResultDTO.DELETED.equals(item.status())) {
+                deleted++;
+            } else if (BulkDeleteItemResultDTO.ALREADY_DELETED.equals(item.status())) {
+                alreadyDeleted++;
+            }
+        }
+        return new BulkDeleteResponseDTO(deleted, alreadyDeleted, items.size() - deleted - alreadyDeleted, items);
+    }
+}
@@ -0,0 +1,16 @@
+package com.danilojbs.couponapi.dto;
+
+/**
+ * Resultado individual de um cupom na publicação/despublicação em lote.
+ * status: UPDATED, UNCHANGED (já estava no estado pedido), REJECTED (excluído ou expirado) ou NOT_FOUND.
+ */
+public record BulkPublicationItemResultDTO(
+        String id,
+        String status
+) {
+
+    public static final String UPDATED = "UPDATED";
+    public static final String UNCHANGED = "UNCHANGED";
+    public static final String REJECTED = "REJECTED";
+    public static final String NOT_FOUND = "NOT_FOUND";
+}
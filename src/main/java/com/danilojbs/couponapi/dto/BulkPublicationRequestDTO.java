@@ -0,0 +1,13 @@
+package com.danilojbs.couponapi.dto;
+
+import java.util.List;
+
+// Requisição de publicação/despublicação em lote: ids dos cupons (processados em blocos de "coupon.bulk.chunk-size")
+public record BulkPublicationRequestDTO(
+        List<String> ids
+) {
+
+    public boolean hasIds() {
+        return ids != null && !ids.isEmpty();
+    }
+}
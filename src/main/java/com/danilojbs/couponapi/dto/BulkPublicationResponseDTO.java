@@ -0,0 +1,29 @@
+package com.danilojbs.couponapi.dto;
+
+import java.util.List;
+
+// Resumo da publicação/despublicação em lote com o resultado de cada id
+public record BulkPublicationResponseDTO(
+        int updated,
+        int unchanged,
+        int rejected,
+        int notFound,
+        List<BulkPublicationItemResultDTO> items
+) {
+
+    public static BulkPublicationResponseDTO of(List<BulkPublicationItemResultDTO> items) {
+        int updated = 0;
+        int unchanged = 0;
+        int rejected = 0;
+        for (BulkPublicationItemResultDTO item : items) {
+            switch (item.status()) {
+                case BulkPublicationItemResultDTO.UPDATED -> updated++;
+                case BulkPublicationItemResultDTO.UNCHANGED -> unchanged++;
+                case BulkPublicationItemResultDTO.REJECTED -> rejected++;
+                default -> {
+                }
+            }
+        }
+        return new BulkPublicationResponseDTO(updated, unchanged, rejected, items.size() - updated - unchanged - rejected, items);
+    }
+}
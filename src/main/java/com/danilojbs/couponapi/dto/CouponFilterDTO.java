@@ -0,0 +1,18 @@
+package com.danilojbs.couponapi.dto;
+
+import com.danilojbs.couponapi.domain.CouponStatus;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.Instant;
+
+/**
+ * Filtros opcionais da listagem/exportação de cupons (parâmetros de query string).
+ * expiresFrom é inclusivo e expiresTo é exclusivo.
+ */
+public record CouponFilterDTO(
+        CouponStatus status,
+        Boolean published,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant expiresFrom,
+        @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) Instant expiresTo
+) {
+}
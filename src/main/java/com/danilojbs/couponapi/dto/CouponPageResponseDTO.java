@@ -0,0 +1,13 @@
+package com.danilojbs.couponapi.dto;
+
+import java.util.List;
+
+/**
+ * Página da listagem paginada por cursor (keyset).
+ * nextCursor: valor a ser enviado em "after" para obter a próxima página; nulo na última página.
+ */
+public record CouponPageResponseDTO(
+        List<CouponResponseDTO> items,
+        String nextCursor
+) {
+}
@@ -4,6 +4,7 @@ import com.danilojbs.couponapi.domain.Coupon;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.UUID;
 
 // Utilizado record para dados imutáveis
 public record CouponResponseDTO(
@@ -15,13 +16,19 @@ public record CouponResponseDTO(
         Boolean published
 ) {
 
+    // Utilizado pelas consultas com projeção direta no DTO (o id é armazenado como UUID)
+    public CouponResponseDTO(UUID id, String code, String description, BigDecimal discountValue,
+                             Instant expirationDate, Boolean published) {
+        this(id != null ? id.toString() : null, code, description, discountValue, expirationDate, published);
+    }
+
     /*
     * Função Factory responsável pela conversão do Cupom para DTO
     * Evita expor todos os dados e filtrar quais campos serão enviados ao usuário
     */
     public static CouponResponseDTO from(Coupon coupon) {
         return new CouponResponseDTO(
-                coupon.getId(),
+                coupon.getId() != null ? coupon.getId().toString() : null,
                 coupon.getCode(),
                 coupon.getDescription(),
                 coupon.getDiscountValue(),
@@ -0,0 +1,21 @@
+package com.danilojbs.couponapi.dto;
+
+/**
+ * Resultado da validação de um cupom por código.
+ * reason: motivo da invalidez (INACTIVE, DELETED, EXPIRED ou EXHAUSTED); nulo quando o cupom é válido.
+ */
+public record CouponValidationResponseDTO(
+        String code,
+        boolean valid,
+        String reason,
+        CouponResponseDTO coupon
+) {
+
+    public static CouponValidationResponseDTO valid(CouponResponseDTO coupon) {
+        return new CouponValidationResponseDTO(coupon.code(), true, null, coupon);
+    }
+
+    public static CouponValidationResponseDTO invalid(CouponResponseDTO coupon, String reason) {
+        return new CouponValidationResponseDTO(coupon.code(), false, reason, coupon);
+    }
+}
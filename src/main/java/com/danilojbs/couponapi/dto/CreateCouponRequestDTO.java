@@ -1,5 +1,8 @@
 package com.danilojbs.couponapi.dto;
 
+import com.danilojbs.couponapi.domain.CouponCodes;
+import com.danilojbs.couponapi.dto.validation.ValidCodeMode;
+import com.danilojbs.couponapi.dto.validation.ValidCouponCode;
 import jakarta.validation.constraints.*;
 import lombok.Getter;
 import lombok.Setter;
@@ -13,19 +16,24 @@ import java.time.Instant;
  */
 @Getter
 @Setter
+@ValidCodeMode
 public class CreateCouponRequestDTO {
 
-    // @NotBlank: Garante que o campo não seja nulo e não contenha apenas espaços vazios.
-    @NotBlank(message = "Code is required")
+    // @ValidCodeMode (na classe): Código obrigatório, exceto quando generateCode = true.
+    // @ValidCouponCode: Aplica a mesma formatação/validação da entidade (6 caracteres alfanuméricos).
+    @ValidCouponCode
     private String code;
 
+    // Campo opcional; quando true, o código é gerado pelo servidor (o campo "code" não deve ser enviado).
+    private Boolean generateCode;
+
     @NotBlank(message = "Description is required")
     private String description;
 
     // @NotNull: Campo obrigatório.
     // @DecimalMin: Valida a regra de negócio de valor mínimo (0.5).
     @NotNull(message = "Discount value is required")
-    @DecimalMin(value = "0.5", message = "Minimum discount value is 0.5")
+    @DecimalMin(value = CouponCodes.MIN_DISCOUNT_VALUE, message = "Minimum discount value is 0.5")
     private BigDecimal discountValue;
 
     // @Future: Garante que a data enviada seja posterior ao momento atual.
@@ -35,4 +43,12 @@ public class CreateCouponRequestDTO {
 
     // Campo opcional; se for nulo, a lógica de negócio definirá o valor padrão como false).
     private Boolean published;
-}
\ No newline at end of file
+
+    // Campo opcional; limite de resgates do cupom (nulo = ilimitado).
+    @Positive(message = "Max redemptions must be greater than zero")
+    private Integer maxRedemptions;
+
+    public boolean shouldGenerateCode() {
+        return Boolean.TRUE.equals(generateCode);
+    }
+}
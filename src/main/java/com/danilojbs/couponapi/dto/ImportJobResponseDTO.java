@@ -0,0 +1,62 @@
+package com.danilojbs.couponapi.dto;
+
+import com.danilojbs.couponapi.importer.ImportJob;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Progresso de uma importação de cupons.
+ * state: QUEUED, RUNNING, COMPLETED ou FAILED (error traz o motivo; os blocos já gravados permanecem).
+ * progress: percentual do arquivo já lido (0 a 100).
+ * rowsRead/created/rejected: registros lidos, gravados e rejeitados (detalhes no arquivo de rejeições).
+ * rowsPerSecond: vazão média de gravação desde o início do processamento.
+ */
+public record ImportJobResponseDTO(
+        String id,
+        String format,
+        String state,
+        long totalBytes,
+        long bytesRead,
+        int progress,
+        long rowsRead,
+        long created,
+        long rejected,
+        long rowsPerSecond,
+        Instant createdAt,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {
+
+    public static ImportJobResponseDTO from(ImportJob job) {
+        long bytesRead = job.getState() == ImportJob.State.COMPLETED ? job.getTotalBytes() : job.getBytesRead();
+        long created = job.getRowsCreated();
+        long rejected = job.getRowsRejected();
+        return new ImportJobResponseDTO(
+                job.getId(),
+                job.getFormat().name(),
+                job.getState().name(),
+                job.getTotalBytes(),
+                bytesRead,
+                job.getTotalBytes() == 0 ? 100 : (int) (bytesRead * 100 / job.getTotalBytes()),
+                job.getRowsRead(),
+                created,
+                rejected,
+                rowsPerSecond(job, created + rejected),
+                job.getCreatedAt(),
+                job.getStartedAt(),
+                job.getFinishedAt(),
+                job.getError()
+        );
+    }
+
+    private static long rowsPerSecond(ImportJob job, long rows) {
+        if (job.getStartedAt() == null) {
+            return 0;
+        }
+        Instant end = job.getFinishedAt() == null ? Instant.now() : job.getFinishedAt();
+        long millis = Math.max(1, Duration.between(job.getStartedAt(), end).toMillis());
+        return rows * 1000 / millis;
+    }
+}
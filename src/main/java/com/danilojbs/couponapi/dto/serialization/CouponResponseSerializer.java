@@ -0,0 +1,128 @@
+package com.danilojbs.couponapi.dto.serialization;
+
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDate;
+
+/**
+ * Serialização dedicada do CouponResponseDTO (listagem, exportação, consulta por código, criação).
+ * Gera o mesmo documento da serialização padrão do Jackson (mesma ordem de campos, nulos incluídos,
+ * BigDecimal como número e Instant em ISO-8601), porém sem introspecção do record a cada resposta:
+ * os nomes dos campos são tokens pré-codificados (SerializedString) e a data é formatada sem DateTimeFormatter.
+ * Registrado via @JacksonComponent em todos os mappers do Spring Boot (JSON e CBOR).
+ */
+@JacksonComponent
+public class CouponResponseSerializer extends StdSerializer<CouponResponseDTO> {
+
+    static final SerializableString ID = new SerializedString("id");
+    static final SerializableString CODE = new SerializedString("code");
+    static final SerializableString DESCRIPTION = new SerializedString("description");
+    static final SerializableString DISCOUNT_VALUE = new SerializedString("discountValue");
+    static final SerializableString EXPIRATION_DATE = new SerializedString("expirationDate");
+    static final SerializableString PUBLISHED = new SerializedString("published");
+
+    // Maior data formatada: "9999-12-31T23:59:59.999999999Z" (anos fora de 0000-9999 usam Instant.toString)
+    private static final int MAX_INSTANT_LENGTH = 30;
+    private static final long MIN_SECOND = -62167219200L; // 0000-01-01T00:00:00Z
+    private static final long MAX_SECOND = 253402300799L; // 9999-12-31T23:59:59Z
+
+    public CouponResponseSerializer() {
+        super(CouponResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(CouponResponseDTO coupon, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeStartObject(coupon);
+        writeFields(coupon, gen);
+        gen.writeEndObject();
+    }
+
+    static void writeFields(CouponResponseDTO coupon, JsonGenerator gen) {
+        gen.writeName(ID);
+        gen.writeString(coupon.id());
+        gen.writeName(CODE);
+        gen.writeString(coupon.code());
+        gen.writeName(DESCRIPTION);
+        gen.writeString(coupon.description());
+        gen.writeName(DISCOUNT_VALUE);
+        writeDecimal(coupon.discountValue(), gen);
+        gen.writeName(EXPIRATION_DATE);
+        writeInstant(coupon.expirationDate(), gen);
+        gen.writeName(PUBLISHED);
+        if (coupon.published() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeBoolean(coupon.published());
+        }
+    }
+
+    private static void writeDecimal(BigDecimal value, JsonGenerator gen) {
+        if (value == null) {
+            gen.writeNull();
+        } else {
+            gen.writeNumber(value);
+        }
+    }
+
+    // Mesmo texto de DateTimeFormatter.ISO_INSTANT (Instant.toString): fração omitida ou com 3, 6 ou 9 dígitos
+    static void writeInstant(Instant instant, JsonGenerator gen) {
+        if (instant == null) {
+            gen.writeNull();
+            return;
+        }
+        long seconds = instant.getEpochSecond();
+        if (seconds < MIN_SECOND || seconds > MAX_SECOND) {
+            gen.writeString(instant.toString());
+            return;
+        }
+        char[] buffer = new char[MAX_INSTANT_LENGTH];
+        gen.writeString(buffer, 0, formatInstant(seconds, instant.getNano(), buffer));
+    }
+
+    static int formatInstant(long epochSecond, int nano, char[] buffer) {
+        long day = Math.floorDiv(epochSecond, 86_400);
+        int secondOfDay = (int) Math.floorMod(epochSecond, 86_400);
+        LocalDate date = LocalDate.ofEpochDay(day);
+
+        int position = digits(date.getYear(), 4, buffer, 0);
+        buffer[position++] = '-';
+        position = digits(date.getMonthValue(), 2, buffer, position);
+        buffer[position++] = '-';
+        position = digits(date.getDayOfMonth(), 2, buffer, position);
+        buffer[position++] = 'T';
+        position = digits(secondOfDay / 3600, 2, buffer, position);
+        buffer[position++] = ':';
+        position = digits(secondOfDay / 60 % 60, 2, buffer, position);
+        buffer[position++] = ':';
+        position = digits(secondOfDay % 60, 2, buffer, position);
+        if (nano != 0) {
+            buffer[position++] = '.';
+            if (nano % 1_000_000 == 0) {
+                position = digits(nano / 1_000_000, 3, buffer, position);
+            } else if (nano % 1000 == 0) {
+                position = digits(nano / 1000, 6, buffer, position);
+            } else {
+                position = digits(nano, 9, buffer, position);
+            }
+        }
+        buffer[position++] = 'Z';
+        return position;
+    }
+
+    // Escreve value com exatamente "width" dígitos (zeros à esquerda)
+    private static int digits(int value, int width, char[] buffer, int position) {
+        for (int i = position + width - 1; i >= position; i--) {
+            buffer[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+        return position + width;
+    }
+}
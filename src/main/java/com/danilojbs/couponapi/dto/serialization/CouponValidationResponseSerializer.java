@@ -0,0 +1,46 @@
+package com.danilojbs.couponapi.dto.serialization;
+
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import org.springframework.boot.jackson.JacksonComponent;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.SerializableString;
+import tools.jackson.core.io.SerializedString;
+import tools.jackson.databind.SerializationContext;
+import tools.jackson.databind.ser.std.StdSerializer;
+
+/**
+ * Serialização dedicada da resposta da consulta por código (endpoint de maior tráfego).
+ * O cupom aninhado é escrito diretamente pelo CouponResponseSerializer, sem nova busca de serializer.
+ */
+@JacksonComponent
+public class CouponValidationResponseSerializer extends StdSerializer<CouponValidationResponseDTO> {
+
+    private static final SerializableString CODE = CouponResponseSerializer.CODE;
+    private static final SerializableString VALID = new SerializedString("valid");
+    private static final SerializableString REASON = new SerializedString("reason");
+    private static final SerializableString COUPON = new SerializedString("coupon");
+
+    public CouponValidationResponseSerializer() {
+        super(CouponValidationResponseDTO.class);
+    }
+
+    @Override
+    public void serialize(CouponValidationResponseDTO response, JsonGenerator gen, SerializationContext ctxt) {
+        gen.writeStartObject(response);
+        gen.writeName(CODE);
+        gen.writeString(response.code());
+        gen.writeName(VALID);
+        gen.writeBoolean(response.valid());
+        gen.writeName(REASON);
+        gen.writeString(response.reason());
+        gen.writeName(COUPON);
+        if (response.coupon() == null) {
+            gen.writeNull();
+        } else {
+            gen.writeStartObject(response.coupon());
+            CouponResponseSerializer.writeFields(response.coupon(), gen);
+            gen.writeEndObject();
+        }
+        gen.writeEndObject();
+    }
+}
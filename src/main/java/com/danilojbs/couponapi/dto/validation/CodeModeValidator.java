@@ -0,0 +1,23 @@
+package com.danilojbs.couponapi.dto.validation;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// Código obrigatório sem "generateCode"; proibido com "generateCode" (evita ambiguidade sobre qual código vale)
+public class CodeModeValidator implements ConstraintValidator<ValidCodeMode, CreateCouponRequestDTO> {
+
+    @Override
+    public boolean isValid(CreateCouponRequestDTO request, ConstraintValidatorContext context) {
+        boolean hasCode = request.getCode() != null && !request.getCode().isBlank();
+        if (request.shouldGenerateCode() == !hasCode) {
+            return true;
+        }
+        String message = hasCode ? "Code must not be sent when generateCode is true" : context.getDefaultConstraintMessageTemplate();
+        context.disableDefaultConstraintViolation();
+        context.buildConstraintViolationWithTemplate(message)
+                .addPropertyNode("code")
+                .addConstraintViolation();
+        return false;
+    }
+}
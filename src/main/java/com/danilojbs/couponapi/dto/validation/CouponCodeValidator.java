@@ -0,0 +1,14 @@
+package com.danilojbs.couponapi.dto.validation;
+
+import com.danilojbs.couponapi.domain.CouponCodes;
+import jakarta.validation.ConstraintValidator;
+import jakarta.validation.ConstraintValidatorContext;
+
+// Utiliza a mesma regra da entidade (CouponCodes), sem criar a String normalizada
+public class CouponCodeValidator implements ConstraintValidator<ValidCouponCode, String> {
+
+    @Override
+    public boolean isValid(String code, ConstraintValidatorContext context) {
+        return code == null || CouponCodes.normalizedLength(code) == CouponCodes.CODE_LENGTH;
+    }
+}
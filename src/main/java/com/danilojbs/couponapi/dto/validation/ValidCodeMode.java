@@ -0,0 +1,26 @@
+package com.danilojbs.couponapi.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida a combinação entre "code" e "generateCode" na criação de cupons:
+ * o código é obrigatório, exceto quando a geração automática é solicitada (nesse caso não pode ser enviado).
+ * O erro é reportado no campo "code".
+ */
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = CodeModeValidator.class)
+public @interface ValidCodeMode {
+
+    String message() default "Code is required";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.dto.validation;
+
+import jakarta.validation.Constraint;
+import jakarta.validation.Payload;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Valida se o código terá exatamente 6 caracteres alfanuméricos após a formatação do domínio.
+ * Valores nulos são aceitos (a obrigatoriedade fica a cargo de @NotBlank).
+ */
+@Target({ElementType.FIELD, ElementType.PARAMETER})
+@Retention(RetentionPolicy.RUNTIME)
+@Constraint(validatedBy = CouponCodeValidator.class)
+public @interface ValidCouponCode {
+
+    String message() default "Code must have exactly 6 alphanumeric characters";
+
+    Class<?>[] groups() default {};
+
+    Class<? extends Payload>[] payload() default {};
+}
@@ -0,0 +1,112 @@
+package com.danilojbs.couponapi.generator;
+
+import com.danilojbs.couponapi.config.CodeGeneratorProperties;
+import com.danilojbs.couponapi.domain.CouponCodes;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+/**
+ * Gerador de códigos únicos (6 caracteres, base 36: 0-9 e A-Z).
+ * O espaço de códigos (36^6) é dividido em blocos; cada instância reserva um bloco inteiro com um único
+ * acesso à sequence do banco e distribui os códigos em memória, sem consultar o banco a cada código.
+ * Os números do bloco passam por uma permutação afim (a * n + c mod 36^6), de modo que códigos
+ * consecutivos não pareçam sequenciais. Por ser uma bijeção, nenhum código se repete até o espaço esgotar.
+ * A permutação não é segredo: os códigos não devem ser tratados como imprevisíveis.
+ */
+@Component
+public class CouponCodeGenerator {
+
+    public static final long KEYSPACE = pow(36, CouponCodes.CODE_LENGTH);
+
+    // Multiplicador coprimo com 36 (ímpar e não divisível por 3): garante a bijeção em [0, 36^6)
+    private static final long MULTIPLIER = 1_580_030_173L;
+    private static final long OFFSET = 1_234_567_891L;
+    private static final char[] DIGITS = "0123456789ABCDEFGHIJKLMNOPQRSTUVWXYZ".toCharArray();
+
+    private final LongSupplier nextBlock;
+    private final int blockSize;
+    private final ReentrantLock refillLock = new ReentrantLock();
+    private volatile Block current;
+
+    @Autowired
+    public CouponCodeGenerator(CouponRepository repository, CodeGeneratorProperties properties) {
+        this(repository::nextCodeBlock, properties.blockSize());
+    }
+
+    // nextBlock: fonte dos números de bloco (sequence do banco ou, em testes/benchmarks, um contador em memória)
+    public CouponCodeGenerator(LongSupplier nextBlock, int blockSize) {
+        if (blockSize < 1) {
+            throw new IllegalArgumentException("Block size must be greater than zero");
+        }
+        this.nextBlock = nextBlock;
+        this.blockSize = blockSize;
+    }
+
+    /**
+     * Próximo código livre.
+     * Caminho comum: um incremento atômico no bloco atual. A reserva de um novo bloco ocorre
+     * uma vez a cada "blockSize" códigos e apenas uma thread acessa o banco.
+     */
+    public String next() {
+        while (true) {
+            Block block = current;
+            if (block != null) {
+                long position = block.next.getAndIncrement();
+                if (position < block.end) {
+                    return encode(permute(position));
+                }
+            }
+            refill(block);
+        }
+    }
+
+    private void refill(Block exhausted) {
+        refillLock.lock();
+        try {
+            if (current == exhausted) { // Outra thread pode ter reservado um bloco enquanto esta aguardava
+                current = reserve();
+            }
+        } finally {
+            refillLock.unlock();
+        }
+    }
+
+    private Block reserve() {
+        long block = nextBlock.getAsLong();
+        if (block < 0 || block >= (KEYSPACE + blockSize - 1) / blockSize) {
+            throw new IllegalStateException("Coupon code keyspace exhausted");
+        }
+        long start = block * blockSize;
+        return new Block(new AtomicLong(start), Math.min(start + blockSize, KEYSPACE));
+    }
+
+    // Bijeção em [0, 36^6): MULTIPLIER * n cabe em um long, pois ambos são menores que 2^31
+    static long permute(long value) {
+        return (MULTIPLIER * value + OFFSET) % KEYSPACE;
+    }
+
+    static String encode(long value) {
+        char[] code = new char[CouponCodes.CODE_LENGTH];
+        for (int i = code.length - 1; i >= 0; i--) {
+            code[i] = DIGITS[(int) (value % 36)];
+            value /= 36;
+        }
+        return new String(code);
+    }
+
+    private static long pow(long base, int exponent) {
+        long result = 1;
+        for (int i = 0; i < exponent; i++) {
+            result *= base;
+        }
+        return result;
+    }
+
+    private record Block(AtomicLong next, long end) {
+    }
+}
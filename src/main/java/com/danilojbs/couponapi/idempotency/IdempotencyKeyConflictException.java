@@ -0,0 +1,26 @@
+package com.danilojbs.couponapi.idempotency;
+
+import lombok.Getter;
+import org.springframework.http.HttpStatus;
+
+// Exception responsável por conflitos de Idempotency-Key (payload diferente ou execução original ainda em andamento)
+@Getter
+public class IdempotencyKeyConflictException extends RuntimeException {
+
+    private final HttpStatus status;
+
+    private IdempotencyKeyConflictException(HttpStatus status, String message) {
+        super(message);
+        this.status = status;
+    }
+
+    public static IdempotencyKeyConflictException payloadMismatch() {
+        return new IdempotencyKeyConflictException(HttpStatus.UNPROCESSABLE_CONTENT,
+                "Idempotency-Key was already used with a different request body.");
+    }
+
+    public static IdempotencyKeyConflictException inProgress() {
+        return new IdempotencyKeyConflictException(HttpStatus.CONFLICT,
+                "A request with this Idempotency-Key is still being processed.");
+    }
+}
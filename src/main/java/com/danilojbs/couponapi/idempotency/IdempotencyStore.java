@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.idempotency;
+
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+
+import java.util.function.Supplier;
+
+/**
+ * Armazenamento das execuções identificadas por Idempotency-Key.
+ * Implementações: em memória (InMemoryIdempotencyStore) ou em banco (JdbcIdempotencyStore),
+ * escolhidas por coupon.idempotency.store.
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Executa a ação uma única vez por chave:
+     * 1 - Primeira requisição: executa e guarda a resposta (falhas não são guardadas; a chave é liberada).
+     * 2 - Requisição repetida: devolve a resposta guardada, sem executar novamente.
+     * 3 - Requisição concorrente: aguarda o resultado da execução em andamento.
+     * A chave reutilizada com outro payload (fingerprint diferente) é recusada.
+     */
+    IdempotentResult execute(String key, String fingerprint, Supplier<CouponResponseDTO> action);
+
+    record IdempotentResult(CouponResponseDTO response, boolean replayed) {
+    }
+}
@@ -0,0 +1,79 @@
+package com.danilojbs.couponapi.idempotency;
+
+import com.danilojbs.couponapi.config.IdempotencyProperties;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Armazenamento em memória (por instância), limitado por quantidade e por tempo (TTL).
+ * Cada chave guarda um CompletableFuture: requisições concorrentes aguardam o mesmo resultado,
+ * e a repetição devolve o próprio CouponResponseDTO já criado (sem serialização nem acesso ao banco).
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.idempotency", name = "store", havingValue = "memory", matchIfMissing = true)
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final Cache<String, Execution> executions;
+    private final Duration waitTimeout;
+
+    public InMemoryIdempotencyStore(IdempotencyProperties properties) {
+        this.executions = Caffeine.newBuilder()
+                .maximumSize(properties.maxSize())
+                .expireAfterWrite(properties.ttl())
+                .build();
+        this.waitTimeout = properties.waitTimeout();
+    }
+
+    @Override
+    public IdempotentResult execute(String key, String fingerprint, Supplier<CouponResponseDTO> action) {
+        Execution mine = new Execution(fingerprint, new CompletableFuture<>());
+        Execution existing = executions.asMap().putIfAbsent(key, mine);
+
+        if (existing == null) {
+            try {
+                CouponResponseDTO response = action.get();
+                mine.result().complete(response);
+                return new IdempotentResult(response, false);
+            } catch (RuntimeException ex) {
+                executions.asMap().remove(key, mine); // Falha não é guardada: uma nova tentativa executa novamente
+                mine.result().completeExceptionally(ex);
+                throw ex;
+            }
+        }
+
+        if (!existing.fingerprint().equals(fingerprint)) {
+            throw IdempotencyKeyConflictException.payloadMismatch();
+        }
+        return new IdempotentResult(await(existing.result()), true);
+    }
+
+    private CouponResponseDTO await(CompletableFuture<CouponResponseDTO> result) {
+        try {
+            return result.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (ExecutionException ex) {
+            // A requisição original falhou: a duplicata recebe o mesmo erro
+            if (ex.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(ex.getCause());
+        } catch (TimeoutException ex) {
+            throw IdempotencyKeyConflictException.inProgress();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyKeyConflictException.inProgress();
+        }
+    }
+
+    private record Execution(String fingerprint, CompletableFuture<CouponResponseDTO> result) {
+    }
+}
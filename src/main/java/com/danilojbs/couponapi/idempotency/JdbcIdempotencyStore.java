@@ -0,0 +1,203 @@
+package com.danilojbs.couponapi.idempotency;
+
+import com.danilojbs.couponapi.config.IdempotencyProperties;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Armazenamento em banco (tabela idempotency_keys), compartilhado entre instâncias.
+ * A chave primária garante uma única execução: quem insere a linha executa a ação;
+ * as duplicatas consultam a linha até a resposta (JSON) ser gravada.
+ *
+ * Reserva (lease): a linha guarda a dona da execução (reserved_by) e o prazo da execução em andamento (locked_until).
+ * Se a instância é encerrada durante a execução, a reserva sem resposta é assumida por uma nova requisição
+ * após o prazo (coupon.idempotency.lease), em vez de bloquear a chave até o ttl.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "coupon.idempotency", name = "store", havingValue = "jdbc")
+public class JdbcIdempotencyStore implements IdempotencyStore {
+
+    // Tentativas de gravar a resposta após a ação (o cupom já foi criado)
+    static final int RESPONSE_WRITE_ATTEMPTS = 3;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final IdempotencyProperties properties;
+
+    @Override
+    public IdempotentResult execute(String key, String fingerprint, Supplier<CouponResponseDTO> action) {
+        long deadline = System.nanoTime() + properties.waitTimeout().toNanos();
+        String owner = UUID.randomUUID().toString();
+
+        while (true) {
+            Instant now = Instant.now();
+            if (tryReserve(key, fingerprint, owner, now)) {
+                return new IdempotentResult(run(key, owner, action), false);
+            }
+
+            StoredExecution stored = find(key);
+            if (stored == null) {
+                continue; // A execução original falhou e liberou a chave
+            }
+            if (stored.expiresAt().isBefore(now)) {
+                jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and expires_at < ?",
+                        key, Timestamp.from(now));
+                continue;
+            }
+            if (stored.response() == null && stored.isLeaseExpired(now)) {
+                // Execução original interrompida sem resposta nem liberação: a chave é assumida por esta requisição
+                if (tryTakeOver(key, fingerprint, owner, now)) {
+                    return new IdempotentResult(run(key, owner, action), false);
+                }
+                continue;
+            }
+            if (!stored.fingerprint().equals(fingerprint)) {
+                throw IdempotencyKeyConflictException.payloadMismatch();
+            }
+            if (stored.response() != null) {
+                return new IdempotentResult(objectMapper.readValue(stored.response(), CouponResponseDTO.class), true);
+            }
+            if (System.nanoTime() > deadline) {
+                throw IdempotencyKeyConflictException.inProgress();
+            }
+            pause();
+        }
+    }
+
+    // Remove periodicamente as chaves vencidas (as consultas já ignoram chaves vencidas)
+    @Scheduled(fixedDelayString = "${coupon.idempotency.purge-interval:10m}")
+    public int purgeExpired() {
+        return jdbcTemplate.update("delete from idempotency_keys where expires_at < ?", Timestamp.from(Instant.now()));
+    }
+
+    private boolean tryReserve(String key, String fingerprint, String owner, Instant now) {
+        try {
+            jdbcTemplate.update("""
+                            insert into idempotency_keys (idempotency_key, fingerprint, reserved_by, locked_until, expires_at)
+                            values (?, ?, ?, ?, ?)
+                            """,
+                    key, fingerprint, owner, Timestamp.from(now.plus(properties.lease())),
+                    Timestamp.from(now.plus(properties.ttl())));
+            return true;
+        } catch (DuplicateKeyException ex) {
+            return false;
+        }
+    }
+
+    // UPDATE condicionado ao prazo vencido: entre requisições concorrentes, apenas uma assume a chave
+    private boolean tryTakeOver(String key, String fingerprint, String owner, Instant now) {
+        return jdbcTemplate.update("""
+                        update idempotency_keys set fingerprint = ?, reserved_by = ?, locked_until = ?, expires_at = ?
+                        where idempotency_key = ? and response is null and (locked_until is null or locked_until < ?)
+                        """,
+                fingerprint, owner, Timestamp.from(now.plus(properties.lease())), Timestamp.from(now.plus(properties.ttl())),
+                key, Timestamp.from(now)) == 1;
+    }
+
+    private CouponResponseDTO run(String key, String owner, Supplier<CouponResponseDTO> action) {
+        CouponResponseDTO response;
+        try {
+            response = action.get();
+        } catch (RuntimeException ex) {
+            // Falha não é guardada: libera a chave para uma nova tentativa
+            jdbcTemplate.update("delete from idempotency_keys where idempotency_key = ? and reserved_by = ? and response is null",
+                    key, owner);
+            throw ex;
+        }
+        storeResponse(key, owner, response);
+        return response;
+    }
+
+    /*
+     * A ação já foi confirmada (cupom criado) quando a resposta é gravada: liberar a chave permitiria uma segunda criação.
+     * A gravação é repetida; se continuar falhando, a chave fica reservada até o ttl (duplicatas recebem 409)
+     * e o cliente recebe a resposta da criação normalmente.
+     */
+    private void storeResponse(String key, String owner, CouponResponseDTO response) {
+        String json = objectMapper.writeValueAsString(response);
+        for (int attempt = 1; ; attempt++) {
+            try {
+                int updated = jdbcTemplate.update("""
+                                update idempotency_keys set response = ?, locked_until = null
+                                where idempotency_key = ? and reserved_by = ?
+                                """,
+                        json, key, owner);
+                if (updated == 0) {
+                    log.warn("Idempotency key {} was taken over before its response was stored (lease {} is shorter than the execution)",
+                            key, properties.lease());
+                }
+                return;
+            } catch (DataAccessException ex) {
+                if (attempt == RESPONSE_WRITE_ATTEMPTS) {
+                    keepReserved(key, owner, ex);
+                    return;
+                }
+                sleepQuietly();
+            }
+        }
+    }
+
+    private void keepReserved(String key, String owner, DataAccessException cause) {
+        log.error("Could not store the response of idempotency key {}; keeping it reserved until it expires", key, cause);
+        try {
+            jdbcTemplate.update("update idempotency_keys set locked_until = expires_at where idempotency_key = ? and reserved_by = ?",
+                    key, owner);
+        } catch (DataAccessException ex) {
+            log.error("Could not extend the reservation of idempotency key {}", key, ex);
+        }
+    }
+
+    private StoredExecution find(String key) {
+        List<StoredExecution> rows = jdbcTemplate.query(
+                "select fingerprint, response, locked_until, expires_at from idempotency_keys where idempotency_key = ?",
+                (rs, rowNum) -> {
+                    Timestamp lockedUntil = rs.getTimestamp("locked_until");
+                    return new StoredExecution(rs.getString("fingerprint"), rs.getString("response"),
+                            lockedUntil == null ? null : lockedUntil.toInstant(), rs.getTimestamp("expires_at").toInstant());
+                },
+                key);
+        return rows.isEmpty() ? null : rows.get(0);
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(properties.pollInterval().toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw IdempotencyKeyConflictException.inProgress();
+        }
+    }
+
+    private void sleepQuietly() {
+        try {
+            TimeUnit.NANOSECONDS.sleep(properties.pollInterval().toNanos());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // lockedUntil nulo: reserva gravada antes da coluna locked_until (sem prazo registrado)
+    private record StoredExecution(String fingerprint, String response, Instant lockedUntil, Instant expiresAt) {
+
+        private boolean isLeaseExpired(Instant now) {
+            return lockedUntil == null || lockedUntil.isBefore(now);
+        }
+    }
+}
@@ -0,0 +1,311 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.config.BulkProperties;
+import com.danilojbs.couponapi.config.ImportProperties;
+import com.danilojbs.couponapi.dto.BulkCreateItemResultDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.service.CouponBulkService;
+import com.danilojbs.couponapi.service.CouponBulkService.PreparedChunk;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.stereotype.Service;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.SeekableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Importação de arquivos de cupons (NDJSON ou CSV) com milhões de registros.
+ *
+ * Fluxo de Importação:
+ * 1 - O upload é copiado em stream para um arquivo no disco (coupon.import.directory) e a importação entra na fila.
+ *     Uploads acima de coupon.import.max-size são recusados (pelo Content-Length ou durante a cópia).
+ * 2 - Leitura (1 thread): o arquivo é lido de forma incremental e dividido em blocos de "coupon.bulk.chunk-size" registros.
+ * 3 - Validação (coupon.import.validation-threads): Bean Validation e montagem dos cupons em paralelo (CouponBulkService.prepare).
+ * 4 - Gravação (1 thread): os blocos são gravados na ordem do arquivo com INSERTs em lote (CouponBulkService.write),
+ *     e os registros recusados são acrescentados ao arquivo de rejeições (NDJSON).
+ * As etapas se comunicam por filas limitadas (coupon.import.queue-capacity): quando a gravação é a etapa mais lenta,
+ * as filas enchem e a leitura aguarda, mantendo no heap apenas alguns blocos por importação, independente do tamanho do arquivo.
+ * Cada bloco é gravado em uma transação própria; em caso de falha, os blocos já gravados permanecem (estado FAILED).
+ */
+@Slf4j
+@Service
+public class CouponImportService implements DisposableBean {
+
+    // Marcador de fim de arquivo enviado a cada thread de validação (e repassado por ela à gravação)
+    private static final Batch END = new Batch(-1, 0, 0);
+    private static final long POLL_MILLIS = 100;
+    private static final int COPY_BUFFER_SIZE = 64 * 1024;
+
+    private final CouponBulkService bulkService;
+    private final BulkProperties bulkProperties;
+    private final ImportProperties properties;
+    private final ObjectMapper objectMapper;
+    private final Path directory;
+    private final ExecutorService jobExecutor;
+
+    private final Map<String, ImportJob> jobs = new ConcurrentHashMap<>();
+    private final Deque<ImportJob> finishedJobs = new ConcurrentLinkedDeque<>();
+
+    public CouponImportService(CouponBulkService bulkService, BulkProperties bulkProperties, ImportProperties properties,
+                               ObjectMapper objectMapper) throws IOException {
+        this.bulkService = bulkService;
+        this.bulkProperties = bulkProperties;
+        this.properties = properties;
+        this.objectMapper = objectMapper;
+        this.directory = Files.createDirectories(Path.of(properties.directory().isBlank()
+                ? System.getProperty("java.io.tmpdir") : properties.directory()));
+        this.jobExecutor = Executors.newFixedThreadPool(properties.maxConcurrentJobs(), daemonThreads("coupon-import"));
+    }
+
+    public ImportJob start(ImportFormat format, InputStream body) throws IOException {
+        return start(format, body, -1);
+    }
+
+    /**
+     * Recebe o arquivo e agenda a importação; o processamento é acompanhado por find(id).
+     * contentLength: tamanho informado pelo cliente (-1 = desconhecido, ex: envio chunked).
+     */
+    public ImportJob start(ImportFormat format, InputStream body, long contentLength) throws IOException {
+        if (contentLength > properties.maxSize().toBytes()) {
+            throw new ImportTooLargeException(properties.maxSize()); // Recusado antes de ler o corpo
+        }
+        String id = UUID.randomUUID().toString();
+        Path file = directory.resolve("coupon-import-" + id + "." + format.extension());
+        long size;
+        try {
+            size = copy(body, file);
+        } catch (IOException | RuntimeException ex) {
+            Files.deleteIfExists(file);
+            throw ex;
+        }
+
+        ImportJob job = new ImportJob(id, format, file, directory.resolve("coupon-import-" + id + "-rejections.ndjson"), size);
+        jobs.put(id, job);
+        jobExecutor.execute(() -> run(job));
+        return job;
+    }
+
+    public ImportJob find(String id) {
+        ImportJob job = jobs.get(id);
+        if (job == null) {
+            throw new ImportJobNotFoundException(id);
+        }
+        return job;
+    }
+
+    void run(ImportJob job) {
+        job.started();
+        int validators = properties.validationThreads() > 0
+                ? properties.validationThreads() : Runtime.getRuntime().availableProcessors();
+        BlockingQueue<Batch> parsed = new ArrayBlockingQueue<>(properties.queueCapacity());
+        BlockingQueue<Batch> prepared = new ArrayBlockingQueue<>(properties.queueCapacity());
+        AtomicReference<Exception> failure = new AtomicReference<>();
+        ExecutorService stages = Executors.newFixedThreadPool(validators + 1, daemonThreads("coupon-import-" + job.getId()));
+
+        try (Writer rejections = Files.newBufferedWriter(job.getRejectionFile(), StandardCharsets.UTF_8)) {
+            stages.execute(() -> read(job, parsed, validators, failure));
+            for (int i = 0; i < validators; i++) {
+                stages.execute(() -> validate(parsed, prepared, failure));
+            }
+            write(job, prepared, validators, failure, rejections);
+            job.completed();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            job.failed("Import interrupted.");
+        } catch (Exception ex) {
+            log.error("Coupon import {} failed", job.getId(), ex);
+            job.failed(ex.getMessage() != null ? ex.getMessage() : ex.getClass().getSimpleName());
+        } finally {
+            stages.shutdownNow(); // Interrompe as etapas que ainda aguardam nas filas (falha na gravação)
+            deleteQuietly(job.getFile());
+            retain(job);
+        }
+    }
+
+    // Etapa de leitura: converte os registros do arquivo e os agrupa em blocos
+    private void read(ImportJob job, BlockingQueue<Batch> parsed, int validators, AtomicReference<Exception> failure) {
+        int chunkSize = bulkProperties.chunkSize();
+        try (SeekableByteChannel channel = Files.newByteChannel(job.getFile());
+             CouponRecordReader reader = job.getFormat().open(Channels.newInputStream(channel), objectMapper)) {
+            long sequence = 0;
+            int rows = 0;
+            Batch batch = new Batch(sequence++, rows, chunkSize);
+            for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+                batch.add(record);
+                rows++;
+                if (batch.requests.size() == chunkSize) {
+                    job.read(rows, channel.position());
+                    parsed.put(batch); // Fila cheia: aguarda a validação/gravação (backpressure)
+                    batch = new Batch(sequence++, rows, chunkSize);
+                }
+            }
+            if (!batch.requests.isEmpty()) {
+                job.read(rows, channel.position());
+                parsed.put(batch);
+            }
+            for (int i = 0; i < validators; i++) {
+                parsed.put(END);
+            }
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failure.compareAndSet(null, ex);
+        }
+    }
+
+    // Etapa de validação: executada em paralelo, sem acesso ao banco (exceto a reserva de códigos gerados)
+    private void validate(BlockingQueue<Batch> parsed, BlockingQueue<Batch> prepared, AtomicReference<Exception> failure) {
+        try {
+            for (Batch batch = parsed.take(); batch != END; batch = parsed.take()) {
+                batch.prepared = bulkService.prepare(batch.requests, batch.firstRow);
+                prepared.put(batch);
+            }
+            prepared.put(END);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        } catch (Exception ex) {
+            failure.compareAndSet(null, ex);
+        }
+    }
+
+    /*
+     * Etapa de gravação: os blocos validados chegam fora de ordem (validação em paralelo) e são reordenados,
+     * para que um código repetido no arquivo fique com a primeira ocorrência e as rejeições sigam a ordem do arquivo.
+     * Aguardam a reordenação no máximo os blocos em validação e os da fila (limitado pelas filas).
+     */
+    private void write(ImportJob job, BlockingQueue<Batch> prepared, int validators, AtomicReference<Exception> failure,
+                       Writer rejections) throws Exception {
+        Map<Long, Batch> pending = new HashMap<>();
+        long next = 0;
+        int finishedValidators = 0;
+
+        while (finishedValidators < validators) {
+            Batch batch = prepared.poll(POLL_MILLIS, TimeUnit.MILLISECONDS);
+            if (batch == null) {
+                // Falha na leitura ou na validação: interrompe a importação
+                Exception ex = failure.get();
+                if (ex != null) {
+                    throw ex;
+                }
+                continue;
+            }
+            if (batch == END) {
+                finishedValidators++;
+                continue;
+            }
+            pending.put(batch.sequence, batch);
+            for (Batch ready = pending.remove(next); ready != null; ready = pending.remove(next)) {
+                writeBatch(job, ready, rejections);
+                next++;
+            }
+        }
+    }
+
+    private void writeBatch(ImportJob job, Batch batch, Writer rejections) throws IOException {
+        long created = 0;
+        long rejected = 0;
+        for (BulkCreateItemResultDTO result : bulkService.write(batch.prepared)) {
+            if (BulkCreateItemResultDTO.CREATED.equals(result.status())) {
+                created++;
+                continue;
+            }
+            // Registros não convertidos chegam à validação como nulos: a rejeição informa o erro de leitura
+            String readError = batch.readErrors == null ? null : batch.readErrors.get(result.index() - batch.firstRow);
+            ImportRejection rejection = new ImportRejection(result.index() + 1L, result.code(),
+                    readError != null ? readError : result.error());
+            rejections.write(objectMapper.writeValueAsString(rejection));
+            rejections.write('\n');
+            rejected++;
+        }
+        rejections.flush(); // O arquivo de rejeições pode ser baixado durante a importação
+        job.written(created, rejected);
+    }
+
+    // Mantém as últimas "coupon.import.max-retained-jobs" importações finalizadas para consulta
+    private void retain(ImportJob job) {
+        finishedJobs.addLast(job);
+        while (finishedJobs.size() > properties.maxRetainedJobs()) {
+            ImportJob oldest = finishedJobs.pollFirst();
+            if (oldest != null) {
+                jobs.remove(oldest.getId());
+                deleteQuietly(oldest.getRejectionFile());
+            }
+        }
+    }
+
+    // Cópia limitada: o Content-Length pode estar ausente ou não corresponder ao corpo enviado
+    private long copy(InputStream body, Path file) throws IOException {
+        long maxBytes = properties.maxSize().toBytes();
+        long size = 0;
+        byte[] buffer = new byte[COPY_BUFFER_SIZE];
+        try (OutputStream out = Files.newOutputStream(file)) {
+            for (int read; (read = body.read(buffer)) != -1; ) {
+                size += read;
+                if (size > maxBytes) {
+                    throw new ImportTooLargeException(properties.maxSize());
+                }
+                out.write(buffer, 0, read);
+            }
+        }
+        return size;
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException ex) {
+            log.warn("Could not delete import file {}", file, ex);
+        }
+    }
+
+    private static ThreadFactory daemonThreads(String name) {
+        return runnable -> {
+            Thread thread = new Thread(runnable, name);
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    // Encerramento da aplicação: interrompe as importações em andamento (ficam como FAILED)
+    @Override
+    public void destroy() {
+        jobExecutor.shutdownNow();
+    }
+
+    // Bloco de registros em trânsito entre as etapas
+    private static final class Batch {
+
+        private final long sequence;
+        private final int firstRow;
+        private final List<CreateCouponRequestDTO> requests;
+        private Map<Integer, String> readErrors;
+        private PreparedChunk prepared;
+
+        private Batch(long sequence, int firstRow, int capacity) {
+            this.sequence = sequence;
+            this.firstRow = firstRow;
+            this.requests = new ArrayList<>(capacity);
+        }
+
+        private void add(ImportRecord record) {
+            if (record.error() != null) {
+                if (readErrors == null) {
+                    readErrors = new HashMap<>();
+                }
+                readErrors.put(requests.size(), record.error());
+            }
+            requests.add(record.request());
+        }
+    }
+}
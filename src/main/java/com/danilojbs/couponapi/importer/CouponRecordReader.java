@@ -0,0 +1,13 @@
+package com.danilojbs.couponapi.importer;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Leitura incremental de um arquivo de importação: um registro por chamada, sem carregar o arquivo em memória.
+ */
+interface CouponRecordReader extends Closeable {
+
+    // Próximo registro do arquivo, ou null ao final
+    ImportRecord next() throws IOException;
+}
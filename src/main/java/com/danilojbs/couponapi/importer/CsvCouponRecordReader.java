@@ -0,0 +1,170 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.math.BigDecimal;
+import java.time.DateTimeException;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Leitor CSV (RFC 4180): a primeira linha é o cabeçalho com os nomes dos campos da criação de cupons
+ * (code, generateCode, description, discountValue, expirationDate, published, maxRedemptions), em qualquer ordem.
+ * Colunas desconhecidas são ignoradas (ex: "id" de um arquivo gerado pela exportação) e campos vazios ficam nulos.
+ * Campos entre aspas podem conter vírgulas, aspas duplicadas e quebras de linha.
+ */
+class CsvCouponRecordReader implements CouponRecordReader {
+
+    private static final int EOF = -1;
+
+    private final Reader reader;
+    private final char[] buffer = new char[8192];
+    private int position;
+    private int limit;
+
+    private final StringBuilder field = new StringBuilder(64);
+    private boolean malformed;
+    private String[] header;
+
+    CsvCouponRecordReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        if (header == null && !readHeader()) {
+            return null;
+        }
+        List<String> fields;
+        do {
+            fields = readRecord();
+            if (fields == null) {
+                return null;
+            }
+        } while (fields.size() == 1 && fields.get(0).isEmpty() && !malformed); // Linha em branco
+
+        if (malformed) {
+            return ImportRecord.invalid("Malformed CSV: unterminated quoted field.");
+        }
+        return toRecord(fields);
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean readHeader() throws IOException {
+        List<String> names = readRecord();
+        if (names == null) {
+            return false;
+        }
+        header = new String[names.size()];
+        for (int i = 0; i < header.length; i++) {
+            String name = names.get(i).strip();
+            header[i] = i == 0 && name.startsWith("\uFEFF") ? name.substring(1) : name; // Remove o BOM do UTF-8
+        }
+        return true;
+    }
+
+    private ImportRecord toRecord(List<String> fields) {
+        if (fields.size() != header.length) {
+            return ImportRecord.invalid("Expected " + header.length + " fields but found " + fields.size() + ".");
+        }
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        for (int i = 0; i < header.length; i++) {
+            String value = fields.get(i);
+            if (value.isEmpty()) {
+                continue;
+            }
+            try {
+                switch (header[i]) {
+                    case "code" -> request.setCode(value);
+                    case "generateCode" -> request.setGenerateCode(parseBoolean(value));
+                    case "description" -> request.setDescription(value);
+                    case "discountValue" -> request.setDiscountValue(new BigDecimal(value));
+                    case "expirationDate" -> request.setExpirationDate(Instant.parse(value));
+                    case "published" -> request.setPublished(parseBoolean(value));
+                    case "maxRedemptions" -> request.setMaxRedemptions(Integer.valueOf(value));
+                    default -> {
+                        // Coluna desconhecida: ignorada
+                    }
+                }
+            } catch (IllegalArgumentException | DateTimeException ex) {
+                return ImportRecord.invalid(header[i] + ": invalid value");
+            }
+        }
+        return ImportRecord.of(request);
+    }
+
+    private static Boolean parseBoolean(String value) {
+        if ("true".equalsIgnoreCase(value)) {
+            return Boolean.TRUE;
+        }
+        if ("false".equalsIgnoreCase(value)) {
+            return Boolean.FALSE;
+        }
+        throw new IllegalArgumentException(value);
+    }
+
+    // Próximo registro (campos já sem as aspas delimitadoras), ou null ao final do arquivo
+    private List<String> readRecord() throws IOException {
+        int c = read();
+        if (c == EOF) {
+            return null;
+        }
+        List<String> fields = new ArrayList<>(header == null ? 8 : header.length);
+        field.setLength(0);
+        malformed = false;
+        boolean quoted = false;
+        boolean fieldStart = true;
+
+        while (true) {
+            if (quoted) {
+                if (c == EOF) {
+                    malformed = true;
+                    break;
+                }
+                if (c == '"') {
+                    c = read();
+                    if (c != '"') {
+                        quoted = false; // Aspas de fechamento: o caractere seguinte é tratado fora das aspas
+                        continue;
+                    }
+                }
+                field.append((char) c);
+            } else if (c == '"' && fieldStart) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+                fieldStart = true;
+                c = read();
+                continue;
+            } else if (c == '\n' || c == EOF) {
+                break;
+            } else if (c != '\r') { // CR fora das aspas é descartado (CRLF)
+                field.append((char) c);
+            }
+            fieldStart = false;
+            c = read();
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    private int read() throws IOException {
+        if (position == limit) {
+            limit = reader.read(buffer, 0, buffer.length);
+            position = 0;
+            if (limit <= 0) {
+                limit = 0;
+                return EOF;
+            }
+        }
+        return buffer[position++];
+    }
+}
@@ -0,0 +1,41 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.BufferedReader;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Formatos aceitos na importação de cupons (arquivos em UTF-8).
+ */
+public enum ImportFormat {
+
+    NDJSON("ndjson") {
+        @Override
+        CouponRecordReader open(InputStream in, ObjectMapper objectMapper) {
+            return new NdjsonCouponRecordReader(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)),
+                    objectMapper.readerFor(CreateCouponRequestDTO.class));
+        }
+    },
+    CSV("csv") {
+        @Override
+        CouponRecordReader open(InputStream in, ObjectMapper objectMapper) {
+            return new CsvCouponRecordReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        }
+    };
+
+    private final String extension;
+
+    ImportFormat(String extension) {
+        this.extension = extension;
+    }
+
+    String extension() {
+        return extension;
+    }
+
+    abstract CouponRecordReader open(InputStream in, ObjectMapper objectMapper);
+}
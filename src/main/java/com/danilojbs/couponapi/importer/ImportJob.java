@@ -0,0 +1,94 @@
+package com.danilojbs.couponapi.importer;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Estado e progresso de uma importação.
+ * Os contadores são atualizados pelas etapas do pipeline a cada bloco e podem ser lidos a qualquer momento.
+ */
+@Getter
+public class ImportJob {
+
+    public enum State { QUEUED, RUNNING, COMPLETED, FAILED }
+
+    private final String id;
+    private final ImportFormat format;
+    private final Path file;
+    private final Path rejectionFile;
+    private final long totalBytes;
+    private final Instant createdAt = Instant.now();
+
+    private volatile State state = State.QUEUED;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String error;
+
+    // bytesRead: posição de leitura no arquivo; rowsRead: registros lidos (inclusive os ainda não gravados)
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong bytesRead = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsRead = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsCreated = new AtomicLong();
+    @Getter(AccessLevel.NONE)
+    private final AtomicLong rowsRejected = new AtomicLong();
+
+    ImportJob(String id, ImportFormat format, Path file, Path rejectionFile, long totalBytes) {
+        this.id = id;
+        this.format = format;
+        this.file = file;
+        this.rejectionFile = rejectionFile;
+        this.totalBytes = totalBytes;
+    }
+
+    public long getBytesRead() {
+        return bytesRead.get();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.get();
+    }
+
+    public long getRowsCreated() {
+        return rowsCreated.get();
+    }
+
+    public long getRowsRejected() {
+        return rowsRejected.get();
+    }
+
+    public boolean isFinished() {
+        return state == State.COMPLETED || state == State.FAILED;
+    }
+
+    void started() {
+        startedAt = Instant.now();
+        state = State.RUNNING;
+    }
+
+    void read(long rows, long bytes) {
+        rowsRead.set(rows);
+        bytesRead.set(bytes);
+    }
+
+    void written(long created, long rejected) {
+        rowsCreated.addAndGet(created);
+        rowsRejected.addAndGet(rejected);
+    }
+
+    void completed() {
+        finishedAt = Instant.now();
+        state = State.COMPLETED;
+    }
+
+    void failed(String message) {
+        error = message;
+        finishedAt = Instant.now();
+        state = State.FAILED;
+    }
+}
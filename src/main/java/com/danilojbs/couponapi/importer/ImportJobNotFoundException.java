@@ -0,0 +1,9 @@
+package com.danilojbs.couponapi.importer;
+
+// Exception responsável para erro de importação não encontrada (inexistente ou já descartada)
+public class ImportJobNotFoundException extends RuntimeException {
+
+    public ImportJobNotFoundException(String id) {
+        super("Import not found with id: " + id, null, false, false); // Stackless
+    }
+}
@@ -0,0 +1,17 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+
+/**
+ * Registro lido do arquivo: o cupom convertido ou o erro de leitura da linha (JSON inválido, campo em formato inválido).
+ */
+record ImportRecord(CreateCouponRequestDTO request, String error) {
+
+    static ImportRecord of(CreateCouponRequestDTO request) {
+        return new ImportRecord(request, null);
+    }
+
+    static ImportRecord invalid(String error) {
+        return new ImportRecord(null, error);
+    }
+}
@@ -0,0 +1,8 @@
+package com.danilojbs.couponapi.importer;
+
+/**
+ * Linha do arquivo de rejeições (NDJSON) de uma importação.
+ * row: posição do registro no arquivo (base 1, sem contar o cabeçalho do CSV e as linhas em branco).
+ */
+public record ImportRejection(long row, String code, String error) {
+}
@@ -0,0 +1,11 @@
+package com.danilojbs.couponapi.importer;
+
+import org.springframework.util.unit.DataSize;
+
+// Exception responsável para erro de arquivo de importação acima do limite (coupon.import.max-size)
+public class ImportTooLargeException extends RuntimeException {
+
+    public ImportTooLargeException(DataSize maxSize) {
+        super("Import file exceeds the maximum size of " + maxSize.toBytes() + " bytes.", null, false, false); // Stackless
+    }
+}
@@ -0,0 +1,45 @@
+package com.danilojbs.couponapi.importer;
+
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.ObjectReader;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * Leitor NDJSON: um cupom (mesmo formato da criação individual) por linha; linhas em branco são ignoradas.
+ * Cada linha é convertida isoladamente, então um JSON inválido rejeita apenas a própria linha.
+ */
+class NdjsonCouponRecordReader implements CouponRecordReader {
+
+    private final BufferedReader reader;
+    private final ObjectReader objectReader;
+
+    // objectReader: leitor já configurado para CreateCouponRequestDTO
+    NdjsonCouponRecordReader(BufferedReader reader, ObjectReader objectReader) {
+        this.reader = reader;
+        this.objectReader = objectReader;
+    }
+
+    @Override
+    public ImportRecord next() throws IOException {
+        String line;
+        do {
+            line = reader.readLine();
+            if (line == null) {
+                return null;
+            }
+        } while (line.isBlank());
+
+        try {
+            return ImportRecord.of(objectReader.readValue(line));
+        } catch (JacksonException ex) {
+            return ImportRecord.invalid("Malformed JSON: " + ex.getOriginalMessage());
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+}
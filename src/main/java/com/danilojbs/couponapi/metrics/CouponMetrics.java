@@ -0,0 +1,114 @@
+package com.danilojbs.couponapi.metrics;
+
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
+import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Métricas de negócio da API (Micrometer).
+ * Os timers são registrados uma única vez na inicialização: no caminho quente a gravação é apenas
+ * um incremento sem bloqueio, sem busca de medidor por nome/tags a cada chamada.
+ * Cada timer também serve de contador por resultado (série "_count" no Prometheus).
+ */
+@Component
+public class CouponMetrics {
+
+    public enum Operation { CREATE, DELETE, PUBLISH, UNPUBLISH, REDEEM }
+
+    public enum Outcome { SUCCESS, NOT_FOUND, REJECTED, CONFLICT, ERROR }
+
+    private final MeterRegistry registry;
+    private final Map<Operation, Map<Outcome, Timer>> timers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Counter> conflictRetries = new EnumMap<>(Operation.class);
+    private final Map<ExceptionKey, Counter> exceptionCounters = new ConcurrentHashMap<>();
+
+    private record ExceptionKey(Class<?> type, int status) {
+    }
+
+    public CouponMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        for (Operation operation : Operation.values()) {
+            Map<Outcome, Timer> byOutcome = new EnumMap<>(Outcome.class);
+            for (Outcome outcome : Outcome.values()) {
+                byOutcome.put(outcome, Timer.builder("coupon.operations")
+                        .description("Duração das operações de cupom por resultado")
+                        .tag("operation", operation.name().toLowerCase())
+                        .tag("outcome", outcome.name().toLowerCase())
+                        .publishPercentileHistogram() // Percentis calculados no Prometheus (buckets), sem custo no processo
+                        .register(registry));
+            }
+            timers.put(operation, byOutcome);
+            conflictRetries.put(operation, Counter.builder("coupon.operations.conflict.retries")
+                    .description("Novas tentativas após conflito de versão (concorrência otimista)")
+                    .tag("operation", operation.name().toLowerCase())
+                    .register(registry));
+        }
+    }
+
+    /**
+     * Executa a operação medindo sua duração.
+     * O resultado é classificado pela exceção lançada (se houver), que é propagada sem alteração.
+     */
+    public <T> T record(Operation operation, Supplier<T> action) {
+        long start = System.nanoTime();
+        Outcome outcome = Outcome.ERROR;
+        try {
+            T result = action.get();
+            outcome = Outcome.SUCCESS;
+            return result;
+        } catch (RuntimeException ex) {
+            outcome = outcomeOf(ex);
+            throw ex;
+        } finally {
+            timers.get(operation).get(outcome).record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    public void record(Operation operation, Runnable action) {
+        record(operation, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    public void conflictRetried(Operation operation) {
+        conflictRetries.get(operation).increment();
+    }
+
+    /*
+     * Contador de exceções tratadas pelo GlobalExceptionHandler.
+     * Registrado na primeira ocorrência de cada tipo/status e reutilizado: sob tráfego abusivo (muitos 4xx)
+     * o caminho de erro também é quente, e a busca por tags custaria alocações a cada resposta.
+     */
+    public void exceptionHandled(Exception ex, int status) {
+        exceptionCounters.computeIfAbsent(new ExceptionKey(ex.getClass(), status), key -> Counter.builder("coupon.api.exceptions")
+                        .description("Exceções convertidas em respostas de erro")
+                        .tag("exception", key.type().getSimpleName())
+                        .tag("status", String.valueOf(key.status()))
+                        .register(registry))
+                .increment();
+    }
+
+    private Outcome outcomeOf(RuntimeException ex) {
+        if (ex instanceof CouponNotFoundException) {
+            return Outcome.NOT_FOUND;
+        }
+        if (ex instanceof CouponBusinessException) {
+            return Outcome.REJECTED;
+        }
+        if (ex instanceof CouponConflictException) {
+            return Outcome.CONFLICT;
+        }
+        return Outcome.ERROR;
+    }
+}
@@ -0,0 +1,35 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+
+import java.time.Instant;
+
+/**
+ * Evento do ciclo de vida de um cupom, entregue aos consumidores pelo CouponOutboxRelay.
+ * sequence: id da linha no outbox (crescente); a entrega é "pelo menos uma vez", e o consumidor pode usá-lo para descartar repetições.
+ * coupon: estado do cupom no momento do evento (nulo em exclusões e alterações de publicação).
+ */
+public record CouponEvent(
+        long sequence,
+        CouponEventType type,
+        String couponId,
+        String code,
+        Instant occurredAt,
+        CouponResponseDTO coupon
+) {
+
+    // Eventos ainda não gravados: a sequência é atribuída pelo banco
+    public static CouponEvent created(CouponResponseDTO coupon) {
+        return new CouponEvent(0, CouponEventType.CREATED, coupon.id(), coupon.code(), Instant.now(), coupon);
+    }
+
+    public static CouponEvent deleted(String couponId, String code) {
+        return new CouponEvent(0, CouponEventType.DELETED, couponId, code, Instant.now(), null);
+    }
+
+    // Publicação alterada por UPDATE em conjunto: o estado completo não é lido, apenas id e código
+    public static CouponEvent publicationChanged(String couponId, String code, boolean published) {
+        return new CouponEvent(0, published ? CouponEventType.PUBLISHED : CouponEventType.UNPUBLISHED, couponId, code,
+                Instant.now(), null);
+    }
+}
@@ -0,0 +1,18 @@
+package com.danilojbs.couponapi.outbox;
+
+import java.util.List;
+
+/**
+ * Destino dos eventos publicados pelo CouponOutboxRelay (implementação escolhida por coupon.outbox.sink).
+ * Entrega "pelo menos uma vez": eventos não confirmados são reenviados na execução seguinte,
+ * portanto o mesmo evento (mesma sequence) pode ser recebido mais de uma vez.
+ */
+public interface CouponEventSink {
+
+    /**
+     * Publica os eventos na ordem recebida e retorna quantos foram aceitos (sempre os primeiros da lista).
+     * Aceitar menos que o total sinaliza contrapressão: o relay interrompe a execução e reenvia o restante depois.
+     * Uma exceção indica que nenhum evento do lote foi confirmado.
+     */
+    int publish(List<CouponEvent> events) throws Exception;
+}
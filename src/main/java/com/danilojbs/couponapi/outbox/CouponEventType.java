@@ -0,0 +1,9 @@
+package com.danilojbs.couponapi.outbox;
+
+// Tipos de evento do ciclo de vida de um cupom
+public enum CouponEventType {
+    CREATED,
+    DELETED,
+    PUBLISHED,
+    UNPUBLISHED
+}
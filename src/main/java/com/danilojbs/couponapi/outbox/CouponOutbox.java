@@ -0,0 +1,95 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import tools.jackson.databind.ObjectMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Outbox transacional (tabela coupon_outbox).
+ * Os eventos são gravados na mesma transação da alteração do cupom: ou ambos são confirmados, ou nenhum.
+ * A publicação acontece depois, de forma assíncrona, pelo CouponOutboxRelay.
+ */
+@Component
+@RequiredArgsConstructor
+public class CouponOutbox {
+
+    private final JdbcTemplate jdbcTemplate;
+    private final NamedParameterJdbcTemplate namedJdbcTemplate;
+    private final ObjectMapper objectMapper;
+
+    // MANDATORY: falha se chamado fora de uma transação (o evento nunca é gravado separado da alteração)
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(List<CouponEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate("""
+                        insert into coupon_outbox (event_type, coupon_id, code, payload, occurred_at)
+                        values (?, ?, ?, ?, ?)
+                        """,
+                events, events.size(), (statement, event) -> {
+                    statement.setString(1, event.type().name());
+                    statement.setObject(2, UUID.fromString(event.couponId()));
+                    statement.setString(3, event.code());
+                    statement.setString(4, event.coupon() == null ? null : objectMapper.writeValueAsString(event.coupon()));
+                    statement.setObject(5, event.occurredAt().atOffset(ZoneOffset.UTC));
+                });
+    }
+
+    /*
+     * Bloqueia os eventos mais antigos ainda não publicados.
+     * SKIP LOCKED: eventos já bloqueados por outra instância do relay são ignorados.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public List<CouponEvent> lockOldest(int limit) {
+        return jdbcTemplate.query("""
+                        select id, event_type, coupon_id, code, payload, occurred_at from coupon_outbox
+                        order by id fetch first ? rows only for update skip locked
+                        """,
+                this::toEvent, limit);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void remove(Collection<Long> sequences) {
+        if (!sequences.isEmpty()) {
+            namedJdbcTemplate.update("delete from coupon_outbox where id in (:ids)",
+                    new MapSqlParameterSource("ids", sequences));
+        }
+    }
+
+    public long pending() {
+        Long count = jdbcTemplate.queryForObject("select count(*) from coupon_outbox", Long.class);
+        return count != null ? count : 0;
+    }
+
+    // Instante do evento pendente mais antigo (base do cálculo de atraso/lag)
+    public OffsetDateTime oldestPending() {
+        return jdbcTemplate.queryForObject("select min(occurred_at) from coupon_outbox", OffsetDateTime.class);
+    }
+
+    private CouponEvent toEvent(ResultSet row, int rowNum) throws SQLException {
+        String payload = row.getString("payload");
+        return new CouponEvent(
+                row.getLong("id"),
+                CouponEventType.valueOf(row.getString("event_type")),
+                row.getObject("coupon_id", UUID.class).toString(),
+                row.getString("code"),
+                row.getObject("occurred_at", OffsetDateTime.class).toInstant(),
+                payload == null ? null : objectMapper.readValue(payload, CouponResponseDTO.class)
+        );
+    }
+}
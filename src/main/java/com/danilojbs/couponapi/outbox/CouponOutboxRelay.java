@@ -0,0 +1,126 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.config.OutboxProperties;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Relay do outbox: publica os eventos gravados em coupon_outbox no destino configurado (CouponEventSink).
+ * Cada lote é uma transação: bloqueia os eventos mais antigos (SKIP LOCKED), publica e remove os aceitos.
+ * Se a publicação ou o commit falharem, os eventos permanecem no outbox e são reenviados (entrega "pelo menos uma vez").
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class CouponOutboxRelay {
+
+    private final CouponOutbox outbox;
+    private final CouponEventSink sink;
+    private final TransactionTemplate transactionTemplate;
+    private final OutboxProperties properties;
+
+    // Estatísticas de entrega (expostas como métricas)
+    private final AtomicLong totalPublished = new AtomicLong();
+    private final AtomicLong failedBatches = new AtomicLong();
+    private final AtomicLong redeliveries = new AtomicLong();
+    private final AtomicLong backpressureStalls = new AtomicLong();
+    private final AtomicLong pending = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${coupon.outbox.interval:1s}", initialDelayString = "${coupon.outbox.interval:1s}")
+    public void scheduledRelay() {
+        if (properties.enabled()) {
+            relay();
+        }
+    }
+
+    /**
+     * Fluxo do Relay:
+     * 1 - Publica lotes de "coupon.outbox.batch-size" eventos até esvaziar o outbox (ou atingir o limite de lotes).
+     * 2 - Interrompe a execução quando o destino aceita menos eventos que o lote (contrapressão) ou falha.
+     * 3 - Ao final, atualiza a quantidade pendente e o atraso (lag) do evento mais antigo.
+     */
+    public int relay() {
+        int total = 0;
+        for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+            int published = relayBatch();
+            total += published;
+            if (published < properties.batchSize()) {
+                break;
+            }
+        }
+
+        pending.set(outbox.pending());
+        OffsetDateTime oldest = outbox.oldestPending();
+        lagSeconds.set(oldest == null ? 0 : Math.max(Duration.between(oldest.toInstant(), Instant.now()).toSeconds(), 0));
+        return total;
+    }
+
+    private int relayBatch() {
+        AtomicInteger sent = new AtomicInteger(); // Eventos entregues ao destino nesta transação
+        try {
+            Integer published = transactionTemplate.execute(tx -> {
+                List<CouponEvent> events = outbox.lockOldest(properties.batchSize());
+                if (events.isEmpty()) {
+                    return 0;
+                }
+                sent.set(events.size());
+                int accepted;
+                try {
+                    accepted = Math.max(0, Math.min(sink.publish(events), events.size()));
+                } catch (Exception ex) {
+                    throw new IllegalStateException("Coupon event sink failed", ex);
+                }
+                sent.set(accepted);
+                if (accepted < events.size()) {
+                    backpressureStalls.incrementAndGet();
+                }
+                outbox.remove(events.subList(0, accepted).stream().map(CouponEvent::sequence).toList());
+                return accepted;
+            });
+            int count = published != null ? published : 0;
+            totalPublished.addAndGet(count);
+            return count;
+        } catch (RuntimeException ex) {
+            // Rollback: os eventos enviados voltam a ficar pendentes e serão reenviados na próxima execução
+            failedBatches.incrementAndGet();
+            redeliveries.addAndGet(sent.get());
+            log.warn("Coupon event batch not confirmed ({} events will be redelivered)", sent.get(), ex);
+            return 0;
+        }
+    }
+
+    public long getTotalPublished() {
+        return totalPublished.get();
+    }
+
+    public long getFailedBatches() {
+        return failedBatches.get();
+    }
+
+    public long getRedeliveries() {
+        return redeliveries.get();
+    }
+
+    public long getBackpressureStalls() {
+        return backpressureStalls.get();
+    }
+
+    public long getPending() {
+        return pending.get();
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds.get();
+    }
+}
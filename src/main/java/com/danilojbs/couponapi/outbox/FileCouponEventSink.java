@@ -0,0 +1,48 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Acrescenta os eventos a um arquivo NDJSON (um evento por linha).
+ * O lote é gravado com uma única escrita e forçado ao disco (force) antes de ser confirmado no outbox.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.outbox", name = "sink", havingValue = "file")
+public class FileCouponEventSink implements CouponEventSink {
+
+    private final ObjectMapper objectMapper;
+    private final Path file;
+
+    public FileCouponEventSink(ObjectMapper objectMapper, OutboxProperties properties) {
+        this.objectMapper = objectMapper;
+        this.file = Path.of(properties.file());
+    }
+
+    @Override
+    public int publish(List<CouponEvent> events) throws IOException {
+        StringBuilder lines = new StringBuilder(events.size() * 256);
+        for (CouponEvent event : events) {
+            lines.append(objectMapper.writeValueAsString(event)).append('\n');
+        }
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.APPEND)) {
+            ByteBuffer buffer = StandardCharsets.UTF_8.encode(lines.toString());
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        return events.size();
+    }
+}
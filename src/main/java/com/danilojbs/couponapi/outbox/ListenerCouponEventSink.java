@@ -0,0 +1,26 @@
+package com.danilojbs.couponapi.outbox;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publica cada evento como evento Spring no próprio processo (@EventListener de CouponEvent).
+ * Os listeners executam de forma síncrona: uma exceção em um listener devolve o lote ao outbox.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "coupon.outbox", name = "sink", havingValue = "listener", matchIfMissing = true)
+public class ListenerCouponEventSink implements CouponEventSink {
+
+    private final ApplicationEventPublisher publisher;
+
+    @Override
+    public int publish(List<CouponEvent> events) {
+        events.forEach(publisher::publishEvent);
+        return events.size();
+    }
+}
@@ -0,0 +1,48 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fila limitada em memória, substituta local de um broker de mensagens.
+ * Os consumidores retiram os eventos com poll(); quando a fila enche, publish aceita apenas os eventos que couberem
+ * e o relay aguarda a próxima execução (contrapressão), mantendo o restante no outbox em vez de acumular em memória.
+ */
+@Component
+@ConditionalOnProperty(prefix = "coupon.outbox", name = "sink", havingValue = "queue")
+public class QueueCouponEventSink implements CouponEventSink {
+
+    private final BlockingQueue<CouponEvent> queue;
+
+    public QueueCouponEventSink(OutboxProperties properties) {
+        this.queue = new ArrayBlockingQueue<>(properties.queueCapacity());
+    }
+
+    @Override
+    public int publish(List<CouponEvent> events) {
+        int accepted = 0;
+        for (CouponEvent event : events) {
+            if (!queue.offer(event)) {
+                break;
+            }
+            accepted++;
+        }
+        return accepted;
+    }
+
+    // Retira o próximo evento, aguardando até o tempo informado (nulo se a fila continuar vazia)
+    public CouponEvent poll(Duration timeout) throws InterruptedException {
+        return queue.poll(timeout.toNanos(), TimeUnit.NANOSECONDS);
+    }
+
+    public int size() {
+        return queue.size();
+    }
+}
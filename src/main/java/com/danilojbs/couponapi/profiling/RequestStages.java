@@ -0,0 +1,77 @@
+package com.danilojbs.couponapi.profiling;
+
+import java.util.function.Supplier;
+
+/**
+ * Medição das etapas da requisição atual (controller → service → repository).
+ * A requisição é associada à thread pelo StageTimingInterceptor apenas quando amostrada; nas demais,
+ * start() devolve NOT_SAMPLED após uma leitura do ThreadLocal, e stop() retorna sem nenhum acesso.
+ *
+ * Uso:
+ *   Coupon coupon = RequestStages.time(Stage.DOMAIN, () -> new Coupon(...));
+ * ou, quando a etapa não cabe em um único trecho:
+ *   long start = RequestStages.start();
+ *   ...
+ *   RequestStages.stop(Stage.DOMAIN, start);
+ */
+public final class RequestStages {
+
+    public static final long NOT_SAMPLED = Long.MIN_VALUE;
+
+    private static final ThreadLocal<StageProfile> CURRENT = new ThreadLocal<>();
+
+    private RequestStages() {
+    }
+
+    public static long start() {
+        return CURRENT.get() == null ? NOT_SAMPLED : System.nanoTime();
+    }
+
+    public static void stop(Stage stage, long start) {
+        if (start == NOT_SAMPLED) {
+            return;
+        }
+        StageProfile profile = CURRENT.get();
+        if (profile != null) {
+            long now = System.nanoTime();
+            profile.add(stage, now - start, now);
+        }
+    }
+
+    // Executa a ação medida como a etapa informada
+    public static <T> T time(Stage stage, Supplier<T> action) {
+        long start = start();
+        T result = action.get();
+        stop(stage, start);
+        return result;
+    }
+
+    public static void time(Stage stage, Runnable action) {
+        long start = start();
+        action.run();
+        stop(stage, start);
+    }
+
+    // Etapa iniciada no fim da etapa anterior (ex: commit, executado pelo TransactionTemplate após o callback)
+    public static void stopSincePrevious(Stage stage) {
+        StageProfile profile = CURRENT.get();
+        if (profile != null) {
+            long now = System.nanoTime();
+            profile.add(stage, now - profile.lastStopNanos(), now);
+        }
+    }
+
+    static StageProfile current() {
+        return CURRENT.get();
+    }
+
+    static void begin(String route) {
+        CURRENT.set(new StageProfile(route, System.nanoTime()));
+    }
+
+    static StageProfile end() {
+        StageProfile profile = CURRENT.get();
+        CURRENT.remove();
+        return profile;
+    }
+}
@@ -0,0 +1,25 @@
+package com.danilojbs.couponapi.profiling;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+/**
+ * Etapas medidas nas requisições amostradas (nome usado no Server-Timing e no endpoint /actuator/stagetimings).
+ */
+@Getter
+@AllArgsConstructor
+public enum Stage {
+
+    READ("read", "Leitura e conversão do corpo JSON"),
+    VALIDATION("validation", "Bean Validation do DTO"),
+    DOMAIN("domain", "Criação da entidade (Coupon.validate)"),
+    PERSIST("persist", "save do repositório: geração do UUID v7 e registro no contexto de persistência (sem SQL)"),
+    FLUSH("flush", "Flush do Hibernate (INSERT do cupom)"),
+    OUTBOX("outbox", "Gravação do evento no outbox"),
+    COMMIT("commit", "Commit da transação"),
+    WRITE("write", "Escrita da resposta"),
+    TOTAL("total", "Duração total da requisição");
+
+    private final String metricName;
+    private final String description;
+}
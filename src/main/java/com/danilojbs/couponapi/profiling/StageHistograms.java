@@ -0,0 +1,105 @@
+package com.danilojbs.couponapi.profiling;
+
+import com.danilojbs.couponapi.config.ProfilingProperties;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+import org.springframework.stereotype.Component;
+
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Histogramas (HdrHistogram) das durações por rota e etapa, acumulados desde o início da aplicação (ou do último reset).
+ * A gravação usa um Recorder por etapa: sem bloqueio entre as requisições e sem disputa com a leitura,
+ * que troca o histograma ativo e soma o intervalo ao acumulado (apenas na consulta ao endpoint).
+ * Os histogramas crescem conforme os valores gravados (sem limite de duração configurado).
+ */
+@Component
+public class StageHistograms {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final int significantDigits;
+    private final Map<String, Map<Stage, Entry>> routes = new ConcurrentHashMap<>();
+
+    public StageHistograms(ProfilingProperties properties) {
+        this.significantDigits = properties.significantDigits();
+    }
+
+    public void record(StageProfile profile) {
+        Map<Stage, Entry> stages = routes.computeIfAbsent(profile.route(), route -> new ConcurrentHashMap<>());
+        for (Stage stage : STAGES) {
+            long duration = profile.duration(stage);
+            if (duration >= 0) {
+                stages.computeIfAbsent(stage, key -> new Entry(significantDigits)).recorder.recordValue(duration);
+            }
+        }
+    }
+
+    // Resumo por rota e etapa (na ordem das etapas da requisição)
+    public Map<String, Map<String, StageSummary>> snapshot() {
+        Map<String, Map<String, StageSummary>> snapshot = new TreeMap<>();
+        routes.forEach((route, stages) -> {
+            Map<Stage, StageSummary> ordered = new EnumMap<>(Stage.class);
+            stages.forEach((stage, entry) -> ordered.put(stage, entry.summary()));
+            Map<String, StageSummary> byName = new LinkedHashMap<>();
+            ordered.forEach((stage, summary) -> byName.put(stage.getMetricName(), summary));
+            snapshot.put(route, byName);
+        });
+        return snapshot;
+    }
+
+    public void reset() {
+        routes.clear();
+    }
+
+    /**
+     * Resumo de uma etapa, em milissegundos.
+     * histogram: histograma completo (formato comprimido do HdrHistogram, em Base64), para somar instâncias
+     * ou gerar a distribuição completa (Histogram.decodeFromCompressedByteBuffer).
+     */
+    public record StageSummary(long count, double mean, double p50, double p90, double p99, double p999, double max,
+                               String histogram) {
+
+        static StageSummary from(Histogram histogram) {
+            ByteBuffer buffer = ByteBuffer.allocate(histogram.getNeededByteBufferCapacity());
+            int length = histogram.encodeIntoCompressedByteBuffer(buffer);
+            return new StageSummary(
+                    histogram.getTotalCount(),
+                    millis(histogram.getMean()),
+                    millis(histogram.getValueAtPercentile(50)),
+                    millis(histogram.getValueAtPercentile(90)),
+                    millis(histogram.getValueAtPercentile(99)),
+                    millis(histogram.getValueAtPercentile(99.9)),
+                    millis(histogram.getMaxValue()),
+                    Base64.getEncoder().encodeToString(Arrays.copyOf(buffer.array(), length))
+            );
+        }
+
+        private static double millis(double nanos) {
+            return Math.round(nanos / 1_000.0) / 1_000.0;
+        }
+    }
+
+    private static final class Entry {
+
+        private final Recorder recorder;
+        private final Histogram accumulated;
+
+        private Entry(int significantDigits) {
+            this.recorder = new Recorder(significantDigits, true);
+            this.accumulated = new Histogram(significantDigits);
+        }
+
+        private synchronized StageSummary summary() {
+            accumulated.add(recorder.getIntervalHistogram());
+            return StageSummary.from(accumulated);
+        }
+    }
+}
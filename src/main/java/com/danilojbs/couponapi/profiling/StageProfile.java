@@ -0,0 +1,88 @@
+package com.danilojbs.couponapi.profiling;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * Durações das etapas de uma requisição amostrada (acessada apenas pela thread da requisição).
+ * Uma etapa executada mais de uma vez (ex: nova tentativa após conflito de código) acumula as durações.
+ */
+public final class StageProfile {
+
+    private static final Stage[] STAGES = Stage.values();
+
+    private final String route;
+    private final long startNanos;
+    private final long[] durations = new long[STAGES.length];
+    private long lastStopNanos;
+    private long readStartNanos;
+    private long writeStartNanos;
+    private boolean writing;
+
+    StageProfile(String route, long startNanos) {
+        this.route = route;
+        this.startNanos = startNanos;
+        this.lastStopNanos = startNanos;
+        Arrays.fill(durations, -1);
+    }
+
+    public String route() {
+        return route;
+    }
+
+    // Duração da etapa em nanossegundos (-1 = etapa não executada)
+    public long duration(Stage stage) {
+        return durations[stage.ordinal()];
+    }
+
+    void add(Stage stage, long nanos, long stopNanos) {
+        long current = durations[stage.ordinal()];
+        durations[stage.ordinal()] = current < 0 ? nanos : current + nanos;
+        lastStopNanos = stopNanos;
+    }
+
+    long lastStopNanos() {
+        return lastStopNanos;
+    }
+
+    void readStarted(long nanos) {
+        readStartNanos = nanos;
+    }
+
+    void readFinished(long nanos) {
+        add(Stage.READ, nanos - readStartNanos, nanos);
+    }
+
+    void writeStarted(long nanos) {
+        writeStartNanos = nanos;
+        writing = true;
+    }
+
+    // Encerra a medição: escrita da resposta (se houve corpo) e duração total
+    void finish(long nanos) {
+        if (writing) {
+            add(Stage.WRITE, nanos - writeStartNanos, nanos);
+        }
+        add(Stage.TOTAL, nanos - startNanos, nanos);
+    }
+
+    /*
+     * Valor do cabeçalho Server-Timing (durações em milissegundos), ex: "read;dur=0.041, flush;dur=0.812, total;dur=1.530".
+     * O cabeçalho é enviado antes do corpo: "total" vai até o início da escrita, e a etapa "write" fica apenas nos histogramas.
+     */
+    String serverTiming(long nanos) {
+        StringBuilder header = new StringBuilder(160);
+        for (Stage stage : STAGES) {
+            long duration = stage == Stage.TOTAL ? nanos - startNanos : durations[stage.ordinal()];
+            if (duration < 0 || stage == Stage.WRITE) {
+                continue;
+            }
+            if (!header.isEmpty()) {
+                header.append(", ");
+            }
+            header.append(stage.getMetricName()).append(";dur=")
+                    .append(String.format(Locale.ROOT, "%.3f", duration / 1_000_000.0));
+        }
+        return header.toString();
+    }
+}
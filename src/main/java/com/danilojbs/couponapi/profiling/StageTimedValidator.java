@@ -0,0 +1,45 @@
+package com.danilojbs.couponapi.profiling;
+
+import lombok.AllArgsConstructor;
+import org.springframework.validation.Errors;
+import org.springframework.validation.SmartValidator;
+
+/**
+ * Validador do Spring MVC (@Valid nos controllers) que mede a etapa "validation" das requisições amostradas.
+ * Delega ao validador padrão do Spring Boot (Bean Validation).
+ */
+@AllArgsConstructor
+public class StageTimedValidator implements SmartValidator {
+
+    private final SmartValidator delegate;
+
+    @Override
+    public boolean supports(Class<?> clazz) {
+        return delegate.supports(clazz);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors) {
+        long start = RequestStages.start();
+        delegate.validate(target, errors);
+        RequestStages.stop(Stage.VALIDATION, start);
+    }
+
+    @Override
+    public void validate(Object target, Errors errors, Object... validationHints) {
+        long start = RequestStages.start();
+        delegate.validate(target, errors, validationHints);
+        RequestStages.stop(Stage.VALIDATION, start);
+    }
+
+    @Override
+    public void validateValue(Class<?> targetType, String fieldName, Object value, Errors errors,
+                              Object... validationHints) {
+        delegate.validateValue(targetType, fieldName, value, errors, validationHints);
+    }
+
+    @Override
+    public <T> T unwrap(Class<T> type) {
+        return delegate.unwrap(type);
+    }
+}
@@ -0,0 +1,75 @@
+package com.danilojbs.couponapi.profiling;
+
+import com.danilojbs.couponapi.config.ProfilingProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.lang.reflect.Type;
+
+/**
+ * Mede a leitura do corpo (@RequestBody) e marca o início da escrita da resposta das requisições amostradas.
+ * O cabeçalho Server-Timing é adicionado aqui, antes da escrita do corpo (depois o cabeçalho já foi enviado).
+ * Respostas sem corpo (ex: 204) não recebem o cabeçalho, mas entram nos histogramas.
+ */
+@ControllerAdvice
+@AllArgsConstructor
+public class StageTimingBodyAdvice extends RequestBodyAdviceAdapter implements ResponseBodyAdvice<Object> {
+
+    public static final String SERVER_TIMING_HEADER = "Server-Timing";
+
+    private final ProfilingProperties properties;
+
+    @Override
+    public boolean supports(MethodParameter methodParameter, Type targetType,
+                            Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public HttpInputMessage beforeBodyRead(HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                           Class<? extends HttpMessageConverter<?>> converterType) {
+        StageProfile profile = RequestStages.current();
+        if (profile != null) {
+            profile.readStarted(System.nanoTime());
+        }
+        return inputMessage;
+    }
+
+    @Override
+    public Object afterBodyRead(Object body, HttpInputMessage inputMessage, MethodParameter parameter, Type targetType,
+                                Class<? extends HttpMessageConverter<?>> converterType) {
+        StageProfile profile = RequestStages.current();
+        if (profile != null) {
+            profile.readFinished(System.nanoTime());
+        }
+        return body;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        StageProfile profile = RequestStages.current();
+        if (profile != null) {
+            long now = System.nanoTime();
+            if (properties.serverTiming()) {
+                response.getHeaders().add(SERVER_TIMING_HEADER, profile.serverTiming(now));
+            }
+            profile.writeStarted(now);
+        }
+        return body;
+    }
+}
@@ -0,0 +1,47 @@
+package com.danilojbs.couponapi.profiling;
+
+import com.danilojbs.couponapi.config.ProfilingProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Sorteia as requisições medidas (coupon.profiling.sample-rate) e grava suas etapas nos histogramas ao final.
+ * A rota (método + padrão do endpoint, ex: "POST /api/coupons") agrupa os histogramas sem depender dos valores da URL.
+ * Requisições assíncronas (exportação em stream) não são medidas: a escrita acontece em outra thread.
+ */
+@Component
+@AllArgsConstructor
+public class StageTimingInterceptor implements AsyncHandlerInterceptor {
+
+    private final ProfilingProperties properties;
+    private final StageHistograms histograms;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod && ThreadLocalRandom.current().nextDouble() < properties.sampleRate()) {
+            RequestStages.begin(request.getMethod() + " " + request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE));
+        }
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestStages.end();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        StageProfile profile = RequestStages.end();
+        if (profile != null) {
+            profile.finish(System.nanoTime());
+            histograms.record(profile);
+        }
+    }
+}
@@ -0,0 +1,37 @@
+package com.danilojbs.couponapi.profiling;
+
+import com.danilojbs.couponapi.config.ProfilingProperties;
+import com.danilojbs.couponapi.profiling.StageHistograms.StageSummary;
+import lombok.AllArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Endpoint administrativo /actuator/stagetimings: percentis por rota e etapa das requisições amostradas.
+ * GET consulta os histogramas acumulados; DELETE os zera (ex: antes de um teste de carga).
+ */
+@Component
+@Endpoint(id = "stagetimings")
+@AllArgsConstructor
+public class StageTimingsEndpoint {
+
+    private final ProfilingProperties properties;
+    private final StageHistograms histograms;
+
+    @ReadOperation
+    public StageTimingsReport report() {
+        return new StageTimingsReport(properties.enabled(), properties.sampleRate(), histograms.snapshot());
+    }
+
+    @DeleteOperation
+    public void reset() {
+        histograms.reset();
+    }
+
+    public record StageTimingsReport(boolean enabled, double sampleRate, Map<String, Map<String, StageSummary>> routes) {
+    }
+}
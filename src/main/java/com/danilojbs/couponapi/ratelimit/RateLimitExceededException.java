@@ -0,0 +1,17 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import lombok.Getter;
+
+// Exception responsável pela recusa por limite de requisições do cliente (429); retryAfterSeconds vai no cabeçalho Retry-After
+@Getter
+public class RateLimitExceededException extends RuntimeException {
+
+    private final String limit;
+    private final long retryAfterSeconds;
+
+    public RateLimitExceededException(String limit, long retryAfterSeconds) {
+        super("Rate limit exceeded, retry after " + retryAfterSeconds + "s.", null, false, false); // Stackless
+        this.limit = limit;
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
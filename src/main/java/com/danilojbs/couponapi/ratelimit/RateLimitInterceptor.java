@@ -0,0 +1,39 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import com.danilojbs.couponapi.config.RateLimitProperties;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+/**
+ * Aplica o limite dos endpoints anotados com @RateLimited antes da execução do controller.
+ * O cliente é identificado pelo cabeçalho configurado (ex: X-Api-Key) quando a chave está em coupon.rate-limit.api-keys;
+ * sem o cabeçalho ou com uma chave desconhecida, pelo IP de origem.
+ * A recusa é lançada como RateLimitExceededException e respondida pelo GlobalExceptionHandler (429).
+ */
+@Component
+@AllArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+
+    private final TokenBucketRateLimiter limiter;
+    private final RateLimitProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (handler instanceof HandlerMethod method) {
+            RateLimited rateLimited = method.getMethodAnnotation(RateLimited.class);
+            if (rateLimited != null) {
+                limiter.acquire(rateLimited.value(), clientOf(request));
+            }
+        }
+        return true;
+    }
+
+    private String clientOf(HttpServletRequest request) {
+        String apiKey = request.getHeader(properties.clientHeader());
+        return apiKey != null && properties.apiKeys().contains(apiKey) ? apiKey : request.getRemoteAddr();
+    }
+}
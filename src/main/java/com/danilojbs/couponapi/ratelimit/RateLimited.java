@@ -0,0 +1,17 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marca um endpoint como limitado por cliente (RateLimitInterceptor).
+ * value: nome do limite em coupon.rate-limit.limits.<nome>; endpoints com o mesmo nome compartilham o limite.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RateLimited {
+
+    String value();
+}
@@ -0,0 +1,100 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import com.danilojbs.couponapi.config.RateLimitProperties;
+import com.danilojbs.couponapi.config.RateLimitProperties.Limit;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Limite de requisições por cliente e por endpoint (token bucket), em memória e sem bloqueio.
+ * Cada balde é um único AtomicLong com o instante teórico em que ele estará cheio de novo (GCRA):
+ * a requisição avança esse instante em 1/taxa e é aceita enquanto o avanço couber na rajada (capacity).
+ * A atualização é um compareAndSet, sem lock nem tarefa de reposição de fichas.
+ * Baldes parados além do tempo de reposição completa são descartados (um balde ausente equivale a um balde cheio).
+ */
+@Component
+public class TokenBucketRateLimiter {
+
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final Map<String, Bucket> buckets = new HashMap<>();
+    private final LongSupplier clock;
+
+    /**
+     * intervalNanos: custo de uma requisição (1/taxa).
+     * burstNanos: rajada máxima em tempo (capacity * intervalNanos).
+     */
+    private record Bucket(long intervalNanos, long burstNanos, Cache<String, AtomicLong> clients, Counter rejected) {
+    }
+
+    @Autowired
+    public TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry registry) {
+        this(properties, registry, System::nanoTime);
+    }
+
+    TokenBucketRateLimiter(RateLimitProperties properties, MeterRegistry registry, LongSupplier clock) {
+        this.clock = clock;
+        properties.limits().forEach((name, limit) -> buckets.put(name, bucket(name, limit, properties.maxClients(), registry)));
+    }
+
+    /**
+     * Consome uma ficha do cliente no limite informado.
+     * Retorna 0 quando a requisição é aceita, ou quantos nanos faltam para a próxima ficha.
+     * Limites não configurados não restringem.
+     */
+    public long tryAcquire(String limit, String client) {
+        Bucket bucket = buckets.get(limit);
+        if (bucket == null) {
+            return 0;
+        }
+        AtomicLong theoreticalArrival = bucket.clients().get(client, key -> new AtomicLong(Long.MIN_VALUE));
+        long now = clock.getAsLong();
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + bucket.intervalNanos();
+            long wait = next - bucket.burstNanos() - now;
+            if (wait > 0) {
+                bucket.rejected().increment();
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    // Mesmo que tryAcquire, lançando a exceção (429) com o Retry-After em segundos arredondado para cima
+    public void acquire(String limit, String client) {
+        long wait = tryAcquire(limit, client);
+        if (wait > 0) {
+            throw new RateLimitExceededException(limit, (wait + NANOS_PER_SECOND - 1) / NANOS_PER_SECOND);
+        }
+    }
+
+    private static Bucket bucket(String name, Limit limit, long maxClients, MeterRegistry registry) {
+        if (limit.capacity() < 1 || limit.refillPerSecond() <= 0) {
+            throw new IllegalArgumentException("Invalid rate limit '" + name + "': capacity must be >= 1 and refill-per-second > 0.");
+        }
+        long interval = Math.max(1, Math.round(NANOS_PER_SECOND / limit.refillPerSecond()));
+        long burst = Math.multiplyExact(limit.capacity(), interval);
+        return new Bucket(interval, burst,
+                Caffeine.newBuilder()
+                        .maximumSize(maxClients)
+                        .expireAfterAccess(burst, TimeUnit.NANOSECONDS)
+                        .build(),
+                Counter.builder("coupon.rate.limit.rejected")
+                        .description("Requisições recusadas pelo limite por cliente (429)")
+                        .tag("limit", name)
+                        .register(registry));
+    }
+}
@@ -1,10 +1,199 @@
 package com.danilojbs.couponapi.repository;
 
 import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.stream.Stream;
 
 // Interface responsável pela comunicação com o Banco de Dados.
 @Repository
-public interface CouponRepository extends JpaRepository<Coupon, String> {
+public interface CouponRepository extends JpaRepository<Coupon, UUID> {
+
+    /*
+     * Cursor inicial da paginação por id (menor UUID possível).
+     * O predicado "c.id > :after" nunca recebe nulo: na forma "(:after is null or ...)" o banco
+     * não consegue usar o cursor como início do intervalo no índice e relê a tabela desde o começo.
+     */
+    UUID FIRST_PAGE = new UUID(0L, 0L);
+
+    // Projeção direta no DTO de resposta (sem hidratar a entidade)
+    String PROJECTION = """
+            select new com.danilojbs.couponapi.dto.CouponResponseDTO(
+                c.id, c.code, c.description, c.discountValue, c.expirationDate, c.published)
+            from Coupon c
+            """;
+
+    // Filtros opcionais, aplicados sobre as linhas do intervalo percorrido no índice
+    String OPTIONAL_FILTERS = """
+              and (:published is null or c.published = :published)
+              and (:expiresFrom is null or c.expirationDate >= :expiresFrom)
+              and (:expiresTo is null or c.expirationDate < :expiresTo)
+            """;
+
+    // Sem filtro de status: intervalo da chave primária a partir do cursor
+    String PAGE = PROJECTION + " where c.id > :after" + OPTIONAL_FILTERS + " order by c.id";
+
+    /*
+     * Com filtro de status: intervalo do índice (status, id).
+     * Com status fixo, "order by c.status, c.id" equivale a ordenar por id, mas explicita ao banco que a ordem
+     * do índice já atende à consulta (sem ordenar todas as linhas do status antes de aplicar o limite).
+     */
+    String PAGE_BY_STATUS = PROJECTION + " where c.status = :status and c.id > :after" + OPTIONAL_FILTERS
+            + " order by c.status, c.id";
+
+    // Somente leitura: fora de uma transação de escrita (consulta por código), pode ser atendida pela réplica de leitura
+    @Transactional(readOnly = true)
+    Optional<Coupon> findByCode(String code);
+
+    /*
+     * Reserva o próximo bloco da geração de códigos (CouponCodeGenerator).
+     * Transação de escrita: bancos como o PostgreSQL não permitem avançar sequences em transações somente leitura.
+     */
+    @Transactional
+    @Query(value = "select next value for coupon_code_block_seq", nativeQuery = true)
+    long nextCodeBlock();
+
+    // Retorna apenas os códigos já cadastrados (uma consulta por lote, sem carregar as entidades)
+    @Query("select c.code from Coupon c where c.code in :codes")
+    List<String> findExistingCodes(@Param("codes") Collection<String> codes);
+
+    /*
+     * Resgate atômico: um único UPDATE condicional incrementa o contador somente se o cupom estiver
+     * ativo, dentro da validade e abaixo do limite. O lock de linha do banco serializa resgates
+     * concorrentes, impedindo que o limite seja ultrapassado. Retorna 1 (resgatado) ou 0 (recusado).
+     * A versão também é incrementada: uma gravação da entidade lida antes do resgate falha (e é repetida)
+     * em vez de sobrescrever o contador com o valor antigo.
+     */
+    @Modifying
+    @Query("""
+            update Coupon c set c.redemptionCount = c.redemptionCount + 1, c.version = c.version + 1
+            where c.code = :code
+              and c.status = :status
+              and c.expirationDate > :now
+              and (c.maxRedemptions is null or c.redemptionCount < c.maxRedemptions)
+            """)
+    int redeem(@Param("code") String code, @Param("status") CouponStatus status, @Param("now") Instant now);
+
+    /*
+     * Paginação por cursor (keyset): a página seguinte começa após o último id retornado,
+     * evitando o custo crescente de OFFSET em tabelas grandes.
+     */
+    @Query(PAGE)
+    List<CouponResponseDTO> findPage(@Param("published") Boolean published,
+                                     @Param("expiresFrom") Instant expiresFrom,
+                                     @Param("expiresTo") Instant expiresTo,
+                                     @Param("after") UUID after,
+                                     Limit limit);
+
+    @Query(PAGE_BY_STATUS)
+    List<CouponResponseDTO> findPageByStatus(@Param("status") CouponStatus status,
+                                             @Param("published") Boolean published,
+                                             @Param("expiresFrom") Instant expiresFrom,
+                                             @Param("expiresTo") Instant expiresTo,
+                                             @Param("after") UUID after,
+                                             Limit limit);
+
+    // Leitura em stream (cursor JDBC com fetch size) para exportações sem carregar o resultado inteiro
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PAGE)
+    Stream<CouponResponseDTO> streamAll(@Param("published") Boolean published,
+                                        @Param("expiresFrom") Instant expiresFrom,
+                                        @Param("expiresTo") Instant expiresTo,
+                                        @Param("after") UUID after);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+    @Query(PAGE_BY_STATUS)
+    Stream<CouponResponseDTO> streamAllByStatus(@Param("status") CouponStatus status,
+                                                @Param("published") Boolean published,
+                                                @Param("expiresFrom") Instant expiresFrom,
+                                                @Param("expiresTo") Instant expiresTo,
+                                                @Param("after") UUID after);
+
+    /*
+     * Seleciona e bloqueia um lote de cupons vencidos de um status (índice status + expiration_date).
+     * SKIP LOCKED: linhas já bloqueadas por outro nó são ignoradas, permitindo vários nós em paralelo.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2")) // -2: SKIP LOCKED
+    @Query("""
+            select c.id from Coupon c
+            where c.status = :status and c.expirationDate < :now
+            order by c.expirationDate
+            """)
+    List<UUID> lockExpiredBatch(@Param("status") CouponStatus status, @Param("now") Instant now, Limit limit);
+
+    // Atualização em conjunto (um único UPDATE por lote; a versão é incrementada como em uma gravação da entidade)
+    @Modifying
+    @Query("update Coupon c set c.status = :status, c.version = c.version + 1 where c.id in :ids")
+    int updateStatus(@Param("ids") Collection<UUID> ids, @Param("status") CouponStatus status);
+
+    /*
+     * Publicação/despublicação em conjunto: um único UPDATE, sem carregar as entidades.
+     * Só altera cupons com a publicação oposta e fora de um status final (excluídos e expirados não voltam
+     * a ACTIVE/INACTIVE); cupons que já estão no estado pedido não recebem uma nova versão.
+     * As condições de status/publicação não usam índice de propósito: o acesso é pela chave primária (ids).
+     */
+    @Modifying
+    @Query("""
+            update Coupon c set c.published = :published, c.status = :status, c.version = c.version + 1
+            where c.id in :ids and c.published <> :published and c.status not in :finalStatuses
+            """)
+    int updatePublication(@Param("ids") Collection<UUID> ids, @Param("published") boolean published,
+                          @Param("status") CouponStatus status, @Param("finalStatuses") Collection<CouponStatus> finalStatuses);
+
+    // Data de expiração mais antiga ainda pendente de processamento (base do cálculo de atraso/lag)
+    @Query("select min(c.expirationDate) from Coupon c where c.status in :statuses and c.expirationDate < :now")
+    Optional<Instant> findOldestPendingExpiration(@Param("statuses") Collection<CouponStatus> statuses,
+                                                  @Param("now") Instant now);
+
+    // Id, código e status dos cupons informados (ids inexistentes simplesmente não retornam)
+    @Query("select new com.danilojbs.couponapi.repository.CouponStatusView(c.id, c.code, c.status) from Coupon c where c.id in :ids")
+    List<CouponStatusView> findStatusByIds(@Param("ids") Collection<UUID> ids);
+
+    // Próximo bloco de cupons não excluídos que atendem ao filtro da exclusão em lote (keyset por id, a partir de FIRST_PAGE)
+    @Query("""
+            select new com.danilojbs.couponapi.repository.CouponStatusView(c.id, c.code, c.status)
+            from Coupon c
+            where c.status <> :deleted
+              and (:status is null or c.status = :status)
+              and (:codePrefix is null or c.code like :codePrefix)
+              and (:expiresBefore is null or c.expirationDate < :expiresBefore)
+              and c.id > :after
+            order by c.id
+            """)
+    List<CouponStatusView> findDeletable(@Param("deleted") CouponStatus deleted,
+                                         @Param("status") CouponStatus status,
+                                         @Param("codePrefix") String codePrefix,
+                                         @Param("expiresBefore") Instant expiresBefore,
+                                         @Param("after") UUID after,
+                                         Limit limit);
+
+    /*
+     * Exclusão lógica em conjunto: um único UPDATE por bloco.
+     * A condição de status mantém a regra "já excluído" (cupons DELETED não são alterados novamente).
+     */
+    @Modifying
+    @Query("""
+            update Coupon c set c.status = :deleted, c.deletedAt = :now, c.version = c.version + 1
+            where c.id in :ids and c.status <> :deleted
+            """)
+    int softDeleteAll(@Param("ids") Collection<UUID> ids, @Param("deleted") CouponStatus deleted, @Param("now") Instant now);
 }
@@ -0,0 +1,9 @@
+package com.danilojbs.couponapi.repository;
+
+import com.danilojbs.couponapi.domain.CouponStatus;
+
+import java.util.UUID;
+
+// Projeção mínima (id, código e status) usada nas operações em lote, sem hidratar a entidade
+public record CouponStatusView(UUID id, String code, CouponStatus status) {
+}
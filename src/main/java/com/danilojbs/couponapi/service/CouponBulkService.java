@@ -0,0 +1,418 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.cache.CouponLookupCache;
+import com.danilojbs.couponapi.config.BulkProperties;
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
+import com.danilojbs.couponapi.dto.BulkCreateItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkCreateResponseDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteRequestDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteResponseDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationRequestDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationResponseDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.generator.CouponCodeGenerator;
+import com.danilojbs.couponapi.outbox.CouponEvent;
+import com.danilojbs.couponapi.outbox.CouponOutbox;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.repository.CouponStatusView;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionCallback;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.*;
+import java.util.stream.Collectors;
+
+/**
+ * Serviço de criação, exclusão e publicação em lote.
+ * Processa os cupons em blocos (chunks): cada bloco é validado em memória, checado contra
+ * os códigos já existentes com uma única consulta e gravado em uma transação própria,
+ * permitindo que o Hibernate agrupe os INSERTs em lotes JDBC (hibernate.jdbc.batch_size).
+ * Na exclusão e na publicação, cada bloco é um único UPDATE em conjunto (sem carregar as entidades).
+ * Os eventos de cada bloco são gravados no outbox (CouponOutbox) na mesma transação.
+ */
+@Service
+@AllArgsConstructor
+public class CouponBulkService {
+
+    private final CouponRepository repository;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final EntityManager entityManager;
+    private final BulkProperties properties;
+    private final CouponLookupCache lookupCache;
+    private final CouponCodeGenerator codeGenerator;
+    private final CouponOutbox outbox;
+
+    /**
+     * Fluxo de Criação em Lote:
+     * 1 - Consome os itens do iterator em blocos de "coupon.bulk.chunk-size".
+     * 2 - Cada bloco é gravado e descartado da memória antes de ler o próximo.
+     * 3 - Retorna o resultado individual de cada item (CREATED ou REJECTED).
+     */
+    public BulkCreateResponseDTO createAll(Iterator<CreateCouponRequestDTO> requests) {
+        List<BulkCreateItemResultDTO> results = new ArrayList<>();
+        List<CreateCouponRequestDTO> chunk = new ArrayList<>(properties.chunkSize());
+        int index = 0;
+
+        while (requests.hasNext()) {
+            chunk.add(requests.next());
+            if (chunk.size() == properties.chunkSize()) {
+                results.addAll(writeChunk(chunk, index));
+                index += chunk.size();
+                chunk.clear();
+            }
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(writeChunk(chunk, index));
+        }
+
+        return BulkCreateResponseDTO.of(results);
+    }
+
+    private List<BulkCreateItemResultDTO> writeChunk(List<CreateCouponRequestDTO> chunk, int firstIndex) {
+        return write(prepare(chunk, firstIndex));
+    }
+
+    /**
+     * Etapa em memória do bloco: Bean Validation, regras da entidade e códigos repetidos no próprio bloco.
+     * Não acessa o banco, portanto blocos diferentes podem ser preparados em paralelo (ex: importação de arquivos).
+     */
+    public PreparedChunk prepare(List<CreateCouponRequestDTO> chunk, int firstIndex) {
+        PreparedChunk prepared = new PreparedChunk(chunk, firstIndex);
+        for (int i = 0; i < chunk.size(); i++) {
+            CreateCouponRequestDTO request = chunk.get(i);
+            String error = validate(request);
+            Coupon coupon = null;
+            if (error == null) {
+                try {
+                    coupon = toCoupon(request, request.shouldGenerateCode() ? nextCodeNotIn(prepared.positionsByCode) : request.getCode());
+                } catch (CouponBusinessException ex) {
+                    error = ex.getMessage();
+                }
+            }
+            if (coupon != null && prepared.positionsByCode.containsKey(coupon.getCode())) {
+                error = "Duplicated coupon code in request.";
+            }
+            if (error != null) {
+                prepared.results[i] = BulkCreateItemResultDTO.rejected(firstIndex + i, request == null ? null : request.getCode(), error);
+                continue;
+            }
+            prepared.positionsByCode.put(coupon.getCode(), i);
+            prepared.coupons.add(coupon);
+        }
+        return prepared;
+    }
+
+    /**
+     * Etapa de gravação do bloco preparado: códigos já cadastrados, INSERTs em lote, outbox e cache.
+     * Blocos devem ser gravados um de cada vez, na ordem: um código repetido em blocos diferentes fica com o primeiro.
+     */
+    public List<BulkCreateItemResultDTO> write(PreparedChunk prepared) {
+        List<CreateCouponRequestDTO> chunk = prepared.requests;
+        int firstIndex = prepared.firstIndex;
+        BulkCreateItemResultDTO[] results = prepared.results;
+        Map<String, Integer> positionsByCode = prepared.positionsByCode;
+        List<Coupon> coupons = prepared.coupons;
+
+        // Uma única consulta para descobrir quais códigos já estão cadastrados (repetida só para códigos gerados que colidiram)
+        Collection<String> toCheck = new ArrayList<>(positionsByCode.keySet());
+        for (int attempt = 1; !toCheck.isEmpty(); attempt++) {
+            Set<String> existing = new HashSet<>(repository.findExistingCodes(toCheck));
+            toCheck = new ArrayList<>();
+            for (ListIterator<Coupon> it = coupons.listIterator(); it.hasNext(); ) {
+                Coupon coupon = it.next();
+                if (!existing.contains(coupon.getCode())) {
+                    continue;
+                }
+                int i = positionsByCode.remove(coupon.getCode());
+                CreateCouponRequestDTO request = chunk.get(i);
+                if (request.shouldGenerateCode() && attempt < CouponService.MAX_GENERATION_ATTEMPTS) {
+                    // Código gerado colidiu com um código escolhido por cliente: gera outro e confere novamente
+                    Coupon replacement = toCoupon(request, nextCodeNotIn(positionsByCode));
+                    positionsByCode.put(replacement.getCode(), i);
+                    toCheck.add(replacement.getCode());
+                    it.set(replacement);
+                } else {
+                    results[i] = BulkCreateItemResultDTO.rejected(firstIndex + i, coupon.getCode(), "Coupon code already exists.");
+                    it.remove();
+                }
+            }
+        }
+
+        for (Coupon coupon : persist(coupons)) {
+            int i = positionsByCode.get(coupon.getCode());
+            if (results[i] == null) {
+                results[i] = BulkCreateItemResultDTO.created(firstIndex + i, CouponResponseDTO.from(coupon));
+            }
+        }
+        for (Coupon coupon : coupons) {
+            int i = positionsByCode.get(coupon.getCode());
+            if (results[i] == null) {
+                results[i] = BulkCreateItemResultDTO.rejected(firstIndex + i, coupon.getCode(), "Coupon code already exists.");
+            }
+        }
+
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Grava o bloco inteiro em uma transação (INSERTs agrupados pelo Hibernate).
+     * Caso outro processo grave o mesmo código entre a consulta e o INSERT, o bloco sofre rollback
+     * e os cupons são gravados individualmente para identificar apenas os itens em conflito.
+     */
+    private List<Coupon> persist(List<Coupon> coupons) {
+        if (coupons.isEmpty()) {
+            return List.of();
+        }
+        try {
+            return transactionTemplate.execute(status -> {
+                List<Coupon> saved = repository.saveAll(coupons);
+                repository.flush();
+                outbox.append(saved.stream().map(coupon -> CouponEvent.created(CouponResponseDTO.from(coupon))).toList());
+                // Remove possíveis caches negativos dos códigos após o commit (uma mensagem por bloco)
+                lookupCache.evictAllAfterCommit(saved.stream().map(Coupon::getCode).toList());
+                entityManager.clear(); // Libera o contexto de persistência para manter o heap estável
+                return saved;
+            });
+        } catch (DataIntegrityViolationException ex) {
+            List<Coupon> saved = new ArrayList<>(coupons.size());
+            for (Coupon coupon : coupons) {
+                Coupon copy = copyOf(coupon);
+                try {
+                    saved.add(transactionTemplate.execute(status -> {
+                        Coupon persisted = repository.saveAndFlush(copy);
+                        outbox.append(List.of(CouponEvent.created(CouponResponseDTO.from(persisted))));
+                        lookupCache.evictAfterCommit(persisted.getCode());
+                        return persisted;
+                    }));
+                } catch (DataIntegrityViolationException conflict) {
+                    // Conflito de código: o item é reportado como rejeitado
+                }
+            }
+            return saved;
+        }
+    }
+
+    // Após um rollback a entidade pode manter o id gerado; uma nova instância garante um INSERT limpo
+    private Coupon copyOf(Coupon coupon) {
+        return new Coupon(coupon.getCode(), coupon.getDescription(), coupon.getDiscountValue(),
+                coupon.getExpirationDate(), coupon.getPublished(), coupon.getMaxRedemptions());
+    }
+
+    /**
+     * Fluxo de Exclusão em Lote (Soft Delete):
+     * 1 - Recebe uma lista de ids OU um filtro (prefixo do código, status e/ou data de expiração).
+     * 2 - Processa blocos de "coupon.bulk.chunk-size" ids, cada um em uma transação com um único UPDATE.
+     *     Se o UPDATE excluir menos cupons que os lidos (exclusão concorrente), o bloco é desfeito e refeito.
+     * 3 - Retorna o resultado de cada id (DELETED, ALREADY_DELETED ou NOT_FOUND) em vez de falhar no primeiro conflito.
+     */
+    public BulkDeleteResponseDTO deleteAll(BulkDeleteRequestDTO request) {
+        if (request.hasIds() == request.hasFilter()) {
+            throw new CouponBusinessException("Provide either a list of ids or a filter.");
+        }
+        return BulkDeleteResponseDTO.of(request.hasIds() ? deleteByIds(request.ids()) : deleteByFilter(request));
+    }
+
+    private List<BulkDeleteItemResultDTO> deleteByIds(List<String> ids) {
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(ids));
+        List<BulkDeleteItemResultDTO> results = new ArrayList<>(distinct.size());
+        Instant now = Instant.now();
+
+        for (int from = 0; from < distinct.size(); from += properties.chunkSize()) {
+            List<String> chunk = distinct.subList(from, Math.min(from + properties.chunkSize(), distinct.size()));
+            results.addAll(executeChunk(status -> deleteChunk(chunk, now)));
+        }
+        return results;
+    }
+
+    private List<BulkDeleteItemResultDTO> deleteChunk(List<String> chunk, Instant now) {
+        // Ids fora do formato UUID não correspondem a nenhum cupom (NOT_FOUND)
+        List<UUID> validIds = chunk.stream().map(Coupon::parseId).flatMap(Optional::stream).toList();
+        Map<UUID, CouponStatusView> found = new HashMap<>();
+        if (!validIds.isEmpty()) {
+            repository.findStatusByIds(validIds).forEach(view -> found.put(view.id(), view));
+        }
+
+        List<CouponStatusView> deletable = found.values().stream()
+                .filter(view -> view.status() != CouponStatus.DELETED)
+                .toList();
+        softDelete(deletable, now);
+
+        List<BulkDeleteItemResultDTO> results = new ArrayList<>(chunk.size());
+        for (String id : chunk) {
+            CouponStatusView view = Coupon.parseId(id).map(found::get).orElse(null);
+            String outcome = view == null ? BulkDeleteItemResultDTO.NOT_FOUND
+                    : view.status() == CouponStatus.DELETED ? BulkDeleteItemResultDTO.ALREADY_DELETED
+                    : BulkDeleteItemResultDTO.DELETED;
+            results.add(new BulkDeleteItemResultDTO(id, outcome));
+        }
+        return results;
+    }
+
+    // Percorre os cupons do filtro por keyset (id), excluindo um bloco por transação
+    private List<BulkDeleteItemResultDTO> deleteByFilter(BulkDeleteRequestDTO request) {
+        String codePrefix = request.codePrefix() == null || request.codePrefix().isBlank()
+                ? null : Coupon.formatCode(request.codePrefix()) + "%"; // Código formatado contém apenas letras e dígitos
+        List<BulkDeleteItemResultDTO> results = new ArrayList<>();
+        Instant now = Instant.now();
+        UUID after = CouponRepository.FIRST_PAGE;
+
+        while (true) {
+            UUID cursor = after;
+            // Em caso de conflito, o bloco é relido a partir do mesmo cursor (sem os cupons excluídos concorrentemente)
+            List<CouponStatusView> chunk = executeChunk(status -> {
+                List<CouponStatusView> deletable = repository.findDeletable(CouponStatus.DELETED, request.status(),
+                        codePrefix, request.expiresBefore(), cursor, Limit.of(properties.chunkSize()));
+                softDelete(deletable, now);
+                return deletable;
+            });
+            chunk.forEach(view -> results.add(new BulkDeleteItemResultDTO(view.id().toString(), BulkDeleteItemResultDTO.DELETED)));
+            if (chunk.size() < properties.chunkSize()) {
+                return results;
+            }
+            after = chunk.get(chunk.size() - 1).id();
+        }
+    }
+
+    /**
+     * Fluxo de Publicação/Despublicação em Lote:
+     * 1 - Processa blocos de "coupon.bulk.chunk-size" ids, cada um em uma transação.
+     * 2 - Lê id, código e status do bloco (projeção) e aplica um único UPDATE aos cupons no status oposto.
+     *     Se o UPDATE alterar menos cupons que os lidos (alteração concorrente), o bloco é desfeito e refeito.
+     * 3 - Retorna o resultado de cada id (UPDATED, UNCHANGED, REJECTED ou NOT_FOUND).
+     */
+    public BulkPublicationResponseDTO changePublicationAll(BulkPublicationRequestDTO request, boolean published) {
+        if (!request.hasIds()) {
+            throw new CouponBusinessException("Provide a list of ids.");
+        }
+        List<String> distinct = new ArrayList<>(new LinkedHashSet<>(request.ids()));
+        List<BulkPublicationItemResultDTO> results = new ArrayList<>(distinct.size());
+
+        for (int from = 0; from < distinct.size(); from += properties.chunkSize()) {
+            List<String> chunk = distinct.subList(from, Math.min(from + properties.chunkSize(), distinct.size()));
+            results.addAll(executeChunk(status -> changePublication(chunk, published)));
+        }
+        return BulkPublicationResponseDTO.of(results);
+    }
+
+    private List<BulkPublicationItemResultDTO> changePublication(List<String> chunk, boolean published) {
+        CouponStatus target = Coupon.statusFor(published);
+        CouponStatus opposite = Coupon.statusFor(!published);
+
+        List<UUID> validIds = chunk.stream().map(Coupon::parseId).flatMap(Optional::stream).toList();
+        Map<UUID, CouponStatusView> found = new HashMap<>();
+        if (!validIds.isEmpty()) {
+            repository.findStatusByIds(validIds).forEach(view -> found.put(view.id(), view));
+        }
+
+        List<CouponStatusView> changeable = found.values().stream().filter(view -> view.status() == opposite).toList();
+        if (!changeable.isEmpty()) {
+            List<UUID> ids = changeable.stream().map(CouponStatusView::id).toList();
+            if (repository.updatePublication(ids, published, target, Coupon.FINAL_STATUSES) != ids.size()) {
+                throw CouponConflictException.bulkChunk(); // Status alterado após a leitura: rollback do bloco
+            }
+            outbox.append(changeable.stream()
+                    .map(view -> CouponEvent.publicationChanged(view.id().toString(), view.code(), published)).toList());
+            lookupCache.evictAllAfterCommit(changeable.stream().map(CouponStatusView::code).toList());
+        }
+
+        List<BulkPublicationItemResultDTO> results = new ArrayList<>(chunk.size());
+        for (String id : chunk) {
+            CouponStatusView view = Coupon.parseId(id).map(found::get).orElse(null);
+            String outcome = view == null ? BulkPublicationItemResultDTO.NOT_FOUND
+                    : view.status() == opposite ? BulkPublicationItemResultDTO.UPDATED
+                    : view.status() == target ? BulkPublicationItemResultDTO.UNCHANGED
+                    : BulkPublicationItemResultDTO.REJECTED;
+            results.add(new BulkPublicationItemResultDTO(id, outcome));
+        }
+        return results;
+    }
+
+    // Executa o bloco em uma transação, refazendo-o (nova leitura) quando um conflito desfaz a transação
+    private <T> T executeChunk(TransactionCallback<T> action) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(action);
+            } catch (CouponConflictException ex) {
+                if (attempt == CouponService.MAX_CONFLICT_ATTEMPTS) {
+                    throw ex;
+                }
+            }
+        }
+    }
+
+    private void softDelete(List<CouponStatusView> coupons, Instant now) {
+        if (coupons.isEmpty()) {
+            return;
+        }
+        List<UUID> ids = coupons.stream().map(CouponStatusView::id).toList();
+        if (repository.softDeleteAll(ids, CouponStatus.DELETED, now) != ids.size()) {
+            throw CouponConflictException.bulkChunk(); // Excluído concorrentemente após a leitura: rollback do bloco
+        }
+        outbox.append(coupons.stream().map(view -> CouponEvent.deleted(view.id().toString(), view.code())).toList());
+        lookupCache.evictAllAfterCommit(coupons.stream().map(CouponStatusView::code).toList());
+    }
+
+    private String validate(CreateCouponRequestDTO request) {
+        if (request == null) {
+            return "Coupon payload is required.";
+        }
+        Set<ConstraintViolation<CreateCouponRequestDTO>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private String nextCodeNotIn(Map<String, Integer> codesInChunk) {
+        String code = codeGenerator.next();
+        while (codesInChunk.containsKey(code)) {
+            code = codeGenerator.next();
+        }
+        return code;
+    }
+
+    private Coupon toCoupon(CreateCouponRequestDTO request, String code) {
+        return new Coupon(
+                code,
+                request.getDescription(),
+                request.getDiscountValue(),
+                request.getExpirationDate(),
+                request.getPublished(),
+                request.getMaxRedemptions()
+        );
+    }
+
+    // Bloco validado em memória aguardando a gravação (resultados já definidos para os itens rejeitados)
+    public static final class PreparedChunk {
+
+        private final List<CreateCouponRequestDTO> requests;
+        private final int firstIndex;
+        private final BulkCreateItemResultDTO[] results;
+        private final Map<String, Integer> positionsByCode = new LinkedHashMap<>();
+        private final List<Coupon> coupons;
+
+        private PreparedChunk(List<CreateCouponRequestDTO> requests, int firstIndex) {
+            this.requests = requests;
+            this.firstIndex = firstIndex;
+            this.results = new BulkCreateItemResultDTO[requests.size()];
+            this.coupons = new ArrayList<>(requests.size());
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.config.ExpirationProperties;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Processo de expiração: altera para EXPIRED os cupons ACTIVE/INACTIVE cuja expirationDate já passou.
+ * Cada lote é uma transação curta (SELECT ... FOR UPDATE SKIP LOCKED + um único UPDATE), com vazão
+ * limitada por coupon.expiration.max-rows-per-second para não disputar o banco com a API.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CouponExpirationSweeper {
+
+    private static final List<CouponStatus> EXPIRABLE = List.of(CouponStatus.ACTIVE, CouponStatus.INACTIVE);
+
+    private final CouponRepository repository;
+    private final TransactionTemplate transactionTemplate;
+    private final ExpirationProperties properties;
+
+    // Estatísticas da última execução (expostas como métricas)
+    private final AtomicLong totalExpired = new AtomicLong();
+    private final AtomicLong lastRunRows = new AtomicLong();
+    private final AtomicLong lastRunRowsPerSecond = new AtomicLong();
+    private final AtomicLong lagSeconds = new AtomicLong();
+
+    @Scheduled(fixedDelayString = "${coupon.expiration.interval:1m}", initialDelayString = "${coupon.expiration.interval:1m}")
+    public void scheduledSweep() {
+        if (properties.enabled()) {
+            sweep();
+        }
+    }
+
+    /**
+     * Fluxo de Expiração:
+     * 1 - Para cada status expirável, processa lotes até não restarem cupons vencidos (ou atingir o limite de lotes).
+     * 2 - Entre os lotes, aguarda o necessário para respeitar a vazão máxima configurada.
+     * 3 - Ao final, calcula o atraso (lag): há quanto tempo o cupom vencido mais antigo aguarda processamento.
+     */
+    public int sweep() {
+        Instant now = Instant.now();
+        long start = System.nanoTime();
+        int total = 0;
+
+        for (CouponStatus status : EXPIRABLE) {
+            for (int batch = 0; batch < properties.maxBatchesPerRun(); batch++) {
+                int updated = expireBatch(status, now);
+                total += updated;
+                if (updated < properties.batchSize()) {
+                    break;
+                }
+                throttle(total, start);
+            }
+        }
+
+        long elapsedNanos = Math.max(System.nanoTime() - start, 1);
+        totalExpired.addAndGet(total);
+        lastRunRows.set(total);
+        lastRunRowsPerSecond.set(total * TimeUnit.SECONDS.toNanos(1) / elapsedNanos);
+        lagSeconds.set(repository.findOldestPendingExpiration(EXPIRABLE, Instant.now())
+                .map(oldest -> Duration.between(oldest, Instant.now()).toSeconds())
+                .orElse(0L));
+
+        if (total > 0) {
+            log.info("Expired {} coupons in {} ms ({} rows/s), lag {}s",
+                    total, TimeUnit.NANOSECONDS.toMillis(elapsedNanos), lastRunRowsPerSecond.get(), lagSeconds.get());
+        }
+        return total;
+    }
+
+    private int expireBatch(CouponStatus status, Instant now) {
+        Integer updated = transactionTemplate.execute(tx -> {
+            List<UUID> ids = repository.lockExpiredBatch(status, now, Limit.of(properties.batchSize()));
+            return ids.isEmpty() ? 0 : repository.updateStatus(ids, CouponStatus.EXPIRED);
+        });
+        return updated != null ? updated : 0;
+    }
+
+    // Pausa até que a vazão acumulada volte ao limite configurado
+    private void throttle(int rows, long startNanos) {
+        if (properties.maxRowsPerSecond() <= 0) {
+            return;
+        }
+        long expectedNanos = rows * TimeUnit.SECONDS.toNanos(1) / properties.maxRowsPerSecond();
+        long aheadNanos = expectedNanos - (System.nanoTime() - startNanos);
+        if (aheadNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(aheadNanos);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    public long getTotalExpired() {
+        return totalExpired.get();
+    }
+
+    public long getLastRunRows() {
+        return lastRunRows.get();
+    }
+
+    public long getLastRunRowsPerSecond() {
+        return lastRunRowsPerSecond.get();
+    }
+
+    public long getLagSeconds() {
+        return lagSeconds.get();
+    }
+}
@@ -0,0 +1,77 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import lombok.AllArgsConstructor;
+import org.springframework.data.domain.Limit;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Serviço de leitura (back-office): listagem paginada por cursor e exportação em stream.
+ * As consultas projetam diretamente no CouponResponseDTO, sem carregar entidades no contexto de persistência.
+ */
+@Service
+@AllArgsConstructor
+public class CouponQueryService {
+
+    public static final int DEFAULT_PAGE_SIZE = 50;
+    public static final int MAX_PAGE_SIZE = 500;
+
+    private final CouponRepository repository;
+
+    /**
+     * Fluxo de Listagem:
+     * 1 - Busca "size + 1" registros após o cursor informado (pelo índice (status, id) quando há filtro de status).
+     * 2 - O registro extra apenas indica se existe uma próxima página (sem COUNT).
+     */
+    @Transactional(readOnly = true)
+    public CouponPageResponseDTO list(CouponFilterDTO filter, String after, int size) {
+        int pageSize = Math.min(Math.max(size, 1), MAX_PAGE_SIZE);
+        UUID cursor = parseCursor(after);
+        Limit limit = Limit.of(pageSize + 1);
+        List<CouponResponseDTO> items = filter.status() == null
+                ? repository.findPage(filter.published(), filter.expiresFrom(), filter.expiresTo(), cursor, limit)
+                : repository.findPageByStatus(filter.status(), filter.published(), filter.expiresFrom(),
+                        filter.expiresTo(), cursor, limit);
+
+        if (items.size() <= pageSize) {
+            return new CouponPageResponseDTO(items, null);
+        }
+        List<CouponResponseDTO> page = items.subList(0, pageSize);
+        return new CouponPageResponseDTO(List.copyOf(page), page.get(pageSize - 1).id());
+    }
+
+    // O cursor é o id (UUID) do último cupom da página anterior
+    private UUID parseCursor(String after) {
+        if (after == null || after.isBlank()) {
+            return CouponRepository.FIRST_PAGE;
+        }
+        return Coupon.parseId(after).orElseThrow(() -> new CouponBusinessException("Invalid cursor."));
+    }
+
+    /**
+     * Fluxo de Exportação:
+     * Cada linha lida do banco é entregue ao consumidor (que escreve na resposta) e descartada em seguida,
+     * mantendo o uso de heap constante independente da quantidade de registros.
+     */
+    @Transactional(readOnly = true)
+    public void export(CouponFilterDTO filter, Consumer<CouponResponseDTO> consumer) {
+        try (Stream<CouponResponseDTO> rows = filter.status() == null
+                ? repository.streamAll(filter.published(), filter.expiresFrom(), filter.expiresTo(),
+                        CouponRepository.FIRST_PAGE)
+                : repository.streamAllByStatus(filter.status(), filter.published(), filter.expiresFrom(),
+                        filter.expiresTo(), CouponRepository.FIRST_PAGE)) {
+            rows.forEach(consumer);
+        }
+    }
+}
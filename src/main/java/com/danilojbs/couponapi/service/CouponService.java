@@ -1,13 +1,34 @@
 package com.danilojbs.couponapi.service;
 
+import com.danilojbs.couponapi.cache.CachedCoupon;
+import com.danilojbs.couponapi.cache.CouponLookupCache;
+import com.danilojbs.couponapi.datasource.ReadYourWritesTracker;
 import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
 import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
 import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
 import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.generator.CouponCodeGenerator;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import com.danilojbs.couponapi.metrics.CouponMetrics.Operation;
+import com.danilojbs.couponapi.outbox.CouponEvent;
+import com.danilojbs.couponapi.outbox.CouponOutbox;
+import com.danilojbs.couponapi.profiling.RequestStages;
+import com.danilojbs.couponapi.profiling.Stage;
 import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.repository.CouponStatusView;
 import jakarta.transaction.Transactional;
 import lombok.AllArgsConstructor;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Instant;
+import java.util.List;
 
 
 /**
@@ -18,41 +39,220 @@ import org.springframework.stereotype.Service;
 @AllArgsConstructor
 public class CouponService {
 
+    // Tentativas de gravação com código gerado (colisão apenas com códigos escolhidos por clientes)
+    static final int MAX_GENERATION_ATTEMPTS = 3;
+
+    // Tentativas da exclusão quando outra transação altera o cupom entre a leitura e a gravação
+    static final int MAX_CONFLICT_ATTEMPTS = 3;
+
     private final CouponRepository repository;
+    private final CouponLookupCache lookupCache;
+    private final ReadYourWritesTracker readYourWrites;
+    private final CouponMetrics metrics;
+    private final CouponCodeGenerator codeGenerator;
+    private final CouponOutbox outbox;
+    private final TransactionTemplate transactionTemplate;
 
 
     /**
      * Fluxo de Criação:
-     * 1 - Recebe o DTO de entrada.
+     * 1 - Recebe o DTO de entrada (com o código ou com generateCode = true).
      * 2 - Instancia a Entidade do Cupom (realizando as validações).
      * 3 - Salva no banco através do repository.
-     * 4 - Converte o resultado para o DTO de resposta (ResponseDTO).
+     * 4 - Converte o resultado para o DTO de resposta (ResponseDTO) e grava o evento CREATED no outbox (mesma transação).
+     * Com código gerado, uma colisão com um código já cadastrado gera um novo código e uma nova tentativa.
      */
     public CouponResponseDTO create(CreateCouponRequestDTO request) {
-        Coupon coupon = new Coupon(
-                request.getCode(),
+        return metrics.record(Operation.CREATE, () -> {
+            if (!request.shouldGenerateCode()) {
+                return save(request, request.getCode());
+            }
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    return save(request, codeGenerator.next());
+                } catch (DataIntegrityViolationException ex) {
+                    if (attempt == MAX_GENERATION_ATTEMPTS) {
+                        throw ex;
+                    }
+                }
+            }
+        });
+    }
+
+    private CouponResponseDTO save(CreateCouponRequestDTO request, String code) {
+        Coupon coupon = RequestStages.time(Stage.DOMAIN, () -> new Coupon(
+                code,
                 request.getDescription(),
                 request.getDiscountValue(),
                 request.getExpirationDate(),
-                request.getPublished()
-        );
+                request.getPublished(),
+                request.getMaxRedemptions()
+        ));
+
+        /*
+         * Uma transação por tentativa: um conflito de código desfaz também o evento, e a próxima tentativa começa limpa.
+         * O flush logo após o save envia o INSERT antes do evento: um código repetido falha sem gravar o outbox,
+         * e o flush do Hibernate é medido separado do commit (etapas "flush" e "commit" do Server-Timing).
+         */
+        CouponResponseDTO response = transactionTemplate.execute(status -> {
+            Coupon persisted = RequestStages.time(Stage.PERSIST, () -> repository.save(coupon));
+            RequestStages.time(Stage.FLUSH, repository::flush);
+            CouponResponseDTO saved = CouponResponseDTO.from(persisted);
+            RequestStages.time(Stage.OUTBOX, () -> outbox.append(List.of(CouponEvent.created(saved))));
+            return saved;
+        });
+        RequestStages.stopSincePrevious(Stage.COMMIT);
+        lookupCache.evictAfterCommit(response.code()); // Remove um possível cache negativo do código
+        return response;
+    }
+
+    /**
+     * Fluxo de Validação por código:
+     * 1 - Normaliza o código da mesma forma que a entidade (Coupon.formatCode).
+     * 2 - Consulta o cache; o banco só é acessado quando o código não está em memória
+     *     (réplica de leitura, ou o banco principal se o código foi alterado há pouco: ReadYourWritesTracker).
+     * 3 - Avalia status e data de expiração a cada chamada (o cache não "congela" a validade).
+     * 4 - Cupom com o limite de resgates atingido é inválido (EXHAUSTED).
+     */
+    public CouponValidationResponseDTO validateCode(String code) {
+        String normalized = Coupon.formatCode(code);
+        CachedCoupon cached = lookupCache.get(normalized, key -> readYourWrites.read(key, () -> repository.findByCode(key))
+                .map(CachedCoupon::of)
+                .orElse(CachedCoupon.MISSING));
+
+        if (cached.isMissing()) {
+            throw new CouponNotFoundException("code", normalized);
+        }
+        if (cached.status() != CouponStatus.ACTIVE) {
+            return CouponValidationResponseDTO.invalid(cached.coupon(), cached.status().name());
+        }
+        if (cached.isExpired(Instant.now())) {
+            return CouponValidationResponseDTO.invalid(cached.coupon(), "EXPIRED");
+        }
+        if (cached.exhausted()) {
+            return CouponValidationResponseDTO.invalid(cached.coupon(), "EXHAUSTED");
+        }
+        return CouponValidationResponseDTO.valid(cached.coupon());
+    }
+
+    /**
+     * Fluxo de Resgate:
+     * 1 - Tenta o resgate com um único UPDATE condicional (sem leitura prévia da entidade).
+     * 2 - Somente quando o resgate é recusado o cupom é lido, para informar o motivo ao cliente.
+     * 3 - Resgate aceito: o cache do código é invalidado após o commit (contador e versão mudaram;
+     *     a próxima validação relê o cupom e informa EXHAUSTED quando o limite foi atingido).
+     * 4 - Recusado, mas resgatável na leitura (ex: despublicado e republicado entre o UPDATE e a leitura):
+     *     o UPDATE é repetido uma vez; nova recusa é informada como conflito (409).
+     */
+    @Transactional
+    public void redeem(String code) {
+        String normalized = Coupon.formatCode(code);
+        metrics.record(Operation.REDEEM, () -> {
+            if (redeemOnce(normalized)) {
+                return;
+            }
+            Coupon coupon = repository.findByCode(normalized)
+                    .orElseThrow(() -> new CouponNotFoundException("code", normalized));
+            rejectRedemption(coupon, Instant.now());
 
-        return CouponResponseDTO.from(repository.save(coupon));
+            metrics.conflictRetried(Operation.REDEEM);
+            if (!redeemOnce(normalized)) {
+                throw new CouponConflictException(normalized);
+            }
+        });
+    }
 
+    private boolean redeemOnce(String code) {
+        if (repository.redeem(code, CouponStatus.ACTIVE, Instant.now()) == 0) {
+            return false;
+        }
+        lookupCache.evictAfterCommit(code);
+        return true;
+    }
+
+    // Motivo da recusa do resgate; retorna sem exceção quando o cupom lido ainda pode ser resgatado
+    private static void rejectRedemption(Coupon coupon, Instant now) {
+        if (coupon.getStatus() == CouponStatus.DELETED) {
+            throw new CouponBusinessException("Coupon is deleted.");
+        }
+        if (coupon.getStatus() == CouponStatus.INACTIVE) {
+            throw new CouponBusinessException("Coupon is not published.");
+        }
+        if (coupon.getStatus() == CouponStatus.EXPIRED || !coupon.getExpirationDate().isAfter(now)) {
+            throw new CouponBusinessException("Coupon is expired.");
+        }
+        if (coupon.isRedemptionLimitReached()) {
+            throw new CouponBusinessException("Coupon redemption limit reached.");
+        }
     }
 
     /**
      * Fluxo de exclusão (Soft Delete):
-     * Transactional: Garante que a operação seja atômica. Se algo falhar, o banco sofre rollback.
+     * 1 - Cada tentativa é uma transação: lê o cupom, aplica a regra (markAsDeleted) e grava com verificação de versão.
+     * 2 - Se outra transação alterou o cupom entre a leitura e a gravação, a gravação falha e a tentativa é repetida
+     *     com uma nova leitura; a regra é reavaliada sobre o estado atual (ex: exclusão concorrente vencedora -> "já excluído").
+     * 3 - Esgotadas as tentativas, o conflito é informado ao cliente (409), sem bloqueios pessimistas.
      * (Transactional foi um novo aprendizado durante o desafio)
      */
-    @Transactional
     public void delete(String id) {
-        Coupon coupon = repository.findById(id)
+        metrics.record(Operation.DELETE, () -> {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    transactionTemplate.executeWithoutResult(status -> deleteOnce(id));
+                    return;
+                } catch (OptimisticLockingFailureException ex) {
+                    if (attempt == MAX_CONFLICT_ATTEMPTS) {
+                        throw new CouponConflictException(id);
+                    }
+                    metrics.conflictRetried(Operation.DELETE);
+                }
+            }
+        });
+    }
+
+    /**
+     * Fluxo de Publicação/Despublicação (PATCH):
+     * 1 - Lê apenas id, código e status do cupom (projeção, sem carregar a entidade).
+     * 2 - Cupom já no estado pedido: nada a fazer (operação idempotente). Excluído ou expirado: recusa (400).
+     * 3 - Um UPDATE condicionado ao status lido altera published e status (Coupon.statusFor) e incrementa a versão.
+     *     Se outra transação mudou o status nesse intervalo, nenhuma linha é alterada e o conflito é informado (409).
+     * 4 - Grava o evento PUBLISHED/UNPUBLISHED no outbox e invalida o cache do código após o commit.
+     */
+    public void changePublication(String id, boolean published) {
+        metrics.record(published ? Operation.PUBLISH : Operation.UNPUBLISH, () -> transactionTemplate.executeWithoutResult(status -> {
+            CouponStatusView coupon = Coupon.parseId(id)
+                    .flatMap(uuid -> repository.findStatusByIds(List.of(uuid)).stream().findFirst())
+                    .orElseThrow(() -> new CouponNotFoundException(id));
+
+            CouponStatus target = Coupon.statusFor(published);
+            if (coupon.status() == target) {
+                return;
+            }
+            if (coupon.status() == CouponStatus.DELETED) {
+                throw new CouponBusinessException("Coupon is deleted.");
+            }
+            if (!Coupon.isPublicationChangeable(coupon.status())) {
+                throw new CouponBusinessException("Coupon is expired.");
+            }
+
+            if (repository.updatePublication(List.of(coupon.id()), published, target, Coupon.FINAL_STATUSES) == 0) {
+                throw new CouponConflictException(id);
+            }
+            outbox.append(List.of(CouponEvent.publicationChanged(coupon.id().toString(), coupon.code(), published)));
+            lookupCache.evictAfterCommit(coupon.code());
+        }));
+    }
+
+    private void deleteOnce(String id) {
+        Coupon coupon = Coupon.parseId(id)
+                .flatMap(repository::findById)
                 .orElseThrow(() -> new CouponNotFoundException(id));
 
+        long writtenVersion = coupon.getVersion() + 1; // Versão gravada no commit (verificada pelo @Version)
         coupon.markAsDeleted();
         repository.save(coupon);
+        outbox.append(List.of(CouponEvent.deleted(coupon.getId().toString(), coupon.getCode())));
+        lookupCache.evictAfterCommit(coupon.getCode(), writtenVersion);
     }
 
 }
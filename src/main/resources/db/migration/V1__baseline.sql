@@ -0,0 +1,30 @@
+-- Esquema inicial (equivalente ao gerado anteriormente pelo Hibernate com ddl-auto=update)
+create table coupons (
+    id               uuid                     not null,
+    code             varchar(6)               not null,
+    description      varchar(255)             not null,
+    discount_value   numeric(38,2)            not null,
+    expiration_date  timestamp(6) with time zone not null,
+    status           enum ('ACTIVE','DELETED','EXPIRED','INACTIVE') not null,
+    published        boolean                  not null,
+    deleted_at       timestamp(6) with time zone,
+    max_redemptions  integer,
+    redemption_count integer                  not null,
+    constraint pk_coupons primary key (id),
+    -- Consulta e resgate por código (findByCode, redeem, findExistingCodes) e filtro por prefixo (LIKE 'ABC%')
+    constraint uk_coupons_code unique (code)
+);
+
+-- Varredura de expiração: status = ? and expiration_date < ? order by expiration_date
+create index idx_coupons_status_expiration on coupons (status, expiration_date);
+
+-- Sequence de blocos da geração de códigos (CouponCodeGenerator): cada valor reserva um bloco de códigos
+create sequence coupon_code_block_seq start with 0 minvalue 0;
+
+-- Chaves de idempotência (JdbcIdempotencyStore): response nula indica execução em andamento
+create table idempotency_keys (
+    idempotency_key varchar(255) primary key,
+    fingerprint     varchar(64)  not null,
+    response        varchar(4000),
+    expires_at      timestamp    not null
+);
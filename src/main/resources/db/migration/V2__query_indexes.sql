@@ -0,0 +1,10 @@
+-- Índices desenhados a partir das consultas do CouponRepository (ver CouponQueryPlanTest).
+-- O H2 não suporta índices parciais: o status na primeira coluna cumpre o mesmo papel, restringindo
+-- a busca ao intervalo do status consultado. Em PostgreSQL, o equivalente seria, por exemplo,
+-- "create index ... on coupons (expiration_date) where status in ('ACTIVE', 'INACTIVE')".
+
+-- Listagem e exportação filtradas por status, paginadas por cursor: status = ? and id > ? order by id
+create index idx_coupons_status_id on coupons (status, id);
+
+-- Limpeza periódica das chaves de idempotência vencidas (JdbcIdempotencyStore.purgeExpired)
+create index idx_idempotency_keys_expires_at on idempotency_keys (expires_at);
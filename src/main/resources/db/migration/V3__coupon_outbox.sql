@@ -0,0 +1,10 @@
+-- Outbox de eventos de cupons: gravado na mesma transação da alteração e removido após a publicação (CouponOutboxRelay)
+create table coupon_outbox (
+    id          bigint generated by default as identity,
+    event_type  varchar(32)                 not null,
+    coupon_id   uuid                        not null,
+    code        varchar(6)                  not null,
+    payload     varchar(4000),
+    occurred_at timestamp(6) with time zone not null,
+    constraint pk_coupon_outbox primary key (id)
+);
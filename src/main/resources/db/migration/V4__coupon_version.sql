@@ -0,0 +1,2 @@
+-- Versão para controle de concorrência otimista (@Version em Coupon); registros existentes começam na versão 0
+alter table coupons add column version bigint default 0 not null;
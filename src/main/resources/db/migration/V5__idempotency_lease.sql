@@ -0,0 +1,4 @@
+-- Reserva das chaves de idempotência (JdbcIdempotencyStore): dona da execução em andamento e prazo (lease).
+-- Reservas sem resposta com o prazo vencido (ex: instância encerrada durante a execução) podem ser assumidas.
+alter table idempotency_keys add column reserved_by varchar(36);
+alter table idempotency_keys add column locked_until timestamp;
@@ -0,0 +1,64 @@
+package com.danilojbs.couponapi;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.service.CouponService;
+import org.flywaydb.core.Flyway;
+import org.flywaydb.core.api.MigrationInfoService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Date;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste do profile "file" (H2 em arquivo):
+ * Os cupons sobrevivem ao reinício da aplicação, e a segunda partida não reaplica o esquema.
+ */
+class FileStorageProfileTest {
+
+    @TempDir
+    private Path dataDir;
+
+    @Test
+    void couponsSurviveRestart() {
+        try (ConfigurableApplicationContext context = start()) {
+            context.getBean(CouponService.class).create(request("FILE01"));
+        }
+
+        Date restartedAt = new Date();
+        try (ConfigurableApplicationContext context = start()) {
+            assertThat(context.getBean(CouponRepository.class).findByCode("FILE01")).isPresent();
+            // Partida a quente: nenhuma migração pendente nem reaplicada no reinício
+            MigrationInfoService migrations = context.getBean(Flyway.class).info();
+            assertThat(migrations.pending()).isEmpty();
+            assertThat(migrations.applied()).isNotEmpty()
+                    .allSatisfy(migration -> assertThat(migration.getInstalledOn()).isBefore(restartedAt));
+        }
+    }
+
+    private ConfigurableApplicationContext start() {
+        return new SpringApplicationBuilder(CouponapiApplication.class)
+                .profiles("file")
+                .web(WebApplicationType.NONE)
+                .properties("COUPON_DATA_DIR=" + dataDir, "coupon.expiration.enabled=false")
+                .run();
+    }
+
+    private CreateCouponRequestDTO request(String code) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(code);
+        request.setDescription("Persistente");
+        request.setDiscountValue(BigDecimal.ONE);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
@@ -0,0 +1,81 @@
+package com.danilojbs.couponapi;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.service.CouponService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Benchmark dos modos de armazenamento: H2 em memória x profile "file" (partida fria e a quente).
+ * Mede o tempo de inicialização do contexto (com servidor web) e a vazão de criação e exclusão individuais.
+ * Executado apenas sob demanda: ./mvnw test -Dtest=StorageProfileBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class StorageProfileBenchmarkTest {
+
+    private static final int COUPONS = Integer.getInteger("benchmark.coupons", 5_000);
+
+    @TempDir
+    private Path dataDir;
+
+    @Test
+    void compareStorageProfiles() {
+        // Primeira inicialização da JVM (carga de classes) descartada
+        measure("warmup", "A", "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID());
+
+        measure("memory", "M", "spring.datasource.url=jdbc:h2:mem:" + UUID.randomUUID());
+        measure("file (cold)", "C", "spring.profiles.active=file", "COUPON_DATA_DIR=" + dataDir.resolve("delayed"));
+        measure("file (warm)", "W", "spring.profiles.active=file", "COUPON_DATA_DIR=" + dataDir.resolve("delayed"));
+        measure("file (WRITE_DELAY=0)", "S", "spring.profiles.active=file", "COUPON_DATA_DIR=" + dataDir.resolve("sync"),
+                "COUPON_H2_WRITE_DELAY_MS=0");
+    }
+
+    private void measure(String label, String codePrefix, String... properties) {
+        List<String> all = new ArrayList<>(List.of(properties));
+        all.add("server.port=0");
+        all.add("coupon.expiration.enabled=false");
+
+        long start = System.nanoTime();
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CouponapiApplication.class)
+                .properties(all.toArray(String[]::new))
+                .run()) {
+            double startupMillis = (System.nanoTime() - start) / 1e6;
+            CouponService service = context.getBean(CouponService.class);
+
+            List<String> ids = new ArrayList<>(COUPONS);
+            start = System.nanoTime();
+            for (int i = 0; i < COUPONS; i++) {
+                ids.add(service.create(request(codePrefix, i)).id());
+            }
+            double createSeconds = (System.nanoTime() - start) / 1e9;
+
+            start = System.nanoTime();
+            ids.forEach(service::delete);
+            double deleteSeconds = (System.nanoTime() - start) / 1e9;
+
+            System.out.printf("%-22s startup: %,6.0f ms | create: %,8.0f coupons/s | delete: %,8.0f coupons/s%n",
+                    label, startupMillis, COUPONS / createSeconds, COUPONS / deleteSeconds);
+        }
+    }
+
+    // Códigos únicos de 6 caracteres: prefixo + número em base 36
+    private CreateCouponRequestDTO request(String prefix, int i) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(prefix + String.format("%5s", Integer.toString(i, 36)).replace(' ', '0'));
+        request.setDescription("Benchmark");
+        request.setDiscountValue(BigDecimal.ONE);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
@@ -0,0 +1,197 @@
+package com.danilojbs.couponapi.cache;
+
+import com.danilojbs.couponapi.CouponapiApplication;
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.service.CouponService;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração com várias instâncias na mesma JVM:
+ * três contextos Spring compartilham o mesmo banco H2 e o mesmo canal de invalidação (transport "loopback").
+ * Mede a taxa de acertos do cache de cada instância e o atraso entre a exclusão em uma instância
+ * e a remoção do código do cache das demais.
+ */
+class CouponLookupCacheClusterTest {
+
+    private static final int NODES = 3;
+    private static final int COUPONS = 200;
+    private static final int READS_PER_CODE = 20;
+    private static final int DELETES = 60;
+
+    private static final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+    private static String cluster;
+
+    @BeforeAll
+    static void startNodes() {
+        cluster = "cluster-" + System.nanoTime();
+        for (int i = 0; i < NODES; i++) {
+            // Argumentos de linha de comando: têm precedência sobre o application.properties
+            nodes.add(new SpringApplicationBuilder(CouponapiApplication.class)
+                    .web(WebApplicationType.NONE)
+                    .run("--spring.datasource.url=jdbc:h2:mem:" + cluster + ";DB_CLOSE_DELAY=-1",
+                            "--coupon.lookup-cache.transport=loopback",
+                            "--coupon.lookup-cache.channel=" + cluster,
+                            "--coupon.expiration.enabled=false",
+                            "--coupon.outbox.enabled=false"));
+        }
+    }
+
+    @AfterAll
+    static void stopNodes() {
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+    }
+
+    @Test
+    void deletesOnOneNodeInvalidateTheOthers() {
+        CouponRepository repository = nodes.get(0).getBean(CouponRepository.class);
+        List<Coupon> coupons = new ArrayList<>();
+        for (int i = 0; i < COUPONS; i++) {
+            coupons.add(repository.saveAndFlush(new Coupon(String.format("CLU%03d", i), "Cluster",
+                    BigDecimal.ONE, Instant.now().plusSeconds(3600), true)));
+        }
+
+        // Leituras distribuídas entre as instâncias (como atrás de um balanceador): só a primeira leitura de cada código
+        // em cada instância vai ao banco, taxa de acertos esperada de 1 - NODES / READS_PER_CODE
+        for (int round = 0; round < READS_PER_CODE; round++) {
+            for (int i = 0; i < COUPONS; i++) {
+                service(i + round).validateCode(coupons.get(i).getCode());
+            }
+        }
+        for (int n = 0; n < NODES; n++) {
+            var stats = cache(n).nativeCache().stats();
+            System.out.printf("node %d: hit ratio %.3f (%d hits, %d misses)%n", n, stats.hitRate(), stats.hitCount(), stats.missCount());
+            assertThat(stats.missCount()).isEqualTo(COUPONS);
+        }
+
+        long[] resyncsBefore = resyncs();
+
+        // Exclusão em uma instância: as demais devem deixar de servir o cupom ACTIVE do cache
+        long[] latencies = new long[DELETES];
+        for (int i = 0; i < DELETES; i++) {
+            Coupon coupon = coupons.get(i);
+            int owner = i % NODES;
+            service(owner).delete(coupon.getId().toString());
+            long deleted = System.nanoTime();
+
+            long deadline = deleted + TimeUnit.SECONDS.toNanos(5);
+            for (int n = 0; n < NODES; n++) {
+                while (cache(n).nativeCache().getIfPresent(coupon.getCode()) != null && System.nanoTime() < deadline) {
+                    Thread.onSpinWait();
+                }
+            }
+            latencies[i] = System.nanoTime() - deleted;
+
+            for (int n = 0; n < NODES; n++) {
+                CouponValidationResponseDTO validation = service(n).validateCode(coupon.getCode());
+                assertThat(validation.valid()).isFalse();
+                assertThat(validation.reason()).isEqualTo("DELETED");
+            }
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("invalidation latency: p50 %.1f us, p99 %.1f us, max %.1f us%n",
+                latencies[DELETES / 2] / 1e3, latencies[DELETES * 99 / 100] / 1e3, latencies[DELETES - 1] / 1e3);
+        assertThat(latencies[DELETES - 1]).isLessThan(TimeUnit.SECONDS.toNanos(1));
+        assertThat(resyncs()).isEqualTo(resyncsBefore);
+    }
+
+    /**
+     * Commits simultâneos na mesma instância: as mensagens chegam às demais na ordem da sequence,
+     * sem saltos aparentes (que descartariam o cache inteiro das demais instâncias).
+     */
+    @Test
+    void concurrentInvalidationsArriveInSequenceOrder() throws Exception {
+        int threads = 8;
+        int evictsPerThread = 500;
+        long[] resyncsBefore = resyncs();
+        long receivedBefore = cache(1).getInvalidationsReceived();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> writers = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                int thread = t;
+                writers.add(executor.submit(() -> {
+                    for (int i = 0; i < evictsPerThread; i++) {
+                        cache(0).evict(String.format("C%02d%03d", thread, i));
+                    }
+                }));
+            }
+            for (Future<?> writer : writers) {
+                writer.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        awaitReceived(1, receivedBefore + (long) threads * evictsPerThread);
+        assertThat(resyncs()).isEqualTo(resyncsBefore);
+    }
+
+    /**
+     * Mensagens entregues fora de ordem (3 antes de 2): o salto descarta o cache uma vez,
+     * e a mensagem atrasada não faz a sequence registrada voltar (a mensagem 4 não é tratada como novo salto).
+     */
+    @Test
+    void lateMessageDoesNotRewindSequence() {
+        long[] resyncsBefore = resyncs();
+        long[] receivedBefore = new long[NODES];
+        for (int n = 0; n < NODES; n++) {
+            receivedBefore[n] = cache(n).getInvalidationsReceived();
+        }
+        LoopbackInvalidationTransport transport = new LoopbackInvalidationTransport(cluster);
+        for (long sequence : new long[]{1, 3, 2, 4}) {
+            transport.publish(new CacheInvalidation("remote-node", sequence, List.of("LATE01"),
+                    CacheInvalidation.ANY_VERSION, 0));
+        }
+
+        for (int n = 0; n < NODES; n++) {
+            awaitReceived(n, receivedBefore[n] + 4);
+            assertThat(cache(n).getResyncs() - resyncsBefore[n]).isEqualTo(1);
+        }
+    }
+
+    private static long[] resyncs() {
+        long[] resyncs = new long[NODES];
+        for (int n = 0; n < NODES; n++) {
+            resyncs[n] = cache(n).getResyncs();
+        }
+        return resyncs;
+    }
+
+    private static void awaitReceived(int node, long expected) {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (cache(node).getInvalidationsReceived() < expected && System.nanoTime() < deadline) {
+            Thread.onSpinWait();
+        }
+        assertThat(cache(node).getInvalidationsReceived()).isGreaterThanOrEqualTo(expected);
+    }
+
+    private static CouponService service(int node) {
+        return nodes.get(node % NODES).getBean(CouponService.class);
+    }
+
+    private static CouponLookupCache cache(int node) {
+        return nodes.get(node).getBean(CouponLookupCache.class);
+    }
+}
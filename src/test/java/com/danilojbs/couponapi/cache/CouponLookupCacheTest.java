@@ -0,0 +1,207 @@
+package com.danilojbs.couponapi.cache;
+
+import com.danilojbs.couponapi.config.LookupCacheProperties;
+import com.danilojbs.couponapi.config.ReplicaDataSourceProperties;
+import com.danilojbs.couponapi.datasource.ReadYourWritesTracker;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Unidade do cache de consulta por código.
+ * Valida o comportamento read-through, a invalidação, o limite de vida pela expiração do cupom
+ * e a aplicação das invalidações recebidas de outras instâncias (versão e sequência).
+ */
+class CouponLookupCacheTest {
+
+    private CouponLookupCache cache;
+    private ReadYourWritesTracker readYourWrites; // Com réplica habilitada: registra os códigos invalidados
+    private AtomicInteger loads; // Quantidade de acessos simulados ao banco
+
+    @BeforeEach
+    void setUp() {
+        readYourWrites = new ReadYourWritesTracker(new ReplicaDataSourceProperties(
+                true, "jdbc:h2:mem:replica", "sa", "", 10, Duration.ofSeconds(5), 100));
+        cache = new CouponLookupCache(properties(), new LocalInvalidationTransport(), readYourWrites, new SimpleMeterRegistry());
+        loads = new AtomicInteger();
+    }
+
+    // Apenas a primeira consulta deve acessar o "banco"; as demais são servidas pela memória
+    @Test
+    void testReadThrough() {
+        CachedCoupon coupon = coupon("ABC123", Instant.now().plusSeconds(3600));
+
+        cache.get("ABC123", code -> load(coupon));
+        CachedCoupon hit = cache.get("ABC123", code -> load(coupon));
+
+        assertThat(hit).isEqualTo(coupon);
+        assertThat(loads).hasValue(1);
+    }
+
+    // Após a invalidação (ex: exclusão do cupom) o próximo acesso volta ao banco
+    @Test
+    void testEvict() {
+        CachedCoupon coupon = coupon("ABC123", Instant.now().plusSeconds(3600));
+        cache.get("ABC123", code -> load(coupon));
+
+        cache.evict("ABC123");
+        cache.get("ABC123", code -> load(coupon));
+
+        assertThat(loads).hasValue(2);
+        assertThat(readYourWrites.requiresPrimary("ABC123")).isTrue();
+    }
+
+    // Operações em lote: os códigos do bloco são removidos com uma única mensagem às demais instâncias
+    @Test
+    void testEvictAllSendsSingleInvalidation() {
+        List<CacheInvalidation> published = new ArrayList<>();
+        CacheInvalidationTransport transport = new CacheInvalidationTransport() {
+            @Override
+            public void publish(CacheInvalidation invalidation) {
+                published.add(invalidation);
+            }
+
+            @Override
+            public void subscribe(Consumer<CacheInvalidation> listener) {
+            }
+        };
+        cache = new CouponLookupCache(properties(), transport, readYourWrites, new SimpleMeterRegistry());
+        cache.get("ABC123", code -> load(CachedCoupon.MISSING));
+        cache.get("DEF456", code -> load(CachedCoupon.MISSING));
+
+        cache.evictAllAfterCommit(List.of("ABC123", "DEF456")); // Sem transação ativa: remoção imediata
+
+        assertThat(cache.nativeCache().asMap()).isEmpty();
+        assertThat(published).singleElement().extracting(CacheInvalidation::codes).isEqualTo(List.of("ABC123", "DEF456"));
+        assertThat(readYourWrites.requiresPrimary("DEF456")).isTrue();
+    }
+
+    // Um cupom nunca permanece em cache além da sua própria data de expiração
+    @Test
+    void testEntryLifetimeCappedByExpirationDate() {
+        CachedCoupon coupon = coupon("ABC123", Instant.now().plusSeconds(30));
+        cache.get("ABC123", code -> load(coupon));
+
+        long lifetime = cache.nativeCache().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("ABC123", TimeUnit.SECONDS).orElseThrow();
+
+        assertThat(lifetime).isLessThanOrEqualTo(30);
+    }
+
+    // Cupons com expiração distante ficam limitados ao TTL configurado
+    @Test
+    void testEntryLifetimeCappedByTtl() {
+        CachedCoupon coupon = coupon("ABC123", Instant.parse("2999-01-01T00:00:00Z"));
+        cache.get("ABC123", code -> load(coupon));
+
+        long lifetime = cache.nativeCache().policy().expireVariably().orElseThrow()
+                .getExpiresAfter("ABC123", TimeUnit.SECONDS).orElseThrow();
+
+        assertThat(lifetime).isBetween(1L, 300L);
+    }
+
+    // Invalidação de outra instância com versão posterior à do cache: a entrada é removida
+    @Test
+    void testRemoteInvalidationOfOlderVersion() {
+        cache.get("ABC123", code -> coupon("ABC123", Instant.now().plusSeconds(3600), 3));
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 1, List.of("ABC123"), 4, 0));
+
+        assertThat(cache.nativeCache().getIfPresent("ABC123")).isNull();
+        assertThat(cache.getInvalidationsReceived()).isEqualTo(1);
+        assertThat(readYourWrites.requiresPrimary("ABC123")).isTrue(); // Recarga lê o banco principal, não a réplica
+    }
+
+    // Mensagem atrasada (versão já conhecida) não descarta um dado mais novo; versão desconhecida sempre descarta
+    @Test
+    void testRemoteInvalidationKeepsNewerVersion() {
+        cache.get("ABC123", code -> coupon("ABC123", Instant.now().plusSeconds(3600), 5));
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 1, List.of("ABC123"), 5, 0));
+        assertThat(cache.nativeCache().getIfPresent("ABC123")).isNotNull();
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 2, List.of("ABC123"), CacheInvalidation.ANY_VERSION, 0));
+        assertThat(cache.nativeCache().getIfPresent("ABC123")).isNull();
+    }
+
+    // Código inexistente em cache (negativo) é sempre removido: a mensagem pode ser a criação do cupom
+    @Test
+    void testRemoteInvalidationRemovesMissingEntry() {
+        cache.get("ABC123", code -> CachedCoupon.MISSING);
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 1, List.of("ABC123"), 1, 0));
+
+        assertThat(cache.nativeCache().getIfPresent("ABC123")).isNull();
+    }
+
+    // Salto na sequência de uma origem (mensagens perdidas): o cache inteiro é descartado
+    @Test
+    void testSequenceGapClearsCache() {
+        cache.get("ABC123", code -> coupon("ABC123", Instant.now().plusSeconds(3600), 1));
+        cache.get("DEF456", code -> coupon("DEF456", Instant.now().plusSeconds(3600), 1));
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 1, List.of("ZZZ999"), 1, 0));
+        assertThat(cache.nativeCache().estimatedSize()).isEqualTo(2);
+
+        cache.onInvalidation(new CacheInvalidation("node-b", 3, List.of("ZZZ999"), 1, 0));
+        assertThat(cache.nativeCache().estimatedSize()).isZero();
+        assertThat(cache.getResyncs()).isEqualTo(1);
+    }
+
+    // Duas instâncias no mesmo canal: a remoção em uma chega à outra (entrega assíncrona), sem voltar à origem
+    @Test
+    void testEvictPropagatesOverLoopback() {
+        String channel = "lookup-test-" + System.nanoTime();
+        LoopbackInvalidationTransport transportA = new LoopbackInvalidationTransport(channel);
+        LoopbackInvalidationTransport transportB = new LoopbackInvalidationTransport(channel);
+        try {
+            CouponLookupCache nodeA = new CouponLookupCache(properties(), transportA, readYourWrites, new SimpleMeterRegistry());
+            CouponLookupCache nodeB = new CouponLookupCache(properties(), transportB, readYourWrites, new SimpleMeterRegistry());
+            nodeB.get("ABC123", code -> coupon("ABC123", Instant.now().plusSeconds(3600), 1));
+
+            nodeA.evict("ABC123");
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+            while (nodeB.nativeCache().getIfPresent("ABC123") != null && System.nanoTime() < deadline) {
+                Thread.onSpinWait();
+            }
+            assertThat(nodeB.nativeCache().getIfPresent("ABC123")).isNull();
+            assertThat(nodeA.getInvalidationsReceived()).isZero();
+        } finally {
+            transportA.destroy();
+            transportB.destroy();
+        }
+    }
+
+    private LookupCacheProperties properties() {
+        return new LookupCacheProperties(100, Duration.ofMinutes(5), Duration.ofSeconds(5), "none", "coupon-lookup");
+    }
+
+    private CachedCoupon load(CachedCoupon value) {
+        loads.incrementAndGet();
+        return value;
+    }
+
+    private CachedCoupon coupon(String code, Instant expiration) {
+        return coupon(code, expiration, 0);
+    }
+
+    private CachedCoupon coupon(String code, Instant expiration, long version) {
+        return new CachedCoupon(
+                new CouponResponseDTO("1", code, "Cupom Teste", BigDecimal.ONE, expiration, true),
+                CouponStatus.ACTIVE, false, version);
+    }
+}
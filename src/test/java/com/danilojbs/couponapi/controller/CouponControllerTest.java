@@ -1,27 +1,68 @@
 package com.danilojbs.couponapi.controller;
 
 import com.danilojbs.couponapi.controller.exception.GlobalExceptionHandler;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.BulkCreateItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkCreateResponseDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteRequestDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteResponseDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationRequestDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationResponseDTO;
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
 import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
 import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore.IdempotentResult;
+import com.danilojbs.couponapi.importer.CouponImportService;
+import com.danilojbs.couponapi.importer.ImportFormat;
+import com.danilojbs.couponapi.importer.ImportJob;
+import com.danilojbs.couponapi.importer.ImportJobNotFoundException;
+import com.danilojbs.couponapi.importer.ImportTooLargeException;
+import com.danilojbs.couponapi.service.CouponBulkService;
+import com.danilojbs.couponapi.service.CouponQueryService;
 import com.danilojbs.couponapi.service.CouponService;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.util.unit.DataSize;
+import tools.jackson.databind.json.JsonMapper;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.List;
+import java.util.function.Consumer;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doNothing;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.patch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
@@ -36,6 +77,21 @@ class CouponControllerTest {
     @Mock
     private CouponService service; // Mock do serviço para simulação dos cenários
 
+    @Mock
+    private CouponBulkService bulkService; // Mock do serviço de criação em lote
+
+    @Mock
+    private CouponQueryService queryService; // Mock do serviço de leitura
+
+    @Spy
+    private tools.jackson.databind.ObjectMapper jsonMapper = JsonMapper.builder().findAndAddModules().build(); // Leitura do corpo em stream
+
+    @Mock
+    private IdempotencyStore idempotencyStore; // Mock do armazenamento de Idempotency-Key
+
+    @Mock
+    private CouponImportService importService; // Mock da importação de arquivos
+
     @InjectMocks
     private CouponController controller;
 
@@ -47,7 +103,7 @@ class CouponControllerTest {
         // standaloneSetup: Configura o MockMvc apenas para este Controller.
         // Inclui o GlobalExceptionHandler para que o teste seja realista com o comportamento da aplicação.
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new CouponMetrics(new SimpleMeterRegistry())))
                 .build();
         // Configuração do Jackson para lidar com a data Instant
         objectMapper = new ObjectMapper();
@@ -103,4 +159,259 @@ class CouponControllerTest {
         mockMvc.perform(delete("/api/coupons/{id}", id))
                 .andExpect(status().isNoContent()); // HTTP 204
     }
+
+    // Publicação e despublicação individuais: 204 (No Content), sem corpo
+    @Test
+    void testPublishAndUnpublishCoupon() throws Exception {
+        mockMvc.perform(patch("/api/coupons/{id}/publish", "1"))
+                .andExpect(status().isNoContent());
+        mockMvc.perform(patch("/api/coupons/{id}/unpublish", "1"))
+                .andExpect(status().isNoContent());
+
+        verify(service).changePublication("1", true);
+        verify(service).changePublication("1", false);
+    }
+
+    /**
+     * Teste da validação por código:
+     * Valida se a API retorna 200 (OK) com o resultado da validação.
+     */
+    @Test
+    void testValidateByCode() throws Exception {
+        CouponResponseDTO coupon = new CouponResponseDTO("1", "ABC123", "Cupom Teste",
+                BigDecimal.ONE, Instant.now().plusSeconds(3600), true);
+        when(service.validateCode("ABC-123")).thenReturn(CouponValidationResponseDTO.valid(coupon));
+
+        mockMvc.perform(get("/api/coupons/by-code/{code}", "ABC-123"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.valid").value(true))
+                .andExpect(jsonPath("$.coupon.code").value("ABC123"));
+    }
+
+    /**
+     * Teste da listagem paginada:
+     * Valida o repasse dos filtros e do cursor e o retorno do nextCursor.
+     */
+    @Test
+    void testListCoupons() throws Exception {
+        CouponResponseDTO coupon = new CouponResponseDTO("1", "ABC123", "Cupom Teste",
+                BigDecimal.ONE, Instant.now().plusSeconds(3600), true);
+        CouponFilterDTO filter = new CouponFilterDTO(CouponStatus.ACTIVE, true, null, null);
+        when(queryService.list(eq(filter), eq("0"), eq(1)))
+                .thenReturn(new CouponPageResponseDTO(List.of(coupon), "1"));
+
+        mockMvc.perform(get("/api/coupons")
+                        .param("status", "ACTIVE")
+                        .param("published", "true")
+                        .param("after", "0")
+                        .param("size", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].code").value("ABC123"))
+                .andExpect(jsonPath("$.nextCursor").value("1"));
+    }
+
+    /**
+     * Teste da exportação em CSV:
+     * A resposta é escrita de forma assíncrona (StreamingResponseBody), linha a linha.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testExportCsv() throws Exception {
+        CouponResponseDTO coupon = new CouponResponseDTO("1", "ABC123", "Cupom, \"Teste\"",
+                new BigDecimal("0.5"), Instant.parse("2999-01-01T00:00:00Z"), true);
+        doAnswer(invocation -> {
+            invocation.<Consumer<CouponResponseDTO>>getArgument(1).accept(coupon);
+            return null;
+        }).when(queryService).export(any(CouponFilterDTO.class), any(Consumer.class));
+
+        var result = mockMvc.perform(get("/api/coupons/export").accept("text/csv"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().string(
+                        "id,code,description,discountValue,expirationDate,published\n"
+                                + "1,ABC123,\"Cupom, \"\"Teste\"\"\",0.5,2999-01-01T00:00:00Z,true\n"));
+    }
+
+    /**
+     * Teste da criação em lote via NDJSON:
+     * Valida se cada linha do corpo é entregue ao serviço e se o resumo é retornado.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBulkNdjson() throws Exception {
+        String body = """
+                {"code":"AAA111","description":"Lote 1","discountValue":1,"expirationDate":"2999-01-01T00:00:00Z"}
+                {"code":"BBB222","description":"Lote 2","discountValue":1,"expirationDate":"2999-01-01T00:00:00Z"}
+                """;
+
+        when(bulkService.createAll(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<CreateCouponRequestDTO> requests = invocation.getArgument(0);
+            List<String> codes = new java.util.ArrayList<>();
+            requests.forEachRemaining(r -> codes.add(r.getCode()));
+            assertThat(codes).containsExactly("AAA111", "BBB222");
+            return BulkCreateResponseDTO.of(List.of(
+                    new BulkCreateItemResultDTO(0, BulkCreateItemResultDTO.CREATED, "AAA111", "1", null),
+                    BulkCreateItemResultDTO.rejected(1, "BBB222", "Coupon code already exists.")
+            ));
+        });
+
+        mockMvc.perform(post("/api/coupons/bulk")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content(body))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[1].error").value("Coupon code already exists."));
+    }
+
+    /**
+     * Teste da criação em lote via array JSON com payload malformado:
+     * Valida se a API retorna 400 (Bad Request).
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBulkMalformedJson() throws Exception {
+        when(bulkService.createAll(any(Iterator.class))).thenAnswer(invocation -> {
+            Iterator<CreateCouponRequestDTO> requests = invocation.getArgument(0);
+            requests.forEachRemaining(r -> { });
+            return BulkCreateResponseDTO.of(List.of());
+        });
+
+        mockMvc.perform(post("/api/coupons/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[{\"code\": \"ABC123\"},"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.message").value("Malformed request body"));
+    }
+
+    /**
+     * Teste da importação de arquivo CSV:
+     * Valida se o arquivo é entregue ao serviço e se a API retorna 202 (Accepted) com o endereço do progresso.
+     */
+    @Test
+    void testImportCsv() throws Exception {
+        ImportJob job = mock(ImportJob.class);
+        when(job.getId()).thenReturn("job-1");
+        when(job.getFormat()).thenReturn(ImportFormat.CSV);
+        when(job.getState()).thenReturn(ImportJob.State.QUEUED);
+        when(job.getTotalBytes()).thenReturn(64L);
+        when(importService.start(eq(ImportFormat.CSV), any(InputStream.class), anyLong())).thenReturn(job);
+        when(importService.find("job-1")).thenReturn(job);
+
+        mockMvc.perform(post("/api/coupons/imports")
+                        .contentType("text/csv")
+                        .content("code,description\nABC123,Teste\n"))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/coupons/imports/job-1"))
+                .andExpect(jsonPath("$.state").value("QUEUED"))
+                .andExpect(jsonPath("$.format").value("CSV"));
+
+        mockMvc.perform(get("/api/coupons/imports/job-1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.id").value("job-1"))
+                .andExpect(jsonPath("$.totalBytes").value(64));
+    }
+
+    // Arquivo de importação acima de coupon.import.max-size: 413
+    @Test
+    void testImportTooLarge() throws Exception {
+        when(importService.start(eq(ImportFormat.NDJSON), any(InputStream.class), anyLong()))
+                .thenThrow(new ImportTooLargeException(DataSize.ofBytes(16)));
+
+        mockMvc.perform(post("/api/coupons/imports")
+                        .contentType(MediaType.APPLICATION_NDJSON)
+                        .content("{\"code\":\"ABC123\"}\n"))
+                .andExpect(status().isContentTooLarge())
+                .andExpect(jsonPath("$.message").value("Import file exceeds the maximum size of 16 bytes."));
+    }
+
+    // Importação inexistente (ou já descartada): 404
+    @Test
+    void testImportNotFound() throws Exception {
+        when(importService.find("missing")).thenThrow(new ImportJobNotFoundException("missing"));
+
+        mockMvc.perform(get("/api/coupons/imports/missing"))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.message").value("Import not found with id: missing"));
+    }
+
+    /**
+     * Teste da exclusão em lote por ids:
+     * Valida se o pedido chega ao serviço e se o resultado por id é retornado.
+     */
+    @Test
+    void testDeleteBulk() throws Exception {
+        when(bulkService.deleteAll(new BulkDeleteRequestDTO(List.of("1", "2"), null, null, null)))
+                .thenReturn(BulkDeleteResponseDTO.of(List.of(
+                        new BulkDeleteItemResultDTO("1", BulkDeleteItemResultDTO.DELETED),
+                        new BulkDeleteItemResultDTO("2", BulkDeleteItemResultDTO.ALREADY_DELETED))));
+
+        mockMvc.perform(post("/api/coupons/bulk-delete")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"1\", \"2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.deleted").value(1))
+                .andExpect(jsonPath("$.alreadyDeleted").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("ALREADY_DELETED"));
+    }
+
+    // Publicação em lote: resumo e resultado por id
+    @Test
+    void testPublishBulk() throws Exception {
+        when(bulkService.changePublicationAll(new BulkPublicationRequestDTO(List.of("1", "2")), true))
+                .thenReturn(BulkPublicationResponseDTO.of(List.of(
+                        new BulkPublicationItemResultDTO("1", BulkPublicationItemResultDTO.UPDATED),
+                        new BulkPublicationItemResultDTO("2", BulkPublicationItemResultDTO.REJECTED))));
+
+        mockMvc.perform(patch("/api/coupons/bulk-publish")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"ids\": [\"1\", \"2\"]}"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.updated").value(1))
+                .andExpect(jsonPath("$.rejected").value(1))
+                .andExpect(jsonPath("$.items[1].status").value("REJECTED"));
+    }
+
+    /**
+     * Teste da criação com generateCode e código ao mesmo tempo:
+     * Valida se a API retorna 400 com o erro no campo "code".
+     */
+    @Test
+    void testCreateCouponGenerateCodeWithCode() throws Exception {
+        String body = """
+                {"code":"ABC123","generateCode":true,"description":"Teste","discountValue":1,"expirationDate":"2999-01-01T00:00:00Z"}
+                """;
+
+        mockMvc.perform(post("/api/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(body))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.code").value("Code must not be sent when generateCode is true"));
+    }
+
+    /**
+     * Teste da criação com Idempotency-Key:
+     * Valida se a resposta repetida é devolvida com o cabeçalho Idempotent-Replayed.
+     */
+    @Test
+    void testCreateCouponIdempotentReplay() throws Exception {
+        CouponResponseDTO response = new CouponResponseDTO("1", "ABC123", "Teste", BigDecimal.ONE,
+                Instant.parse("2999-01-01T00:00:00Z"), true);
+        when(idempotencyStore.execute(eq("order-42"), anyString(), any())).thenReturn(new IdempotentResult(response, true));
+
+        mockMvc.perform(post("/api/coupons")
+                        .header("Idempotency-Key", "order-42")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                                {"code":"ABC123","description":"Teste","discountValue":1,"expirationDate":"2999-01-01T00:00:00Z"}
+                                """))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(jsonPath("$.id").value("1"));
+
+        verify(service, never()).create(any());
+    }
 }
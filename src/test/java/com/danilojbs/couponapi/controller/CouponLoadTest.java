@@ -0,0 +1,118 @@
+package com.danilojbs.couponapi.controller;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de carga HTTP (criação + exclusão) com latências p50/p99 e vazão.
+ * Executado apenas sob demanda, uma vez para cada modo de threads:
+ * ./mvnw test -Dtest=CouponLoadTest -Dbenchmark=true -Dload.clients=100 -Dload.requests=3000
+ * ./mvnw -Pjava21 test -Dtest=CouponLoadTest -Dbenchmark=true -Dload.clients=100 -Dload.requests=3000 -Dspring.threads.virtual.enabled=true
+ * -Dload.clients e -Dload.requests ajustam a carga (padrão: 200 clientes e 10000 ciclos; os valores acima
+ * reproduzem a referência do README).
+ * O limite por cliente fica desligado: todas as requisições partem do mesmo IP.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "coupon.rate-limit.enabled=false")
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CouponLoadTest {
+
+    private static final int CLIENTS = Integer.getInteger("load.clients", 200);
+    private static final int REQUESTS = Integer.getInteger("load.requests", 10_000);
+    private static final Pattern ID = Pattern.compile("\"id\":\"([^\"]+)\"");
+
+    @LocalServerPort
+    private int port;
+
+    @Value("${spring.threads.virtual.enabled}")
+    private boolean virtualThreads;
+
+    @Test
+    void createAndDeleteUnderLoad() throws InterruptedException {
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(CLIENTS))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        long[] createLatencies = new long[REQUESTS];
+        long[] deleteLatencies = new long[REQUESTS];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+
+        ExecutorService clients = Executors.newFixedThreadPool(CLIENTS);
+        long begin = System.nanoTime();
+        for (int c = 0; c < CLIENTS; c++) {
+            clients.submit(() -> {
+                int i;
+                while ((i = next.getAndIncrement()) < REQUESTS) {
+                    try {
+                        long start = System.nanoTime();
+                        HttpResponse<String> created = client.send(createRequest(i), HttpResponse.BodyHandlers.ofString());
+                        createLatencies[i] = System.nanoTime() - start;
+
+                        Matcher id = ID.matcher(created.body());
+                        if (created.statusCode() != 201 || !id.find()) {
+                            failures.incrementAndGet();
+                            continue;
+                        }
+                        start = System.nanoTime();
+                        HttpResponse<Void> deleted = client.send(deleteRequest(id.group(1)), HttpResponse.BodyHandlers.discarding());
+                        deleteLatencies[i] = System.nanoTime() - start;
+                        if (deleted.statusCode() != 204) {
+                            failures.incrementAndGet();
+                        }
+                    } catch (Exception ex) {
+                        failures.incrementAndGet();
+                    }
+                }
+            });
+        }
+        clients.shutdown();
+        assertThat(clients.awaitTermination(10, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        assertThat(failures).hasValue(0);
+        System.out.printf("mode=%s java=%s clients=%d requests=%d throughput=%,.0f create+delete/s%n",
+                virtualThreads ? "virtual" : "platform", Runtime.version().feature(), CLIENTS, REQUESTS, REQUESTS / seconds);
+        System.out.println("create " + percentiles(createLatencies));
+        System.out.println("delete " + percentiles(deleteLatencies));
+    }
+
+    private HttpRequest createRequest(int i) {
+        String code = Integer.toString(i, 36).toUpperCase();
+        String body = """
+                {"code":"L%s","description":"Carga","discountValue":1,"expirationDate":"2999-01-01T00:00:00Z","published":true}
+                """.formatted("00000".substring(code.length()) + code);
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/coupons"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))
+                .build();
+    }
+
+    private HttpRequest deleteRequest(String id) {
+        return HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/api/coupons/" + id)).DELETE().build();
+    }
+
+    private String percentiles(long[] latencies) {
+        long[] sorted = Arrays.stream(latencies).filter(l -> l > 0).sorted().toArray();
+        return String.format("p50=%.2fms p99=%.2fms max=%.2fms",
+                sorted[sorted.length / 2] / 1e6, sorted[(int) (sorted.length * 0.99)] / 1e6, sorted[sorted.length - 1] / 1e6);
+    }
+}
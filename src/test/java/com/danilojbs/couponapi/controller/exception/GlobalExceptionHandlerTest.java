@@ -2,8 +2,12 @@ package com.danilojbs.couponapi.controller.exception;
 
 import com.danilojbs.couponapi.controller.CouponController;
 import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
 import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import com.danilojbs.couponapi.ratelimit.RateLimitExceededException;
 import com.danilojbs.couponapi.service.CouponService;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,9 +18,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.setup.MockMvcBuilders;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.Mockito.doThrow;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -41,7 +48,7 @@ class GlobalExceptionHandlerTest {
         // CONFIGURAÇÃO CHAVE: Registra o Handler manualmente no MockMvc.
         // Sem o setControllerAdvice, o MockMvc ignoraria o Handler e o teste falharia.
         mockMvc = MockMvcBuilders.standaloneSetup(controller)
-                .setControllerAdvice(new GlobalExceptionHandler())
+                .setControllerAdvice(new GlobalExceptionHandler(new CouponMetrics(new SimpleMeterRegistry())))
                 .build();
     }
 
@@ -81,4 +88,68 @@ class GlobalExceptionHandlerTest {
                 .andExpect(status().isNotFound()) // HTTP 404
                 .andExpect(jsonPath("$.error").value("Not Found"));
     }
+
+    // Testa o cenário de alteração concorrente que esgotou as tentativas (HTTP 409).
+    @Test
+    void handleConflict() throws Exception {
+        doThrow(new CouponConflictException("1")).when(service).delete("1");
+
+        mockMvc.perform(delete("/api/coupons/1"))
+                .andExpect(status().isConflict()) // HTTP 409
+                .andExpect(jsonPath("$.message").value("Coupon was modified concurrently, please retry: 1"));
+    }
+
+    // Testa o cenário de cliente acima do limite de requisições (HTTP 429 com Retry-After).
+    @Test
+    void handleRateLimitExceeded() throws Exception {
+        doThrow(new RateLimitExceededException("bulk", 3)).when(service).delete("1");
+        doThrow(new RateLimitExceededException("bulk", 120)).when(service).delete("2");
+
+        mockMvc.perform(delete("/api/coupons/1"))
+                .andExpect(status().isTooManyRequests()) // HTTP 429
+                .andExpect(header().string("Retry-After", "3"))
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.message").value("Rate limit exceeded, retry after 3s."));
+        mockMvc.perform(delete("/api/coupons/2"))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "120"));
+    }
+
+    /**
+     * Corpo montado a partir dos templates pré-serializados:
+     * deve continuar sendo JSON válido, com caracteres especiais da mensagem escapados.
+     */
+    @Test
+    void handleErrorBodyFromTemplate() throws Exception {
+        doThrow(new CouponBusinessException("Invalid \"code\"\n\u00e7")).when(service).delete("1");
+
+        mockMvc.perform(delete("/api/coupons/1"))
+                .andExpect(status().isBadRequest())
+                .andExpect(content().contentType(MediaType.APPLICATION_JSON))
+                .andExpect(jsonPath("$.timestamp").isString())
+                .andExpect(jsonPath("$.status").value(400))
+                .andExpect(jsonPath("$.error").value("Bad Request"))
+                .andExpect(jsonPath("$.message").value("Invalid \"code\"\n\u00e7"));
+    }
+
+    // Vários campos inválidos: um erro por campo no objeto "errors"
+    @Test
+    void handleValidationErrorsPerField() throws Exception {
+        mockMvc.perform(post("/api/coupons")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"code\": \"\", \"discountValue\": 0.1}"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errors.code").isString())
+                .andExpect(jsonPath("$.errors.discountValue").isString())
+                .andExpect(jsonPath("$.errors.description").isString());
+    }
+
+    // Exceções de domínio são recusas esperadas: criadas sem stack trace
+    @Test
+    void domainExceptionsAreStackless() {
+        assertThat(new CouponNotFoundException("1").getStackTrace()).isEmpty();
+        assertThat(new CouponBusinessException("x").getStackTrace()).isEmpty();
+        assertThat(new CouponConflictException("1").getStackTrace()).isEmpty();
+        assertThat(new RateLimitExceededException("bulk", 1).getStackTrace()).isEmpty();
+    }
 }
@@ -0,0 +1,145 @@
+package com.danilojbs.couponapi.datasource;
+
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.service.CouponQueryService;
+import com.danilojbs.couponapi.service.CouponService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração do roteamento leitura/escrita com dois bancos H2 locais (principal e réplica).
+ * A replicação é feita pelo próprio teste (replicate()): até lá, a réplica representa uma réplica atrasada.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:routing-primary;DB_CLOSE_DELAY=-1",
+        "coupon.datasource.replica.enabled=true",
+        "coupon.datasource.replica.url=jdbc:h2:mem:routing-replica;DB_CLOSE_DELAY=-1",
+        "coupon.datasource.replica.read-your-writes-window=500ms",
+        "coupon.expiration.enabled=false",
+        "coupon.outbox.enabled=false"
+})
+class ReadWriteRoutingTest {
+
+    @Autowired
+    private CouponService service;
+
+    @Autowired
+    private CouponQueryService queryService;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private ReadYourWritesTracker readYourWrites;
+
+    @Autowired
+    @Qualifier("primaryDataSource")
+    private DataSource primaryDataSource;
+
+    @Autowired
+    @Qualifier("replicaDataSource")
+    private DataSource replicaDataSource;
+
+    private JdbcTemplate primary;
+    private JdbcTemplate replica;
+
+    // Esquema da réplica (em produção, replicado do principal) e tabela ligada ao principal para a replicação simulada
+    @BeforeEach
+    void setUp() {
+        Flyway.configure().dataSource(replicaDataSource).load().migrate();
+        primary = new JdbcTemplate(primaryDataSource);
+        replica = new JdbcTemplate(replicaDataSource);
+        replica.execute("create linked table if not exists primary_coupons"
+                + "('org.h2.Driver', 'jdbc:h2:mem:routing-primary', 'sa', '', 'COUPONS')");
+    }
+
+    // Escritas vão ao principal; a réplica só recebe os dados quando "replica"
+    @Test
+    void writesGoToPrimary() {
+        service.create(request("RWP001"));
+
+        assertThat(count(primary, "RWP001")).isEqualTo(1);
+        assertThat(count(replica, "RWP001")).isZero();
+    }
+
+    // Transações somente leitura (listagem) são atendidas pela réplica
+    @Test
+    void readOnlyTransactionsGoToReplica() {
+        service.create(request("RWL001"));
+        assertThat(listedCodes()).doesNotContain("RWL001"); // Réplica ainda sem o cupom
+
+        replicate();
+
+        assertThat(listedCodes()).contains("RWL001");
+    }
+
+    // Logo após a criação, a consulta pelo código lê o principal: não devolve 404 nem guarda um cache negativo
+    @Test
+    void readYourWritesAfterCreate() throws InterruptedException {
+        service.create(request("RWC001"));
+
+        CouponValidationResponseDTO validation = service.validateCode("RWC001");
+        assertThat(validation.valid()).isTrue();
+
+        // Fora da janela, a leitura volta para a réplica (ainda sem o cupom)
+        Thread.sleep(700);
+        assertThat(readYourWrites.requiresPrimary("RWC001")).isFalse();
+        assertThat(readYourWrites.read("RWC001", () -> repository.findByCode("RWC001"))).isEmpty();
+    }
+
+    // Logo após a exclusão, a consulta pelo código não volta a servir o estado ACTIVE ainda presente na réplica
+    @Test
+    void readYourWritesAfterDelete() throws InterruptedException {
+        CouponResponseDTO created = service.create(request("RWD001"));
+        replicate();
+        Thread.sleep(700); // Janela da criação encerrada: leituras na réplica
+        assertThat(service.validateCode("RWD001").valid()).isTrue();
+
+        service.delete(created.id());
+
+        CouponValidationResponseDTO validation = service.validateCode("RWD001");
+        assertThat(validation.valid()).isFalse();
+        assertThat(validation.reason()).isEqualTo("DELETED");
+        assertThat(replica.queryForObject("select status from coupons where code = 'RWD001'", String.class))
+                .isEqualTo("ACTIVE"); // Réplica ainda atrasada
+    }
+
+    private void replicate() {
+        replica.execute("merge into coupons key(id) select * from primary_coupons");
+    }
+
+    private List<String> listedCodes() {
+        return queryService.list(new CouponFilterDTO(null, null, null, null), null, CouponQueryService.MAX_PAGE_SIZE)
+                .items().stream().map(CouponResponseDTO::code).toList();
+    }
+
+    private int count(JdbcTemplate jdbc, String code) {
+        return jdbc.queryForObject("select count(*) from coupons where code = ?", Integer.class, code);
+    }
+
+    private CreateCouponRequestDTO request(String code) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(code);
+        request.setDescription("Roteamento");
+        request.setDiscountValue(BigDecimal.ONE);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
@@ -0,0 +1,144 @@
+package com.danilojbs.couponapi.datasource;
+
+import com.danilojbs.couponapi.CouponapiApplication;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.service.CouponBulkService;
+import com.danilojbs.couponapi.service.CouponQueryService;
+import com.danilojbs.couponapi.service.CouponService;
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de vazão com carga mista (listagens + criações): banco único x principal + réplica de leitura.
+ * Cada modo sobe seu próprio contexto sobre bancos H2 em memória recém-criados, com a mesma massa inicial
+ * e o mesmo total de conexões (banco único com 20, principal e réplica com 10 cada).
+ * Executado apenas sob demanda: ./mvnw test -Dtest=ReadWriteRoutingThroughputTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class ReadWriteRoutingThroughputTest {
+
+    private static final int COUPONS = Integer.getInteger("benchmark.coupons", 20_000);
+    private static final int THREADS = Integer.getInteger("benchmark.threads", 16);
+    private static final int WRITE_PERCENT = Integer.getInteger("benchmark.write-percent", 20);
+    private static final int SECONDS = Integer.getInteger("benchmark.seconds", 10);
+
+    private record Result(double reads, double writes) {
+    }
+
+    @Test
+    void compareSingleAndRoutedThroughput() throws InterruptedException {
+        // Primeira rodada apenas aquece a JVM (JIT), em ordem inversa para não favorecer nenhum dos modos
+        run(true);
+        run(false);
+        Result single = run(false);
+        Result routed = run(true);
+
+        System.out.printf("mixed load (%d threads, %d%% writes): single %,.0f reads/s + %,.0f writes/s | "
+                        + "primary + replica %,.0f reads/s + %,.0f writes/s | total speedup: %.2fx%n",
+                THREADS, WRITE_PERCENT, single.reads(), single.writes(), routed.reads(), routed.writes(),
+                (routed.reads() + routed.writes()) / (single.reads() + single.writes()));
+    }
+
+    private Result run(boolean replica) throws InterruptedException {
+        String name = (replica ? "routed-" : "single-") + System.nanoTime();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:" + name + ";DB_CLOSE_DELAY=-1",
+                "--coupon.expiration.enabled=false",
+                "--coupon.outbox.enabled=false"));
+        if (!replica) {
+            args.add("--spring.datasource.hikari.maximum-pool-size=20"); // Mesmo total de conexões dos dois pools (10 + 10)
+        } else {
+            args.add("--coupon.datasource.replica.enabled=true");
+            args.add("--coupon.datasource.replica.url=jdbc:h2:mem:" + name + "-replica;DB_CLOSE_DELAY=-1");
+        }
+
+        try (ConfigurableApplicationContext context = new SpringApplicationBuilder(CouponapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(args.toArray(String[]::new))) {
+            assertThat(context.getBean(CouponBulkService.class).createAll(requests(COUPONS).iterator()).created())
+                    .isEqualTo(COUPONS);
+            if (replica) {
+                DataSource replicaDataSource = context.getBean("replicaDataSource", DataSource.class);
+                Flyway.configure().dataSource(replicaDataSource).load().migrate();
+                JdbcTemplate jdbc = new JdbcTemplate(replicaDataSource);
+                jdbc.execute("create linked table primary_coupons('org.h2.Driver', 'jdbc:h2:mem:" + name + "', 'sa', '', 'COUPONS')");
+                jdbc.execute("insert into coupons select * from primary_coupons"); // Réplica em dia no início da medição
+            }
+            return measure(context.getBean(CouponService.class), context.getBean(CouponQueryService.class));
+        }
+    }
+
+    private Result measure(CouponService service, CouponQueryService queryService) throws InterruptedException {
+        LongAdder reads = new LongAdder();
+        LongAdder writes = new LongAdder();
+        AtomicBoolean running = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CouponFilterDTO filter = new CouponFilterDTO(CouponStatus.ACTIVE, null, null, null);
+
+        for (int t = 0; t < THREADS; t++) {
+            executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                while (running.get()) {
+                    if (random.nextInt(100) < WRITE_PERCENT) {
+                        service.create(generated());
+                        writes.increment();
+                    } else {
+                        queryService.list(filter, null, CouponQueryService.DEFAULT_PAGE_SIZE);
+                        reads.increment();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        Thread.sleep(TimeUnit.SECONDS.toMillis(SECONDS));
+        running.set(false);
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        return new Result(reads.sum() / (double) SECONDS, writes.sum() / (double) SECONDS);
+    }
+
+    private List<CreateCouponRequestDTO> requests(int count) {
+        List<CreateCouponRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            requests.add(generated());
+        }
+        return requests;
+    }
+
+    // Código gerado pela aplicação: sem colisões entre as threads
+    private CreateCouponRequestDTO generated() {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setGenerateCode(true);
+        request.setDescription("Benchmark");
+        request.setDiscountValue(BigDecimal.ONE);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
@@ -0,0 +1,118 @@
+package com.danilojbs.couponapi.domain;
+
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.validation.CouponCodeValidator;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.Random;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Testes baseados em propriedades do CouponCodes.
+ * Gera milhares de entradas aleatórias (semente fixa, reproduzível) e compara o normalizador manual
+ * com a implementação original via regex, além da equivalência entre a validação do DTO e da entidade.
+ */
+class CouponCodesTest {
+
+    private static final Pattern ORIGINAL = Pattern.compile("[^a-zA-Z0-9]");
+    private static final long SEED = 20_240_501L;
+    private static final int SAMPLES = 20_000;
+
+    // Alfabeto de geração: alfanuméricos, pontuação, espaços, acentos, Unicode fora do BMP e controle
+    private static final String[] ALPHABETS = {
+            "abcdefghijklmnopqrstuvwxyzABCDEFGHIJKLMNOPQRSTUVWXYZ0123456789",
+            "-_.@#!$%&*()[]{}/\\|:;,'\"`~^+=<>? \t\n",
+            "áéíóúçãõÁÉÍÓÚÇÃÕñÑüÜ",
+            "🎟😀 –\u0000\u007FＡ０"
+    };
+
+    private final Random random = new Random(SEED);
+
+    // Propriedade 1: normalize(x) == x.replaceAll("[^a-zA-Z0-9]", "") para qualquer entrada
+    @Test
+    void normalizeMatchesRegexSemantics() {
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomString();
+            assertThat(CouponCodes.normalize(input))
+                    .as("sample %d: [%s]", i, input)
+                    .isEqualTo(ORIGINAL.matcher(input).replaceAll(""));
+        }
+    }
+
+    // Propriedade 2: normalizedLength(x) == normalize(x).length(), sem criar a String
+    @Test
+    void normalizedLengthMatchesNormalize() {
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomString();
+            assertThat(CouponCodes.normalizedLength(input))
+                    .as("sample %d: [%s]", i, input)
+                    .isEqualTo(CouponCodes.normalize(input).length());
+        }
+    }
+
+    // Propriedade 3: normalização é idempotente e devolve a mesma instância quando já normalizado
+    @Test
+    void normalizeIsIdempotentAndAllocationFreeWhenClean() {
+        for (int i = 0; i < SAMPLES; i++) {
+            String normalized = CouponCodes.normalize(randomString());
+            assertThat(CouponCodes.normalize(normalized)).isSameAs(normalized);
+        }
+    }
+
+    // Propriedade 4: o validador do DTO aceita um código se, e somente se, a entidade também aceita
+    @Test
+    void dtoValidatorAgreesWithEntity() {
+        CouponCodeValidator validator = new CouponCodeValidator();
+        Instant expiration = Instant.now().plusSeconds(3600);
+        for (int i = 0; i < SAMPLES; i++) {
+            String input = randomCodeLike();
+            boolean entityAccepts;
+            try {
+                new Coupon(input, "Cupom", BigDecimal.ONE, expiration, true);
+                entityAccepts = true;
+            } catch (CouponBusinessException ex) {
+                entityAccepts = false;
+            }
+            assertThat(validator.isValid(input, null)).as("sample %d: [%s]", i, input).isEqualTo(entityAccepts);
+        }
+    }
+
+    // Casos de borda explícitos
+    @Test
+    void edgeCases() {
+        assertThat(CouponCodes.normalize(null)).isNull();
+        assertThat(CouponCodes.normalize("")).isEmpty();
+        assertThat(CouponCodes.normalize("------")).isEmpty();
+        assertThat(CouponCodes.normalize("ABC-123")).isEqualTo("ABC123");
+        assertThat(CouponCodes.normalize("-ABC123")).isEqualTo("ABC123");
+        assertThat(CouponCodes.normalize("ABC123-")).isEqualTo("ABC123");
+        assertThat(CouponCodes.isValidDiscount(new BigDecimal("0.50"))).isTrue();
+        assertThat(CouponCodes.isValidDiscount(new BigDecimal("0.49"))).isFalse();
+        assertThat(CouponCodes.isValidDiscount(null)).isFalse();
+    }
+
+    private String randomString() {
+        int length = random.nextInt(16);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            String alphabet = ALPHABETS[random.nextInt(ALPHABETS.length)];
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+
+    // Entradas próximas de códigos reais (4 a 9 caracteres, maioria alfanumérica) para exercitar a fronteira de 6
+    private String randomCodeLike() {
+        int length = 4 + random.nextInt(6);
+        StringBuilder builder = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            String alphabet = random.nextInt(4) == 0 ? ALPHABETS[1 + random.nextInt(3)] : ALPHABETS[0];
+            builder.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return builder.toString();
+    }
+}
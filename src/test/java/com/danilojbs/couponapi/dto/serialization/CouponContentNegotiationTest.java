@@ -0,0 +1,99 @@
+package com.danilojbs.couponapi.dto.serialization;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.jackson.JacksonComponentModule;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração da negociação de conteúdo das respostas de cupons:
+ * JSON por padrão e CBOR com "Accept: application/cbor", ambos com o mesmo documento.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"coupon.expiration.enabled=false", "coupon.rate-limit.enabled=false"})
+class CouponContentNegotiationTest {
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private CBORMapper cborMapper;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @BeforeEach
+    void setUp() {
+        if (repository.findByCode("NEG001").isEmpty()) {
+            repository.saveAndFlush(new Coupon("NEG001", "Negociação", new BigDecimal("12.50"),
+                    Instant.parse("2999-01-01T10:00:00.250Z"), true));
+        }
+    }
+
+    @Test
+    void lookupNegotiatesJsonAndCbor() throws Exception {
+        HttpResponse<byte[]> json = get("/api/coupons/by-code/NEG001", "application/json");
+        HttpResponse<byte[]> cbor = get("/api/coupons/by-code/NEG001", "application/cbor");
+
+        assertThat(json.statusCode()).isEqualTo(200);
+        assertThat(cbor.statusCode()).isEqualTo(200);
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+
+        JsonNode fromJson = objectMapper.readTree(json.body());
+        JsonNode fromCbor = cborMapper.readTree(cbor.body());
+        for (JsonNode node : List.of(fromJson, fromCbor)) {
+            assertThat(node.get("valid").asBoolean()).isTrue();
+            assertThat(node.get("coupon").get("code").asString()).isEqualTo("NEG001");
+            assertThat(node.get("coupon").get("description").asString()).isEqualTo("Negociação");
+            assertThat(node.get("coupon").get("discountValue").decimalValue()).isEqualByComparingTo("12.50");
+            assertThat(node.get("coupon").get("expirationDate").asString()).isEqualTo("2999-01-01T10:00:00.250Z");
+        }
+        assertThat(cbor.body().length).isLessThan(json.body().length);
+    }
+
+    // Sem Accept (ou com */*), a resposta continua em JSON; a listagem também aceita CBOR
+    @Test
+    void jsonRemainsTheDefault() throws Exception {
+        HttpResponse<byte[]> any = get("/api/coupons?size=5", "*/*");
+        HttpResponse<byte[]> cbor = get("/api/coupons?size=5", "application/cbor");
+
+        assertThat(any.headers().firstValue("Content-Type")).hasValue("application/json");
+        assertThat(cbor.headers().firstValue("Content-Type")).hasValue("application/cbor");
+        assertThat(cborMapper.readTree(cbor.body()).get("items").size())
+                .isEqualTo(objectMapper.readTree(any.body()).get("items").size());
+    }
+
+    // Os serializers dedicados (@JacksonComponent) estão registrados nos dois mappers usados pelos conversores
+    @Test
+    void bothMappersRegisterJacksonComponents() {
+        assertThat(objectMapper.registeredModules()).hasAtLeastOneElementOfType(JacksonComponentModule.class);
+        assertThat(cborMapper.registeredModules()).hasAtLeastOneElementOfType(JacksonComponentModule.class);
+    }
+
+    private HttpResponse<byte[]> get(String path, String accept) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + port + path))
+                .header("Accept", accept).GET().build(), HttpResponse.BodyHandlers.ofByteArray());
+    }
+}
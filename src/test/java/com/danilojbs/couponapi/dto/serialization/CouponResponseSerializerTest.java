@@ -0,0 +1,92 @@
+package com.danilojbs.couponapi.dto.serialization;
+
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.databind.module.SimpleModule;
+import tools.jackson.dataformat.cbor.CBORMapper;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Teste de Unidade dos serializers dedicados: mesmos bytes da serialização padrão do Jackson (JSON e CBOR)
+class CouponResponseSerializerTest {
+
+    private static final SimpleModule MODULE = new SimpleModule()
+            .addSerializer(new CouponResponseSerializer())
+            .addSerializer(new CouponValidationResponseSerializer());
+
+    private final ObjectMapper defaultJson = JsonMapper.builder().build();
+    private final ObjectMapper fastJson = JsonMapper.builder().addModule(MODULE).build();
+    private final ObjectMapper defaultCbor = CBORMapper.builder().build();
+    private final ObjectMapper fastCbor = CBORMapper.builder().addModule(MODULE).build();
+
+    private static final List<CouponResponseDTO> COUPONS = List.of(
+            coupon("10.00", Instant.parse("2030-01-01T00:00:00Z"), true),
+            coupon("0.5", Instant.parse("2030-06-15T13:45:07.120Z"), false),
+            coupon("1E+3", Instant.parse("2030-06-15T13:45:07.000123Z"), true),
+            coupon("99.999", Instant.parse("1969-12-31T23:59:59.999999999Z"), true),
+            coupon("1", Instant.parse("0000-01-01T00:00:00Z"), true),
+            coupon("1", Instant.parse("9999-12-31T23:59:59.5Z"), true),
+            coupon("1", Instant.MAX, true), // Fora de 0000-9999: Instant.toString
+            coupon("1", Instant.parse("-0001-12-31T23:59:59Z"), true),
+            new CouponResponseDTO((String) null, "NUL001", "Aspas \"e\" acentuação ✓", null, null, null)
+    );
+
+    @Test
+    void writesSameJsonAsDefaultSerialization() {
+        for (CouponResponseDTO coupon : COUPONS) {
+            assertThat(new String(fastJson.writeValueAsBytes(coupon)))
+                    .isEqualTo(new String(defaultJson.writeValueAsBytes(coupon)));
+        }
+        Object[] containers = {
+                CouponValidationResponseDTO.valid(COUPONS.get(0)),
+                CouponValidationResponseDTO.invalid(COUPONS.get(1), "EXPIRED"),
+                new CouponValidationResponseDTO("NUL001", false, "DELETED", null),
+                new CouponPageResponseDTO(COUPONS, "cursor")
+        };
+        for (Object container : containers) {
+            assertThat(new String(fastJson.writeValueAsBytes(container)))
+                    .isEqualTo(new String(defaultJson.writeValueAsBytes(container)));
+        }
+    }
+
+    @Test
+    void writesSameCborAsDefaultSerialization() {
+        for (CouponResponseDTO coupon : COUPONS) {
+            assertThat(fastCbor.writeValueAsBytes(coupon)).isEqualTo(defaultCbor.writeValueAsBytes(coupon));
+        }
+        CouponValidationResponseDTO lookup = CouponValidationResponseDTO.valid(COUPONS.get(1));
+        assertThat(fastCbor.writeValueAsBytes(lookup)).isEqualTo(defaultCbor.writeValueAsBytes(lookup));
+    }
+
+    @Test
+    void formatsInstantsLikeIsoInstant() {
+        SplittableRandom random = new SplittableRandom(42);
+        char[] buffer = new char[30];
+        long min = Instant.parse("0000-01-01T00:00:00Z").getEpochSecond();
+        long max = Instant.parse("9999-12-31T23:59:59Z").getEpochSecond();
+        int[] nanoScales = {0, 1_000_000, 1000, 1};
+        for (int i = 0; i < 100_000; i++) {
+            long seconds = random.nextLong(min, max + 1);
+            int scale = nanoScales[i % nanoScales.length];
+            int nano = scale == 0 ? 0 : random.nextInt(1_000_000_000 / scale) * scale;
+            Instant instant = Instant.ofEpochSecond(seconds, nano);
+
+            int length = CouponResponseSerializer.formatInstant(seconds, nano, buffer);
+            assertThat(new String(buffer, 0, length)).isEqualTo(instant.toString());
+        }
+    }
+
+    private static CouponResponseDTO coupon(String discount, Instant expiration, boolean published) {
+        return new CouponResponseDTO("0b6f2c7e-4f0e-4a55-9a51-6f0c1f5b7e21", "ABC123", "Cupom de teste",
+                new BigDecimal(discount), expiration, published);
+    }
+}
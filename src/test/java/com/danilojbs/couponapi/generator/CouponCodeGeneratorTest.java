@@ -0,0 +1,86 @@
+package com.danilojbs.couponapi.generator;
+
+import com.danilojbs.couponapi.domain.CouponCodes;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigInteger;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de Unidade do gerador de códigos.
+ * A sequence do banco é simulada por um contador em memória.
+ */
+class CouponCodeGeneratorTest {
+
+    // A permutação só é uma bijeção se o multiplicador for coprimo com o tamanho do espaço
+    @Test
+    void permutationIsBijective() {
+        BigInteger multiplier = BigInteger.valueOf((CouponCodeGenerator.permute(1) - CouponCodeGenerator.permute(0)
+                + CouponCodeGenerator.KEYSPACE) % CouponCodeGenerator.KEYSPACE);
+
+        assertThat(CouponCodeGenerator.KEYSPACE).isEqualTo(2_176_782_336L);
+        assertThat(multiplier.gcd(BigInteger.valueOf(CouponCodeGenerator.KEYSPACE))).isEqualTo(BigInteger.ONE);
+    }
+
+    @Test
+    void encodesSixBase36Characters() {
+        assertThat(CouponCodeGenerator.encode(0)).isEqualTo("000000");
+        assertThat(CouponCodeGenerator.encode(35)).isEqualTo("00000Z");
+        assertThat(CouponCodeGenerator.encode(CouponCodeGenerator.KEYSPACE - 1)).isEqualTo("ZZZZZZ");
+    }
+
+    /**
+     * Várias threads disputando blocos pequenos (muitas reservas):
+     * todos os códigos são distintos e válidos para a entidade.
+     */
+    @Test
+    void generatesUniqueCodesConcurrently() throws InterruptedException {
+        AtomicLong blocks = new AtomicLong();
+        AtomicInteger reservations = new AtomicInteger();
+        CouponCodeGenerator generator = new CouponCodeGenerator(() -> {
+            reservations.incrementAndGet();
+            return blocks.getAndIncrement();
+        }, 7);
+        Set<String> codes = ConcurrentHashMap.newKeySet();
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                for (int i = 0; i < 25_000; i++) {
+                    codes.add(generator.next());
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(30, TimeUnit.SECONDS)).isTrue();
+
+        assertThat(codes).hasSize(200_000);
+        assertThat(codes).allMatch(code -> CouponCodes.isValidCode(code) && code.equals(CouponCodes.normalize(code)));
+        assertThat(reservations.get()).isEqualTo((200_000 + 6) / 7); // Nenhum bloco reservado e desperdiçado
+    }
+
+    // O último bloco é parcial e, depois dele, o espaço está esgotado
+    @Test
+    void failsWhenKeyspaceIsExhausted() {
+        int blockSize = 1_000_000;
+        long lastBlock = CouponCodeGenerator.KEYSPACE / blockSize;
+        AtomicLong blocks = new AtomicLong(lastBlock);
+        CouponCodeGenerator generator = new CouponCodeGenerator(blocks::getAndIncrement, blockSize);
+
+        long remaining = CouponCodeGenerator.KEYSPACE - lastBlock * blockSize;
+        for (long i = 0; i < remaining; i++) {
+            generator.next();
+        }
+
+        assertThrows(IllegalStateException.class, generator::next);
+    }
+}
@@ -0,0 +1,114 @@
+package com.danilojbs.couponapi.idempotency;
+
+import com.danilojbs.couponapi.config.IdempotencyProperties;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore.IdempotentResult;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de Unidade do armazenamento de idempotência em memória.
+ */
+class InMemoryIdempotencyStoreTest {
+
+    private final InMemoryIdempotencyStore store = new InMemoryIdempotencyStore(
+            new IdempotencyProperties("memory", Duration.ofHours(1), 1000, Duration.ofSeconds(5), Duration.ofMillis(50), Duration.ofSeconds(10)));
+
+    private final CouponResponseDTO response = new CouponResponseDTO(
+            "1", "ABC123", "Cupom", BigDecimal.ONE, Instant.now().plusSeconds(3600), true);
+
+    // A repetição devolve a mesma instância da resposta, sem executar a ação novamente
+    @Test
+    void replaysStoredResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        IdempotentResult first = store.execute("key-1", "fp", () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+        IdempotentResult second = store.execute("key-1", "fp", () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        assertThat(first.replayed()).isFalse();
+        assertThat(second.replayed()).isTrue();
+        assertThat(second.response()).isSameAs(first.response());
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    // Requisições concorrentes com a mesma chave aguardam a execução em andamento
+    @Test
+    void concurrentDuplicatesWaitForFirstExecution() throws Exception {
+        AtomicInteger executions = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        List<Future<IdempotentResult>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(executor.submit(() -> store.execute("key-2", "fp", () -> {
+                executions.incrementAndGet();
+                awaitQuietly(release);
+                return response;
+            })));
+        }
+        Thread.sleep(200); // Todas as requisições chegam antes do fim da primeira execução
+        release.countDown();
+
+        int replayed = 0;
+        for (Future<IdempotentResult> result : results) {
+            IdempotentResult value = result.get(5, TimeUnit.SECONDS);
+            assertThat(value.response()).isSameAs(response);
+            replayed += value.replayed() ? 1 : 0;
+        }
+        executor.shutdown();
+
+        assertThat(executions.get()).isEqualTo(1);
+        assertThat(replayed).isEqualTo(7);
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentPayload() {
+        store.execute("key-3", "fp-a", () -> response);
+
+        IdempotencyKeyConflictException ex = assertThrows(IdempotencyKeyConflictException.class,
+                () -> store.execute("key-3", "fp-b", () -> response));
+
+        assertThat(ex.getStatus().value()).isEqualTo(422);
+    }
+
+    // Falhas não são guardadas: a próxima tentativa executa novamente
+    @Test
+    void failedExecutionReleasesKey() {
+        assertThrows(CouponBusinessException.class, () -> store.execute("key-4", "fp", () -> {
+            throw new CouponBusinessException("Minimum discount value is 0.5");
+        }));
+
+        IdempotentResult retry = store.execute("key-4", "fp", () -> response);
+
+        assertThat(retry.replayed()).isFalse();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
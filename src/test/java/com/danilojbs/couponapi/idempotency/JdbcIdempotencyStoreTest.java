@@ -0,0 +1,156 @@
+package com.danilojbs.couponapi.idempotency;
+
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.idempotency.IdempotencyStore.IdempotentResult;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de Integração do armazenamento de idempotência em banco (tabela idempotency_keys no H2).
+ */
+@SpringBootTest(properties = {"coupon.idempotency.store=jdbc", "coupon.expiration.enabled=false",
+        "coupon.idempotency.wait-timeout=1s"})
+class JdbcIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyStore store;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final CouponResponseDTO response = new CouponResponseDTO(
+            "1", "ABC123", "Cupom", BigDecimal.ONE, Instant.now().plusSeconds(3600).truncatedTo(ChronoUnit.MILLIS), true);
+
+    @Test
+    void usesJdbcStore() {
+        assertThat(store).isInstanceOf(JdbcIdempotencyStore.class);
+    }
+
+    // A resposta gravada em JSON é devolvida na repetição, sem executar a ação novamente
+    @Test
+    void replaysStoredResponse() {
+        AtomicInteger executions = new AtomicInteger();
+
+        store.execute("jdbc-1", "fp", () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+        IdempotentResult replay = store.execute("jdbc-1", "fp", () -> {
+            executions.incrementAndGet();
+            return response;
+        });
+
+        assertThat(replay.replayed()).isTrue();
+        assertThat(replay.response()).isEqualTo(response);
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    // A duplicata concorrente consulta a tabela até a execução original gravar a resposta
+    @Test
+    void concurrentDuplicateWaitsForFirstExecution() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<IdempotentResult> first = CompletableFuture.supplyAsync(() -> store.execute("jdbc-2", "fp", () -> {
+            started.countDown();
+            try {
+                release.await();
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            return response;
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        CompletableFuture<IdempotentResult> duplicate = CompletableFuture.supplyAsync(() -> store.execute("jdbc-2", "fp", () -> {
+            throw new AssertionError("Duplicate must not execute");
+        }));
+        Thread.sleep(200);
+        assertThat(duplicate).isNotDone();
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS).replayed()).isFalse();
+        assertThat(duplicate.get(5, TimeUnit.SECONDS).replayed()).isTrue();
+    }
+
+    @Test
+    void rejectsKeyReusedWithDifferentPayload() {
+        store.execute("jdbc-3", "fp-a", () -> response);
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("jdbc-3", "fp-b", () -> response));
+    }
+
+    // Falhas não são guardadas: a próxima tentativa executa novamente
+    @Test
+    void failedExecutionReleasesKey() {
+        assertThrows(CouponBusinessException.class, () -> store.execute("jdbc-4", "fp", () -> {
+            throw new CouponBusinessException("Minimum discount value is 0.5");
+        }));
+
+        assertThat(store.execute("jdbc-4", "fp", () -> response).replayed()).isFalse();
+    }
+
+    // Reserva sem resposta com o prazo vencido (ex: instância encerrada durante a execução): a chave é assumida
+    @Test
+    void staleReservationIsTakenOver() {
+        reserve("jdbc-5", "fp-old", Instant.now().minusSeconds(1));
+
+        IdempotentResult result = store.execute("jdbc-5", "fp", () -> response);
+
+        assertThat(result.replayed()).isFalse();
+        assertThat(store.execute("jdbc-5", "fp", () -> {
+            throw new AssertionError("Stored response must be replayed");
+        }).replayed()).isTrue();
+    }
+
+    // Reserva dentro do prazo: a duplicata aguarda e recebe 409, sem executar a ação
+    @Test
+    void liveReservationIsNotTakenOver() {
+        reserve("jdbc-6", "fp", Instant.now().plusSeconds(3600));
+
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("jdbc-6", "fp", () -> {
+            throw new AssertionError("Duplicate must not execute");
+        }));
+    }
+
+    // Falha ao gravar a resposta (maior que a coluna): o cupom já foi criado, então a chave continua reservada
+    @Test
+    void responseWriteFailureKeepsKeyReserved() {
+        CouponResponseDTO oversized = new CouponResponseDTO("1", "ABC123", "x".repeat(5_000), BigDecimal.ONE,
+                response.expirationDate(), true);
+        AtomicInteger executions = new AtomicInteger();
+
+        assertThat(store.execute("jdbc-7", "fp", () -> {
+            executions.incrementAndGet();
+            return oversized;
+        }).replayed()).isFalse();
+        assertThrows(IdempotencyKeyConflictException.class, () -> store.execute("jdbc-7", "fp", () -> {
+            executions.incrementAndGet();
+            return oversized;
+        }));
+
+        assertThat(executions.get()).isEqualTo(1);
+    }
+
+    private void reserve(String key, String fingerprint, Instant lockedUntil) {
+        jdbcTemplate.update("""
+                        insert into idempotency_keys (idempotency_key, fingerprint, reserved_by, locked_until, expires_at)
+                        values (?, ?, 'crashed-instance', ?, ?)
+                        """,
+                key, fingerprint, Timestamp.from(lockedUntil), Timestamp.from(Instant.now().plusSeconds(3600)));
+    }
+}
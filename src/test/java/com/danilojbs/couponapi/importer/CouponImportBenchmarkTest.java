@@ -0,0 +1,111 @@
+package com.danilojbs.couponapi.importer;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.lang.management.MemoryUsage;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da importação de arquivos: vazão (registros/s) e pico de heap para um arquivo com milhões de registros.
+ * O banco é um H2 em arquivo (target/) para que os cupons gravados não ocupem o heap medido.
+ * Pico de heap: maior ocupação observada (amostras a cada 50ms) e maior ocupação logo após um GC (dados vivos).
+ * Executado apenas sob demanda: ./mvnw test -Dtest=CouponImportBenchmarkTest -Dbenchmark=true [-Dbenchmark.rows=2000000]
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:file:./target/import-benchmark/coupons;CACHE_SIZE=65536",
+        "coupon.import.directory=target/import-benchmark",
+        "coupon.expiration.enabled=false",
+        "coupon.outbox.enabled=false"
+})
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CouponImportBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 2_000_000);
+
+    @Autowired
+    private CouponImportService importService;
+
+    @Test
+    void importMultiMillionRowFile() throws Exception {
+        Path file = Files.createTempFile(Path.of("target"), "import-benchmark", ".ndjson");
+        writeFile(file);
+        long fileSize = Files.size(file);
+
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans().stream()
+                .filter(pool -> pool.getType() == MemoryType.HEAP)
+                .toList();
+        System.gc();
+        long baseline = used(heapPools, false);
+        AtomicLong peakUsed = new AtomicLong();
+        AtomicLong peakLive = new AtomicLong();
+        Thread sampler = new Thread(() -> {
+            while (!Thread.currentThread().isInterrupted()) {
+                peakUsed.accumulateAndGet(used(heapPools, false), Math::max);
+                peakLive.accumulateAndGet(used(heapPools, true), Math::max);
+                try {
+                    Thread.sleep(50);
+                } catch (InterruptedException ex) {
+                    return;
+                }
+            }
+        });
+        sampler.setDaemon(true);
+        sampler.start();
+
+        long start = System.nanoTime();
+        ImportJob job;
+        try (InputStream in = Files.newInputStream(file)) {
+            job = importService.start(ImportFormat.NDJSON, in);
+        }
+        while (!job.isFinished()) {
+            Thread.sleep(100);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        sampler.interrupt();
+        Files.delete(file);
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRowsCreated()).isEqualTo(ROWS);
+        System.out.printf("rows: %,d | file: %,d MB | %.1f s | %,.0f rows/s | heap before: %,d MB | "
+                        + "peak heap used: %,d MB | peak live heap (after GC): %,d MB | max heap: %,d MB%n",
+                ROWS, fileSize >> 20, seconds, ROWS / seconds, baseline >> 20, peakUsed.get() >> 20,
+                peakLive.get() >> 20, Runtime.getRuntime().maxMemory() >> 20);
+    }
+
+    // Códigos únicos de 6 caracteres: "I" + número em base 36
+    private static void writeFile(Path file) throws IOException {
+        try (BufferedWriter writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8)) {
+            for (int i = 0; i < ROWS; i++) {
+                writer.write("{\"code\":\"I");
+                writer.write(String.format("%5s", Integer.toString(i, 36)).replace(' ', '0'));
+                writer.write("\",\"description\":\"Cupom importado do parceiro\",\"discountValue\":10.5,"
+                        + "\"expirationDate\":\"2999-01-01T00:00:00Z\",\"published\":true,\"maxRedemptions\":100}\n");
+            }
+        }
+    }
+
+    // Ocupação atual do heap, ou a ocupação medida ao final do último GC de cada área (afterGc)
+    private static long used(List<MemoryPoolMXBean> pools, boolean afterGc) {
+        long used = 0;
+        for (MemoryPoolMXBean pool : pools) {
+            MemoryUsage usage = afterGc ? pool.getCollectionUsage() : pool.getUsage();
+            used += usage == null ? 0 : usage.getUsed();
+        }
+        return used;
+    }
+}
@@ -0,0 +1,168 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de Integração da importação de arquivos.
+ * Blocos pequenos, várias threads de validação e filas de um bloco para exercitar a reordenação e o backpressure.
+ */
+@SpringBootTest(properties = {
+        "coupon.bulk.chunk-size=7",
+        "coupon.import.validation-threads=4",
+        "coupon.import.queue-capacity=1",
+        "coupon.import.directory=target/coupon-imports",
+        "coupon.import.max-size=64KB"
+})
+class CouponImportServiceTest {
+
+    private static final String EXPIRATION = "2999-01-01T00:00:00Z";
+
+    @Autowired
+    private CouponImportService importService;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Valida a importação NDJSON em vários blocos: registros válidos gravados e os demais
+     * reportados no arquivo de rejeições, na ordem do arquivo e com a linha de origem.
+     */
+    @Test
+    void importsNdjsonAndWritesRejections() throws Exception {
+        repository.saveAndFlush(new Coupon("IMN-EXI", "Existente", BigDecimal.ONE, Instant.now().plusSeconds(3600), true));
+
+        StringBuilder file = new StringBuilder();
+        for (int i = 0; i < 100; i++) {
+            String line = switch (i) {
+                case 10 -> "{\"code\":\"IMNEXI\",\"description\":\"Existente\",\"discountValue\":1,\"expirationDate\":\"" + EXPIRATION + "\"}";
+                case 20 -> "{\"code\":\"IMN001\",\"description\":";
+                case 30 -> "{\"code\":\"IMN030\",\"description\":\"Desconto baixo\",\"discountValue\":0.1,\"expirationDate\":\"" + EXPIRATION + "\"}";
+                case 90 -> ndjson("IMN-005"); // Repete o código da linha 6 (outro bloco): a primeira ocorrência é gravada
+                default -> ndjson(String.format("IMN%03d", i));
+            };
+            file.append(line).append('\n');
+            if (i == 50) {
+                file.append('\n'); // Linhas em branco são ignoradas
+            }
+        }
+
+        ImportJob job = await(importService.start(ImportFormat.NDJSON, stream(file.toString())));
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRowsRead()).isEqualTo(100);
+        assertThat(job.getRowsCreated()).isEqualTo(96);
+        assertThat(job.getRowsRejected()).isEqualTo(4);
+        assertThat(Files.exists(job.getFile())).isFalse(); // O arquivo recebido é removido ao final
+
+        List<JsonNode> rejections = rejections(job);
+        assertThat(rejections).extracting(node -> node.get("row").asLong()).containsExactly(11L, 21L, 31L, 91L);
+        assertThat(rejections.get(0).get("error").asString()).isEqualTo("Coupon code already exists.");
+        assertThat(rejections.get(1).get("error").asString()).startsWith("Malformed JSON");
+        assertThat(rejections.get(2).get("error").asString()).isEqualTo("discountValue: Minimum discount value is 0.5");
+        assertThat(rejections.get(3).get("code").asString()).isEqualTo("IMN005");
+        assertThat(repository.findExistingCodes(List.of("IMN000", "IMN005", "IMN099", "IMN020", "IMN030")))
+                .containsExactlyInAnyOrder("IMN000", "IMN005", "IMN099");
+    }
+
+    // Valida a importação CSV, inclusive códigos gerados pelo servidor
+    @Test
+    void importsCsv() throws Exception {
+        String csv = """
+                code,generateCode,description,discountValue,expirationDate,published
+                IMC001,,"Cupom, com vírgula",5,%1$s,true
+                ,true,Gerado,2.5,%1$s,false
+                IMC003,,Data inválida,1,amanhã,true
+                """.formatted(EXPIRATION);
+
+        ImportJob job = await(importService.start(ImportFormat.CSV, stream(csv)));
+
+        assertThat(job.getState()).isEqualTo(ImportJob.State.COMPLETED);
+        assertThat(job.getRowsCreated()).isEqualTo(2);
+        assertThat(job.getRowsRejected()).isEqualTo(1);
+        assertThat(repository.findByCode("IMC001")).get()
+                .extracting(Coupon::getDescription).isEqualTo("Cupom, com vírgula");
+        assertThat(rejections(job)).singleElement()
+                .satisfies(node -> assertThat(objectMapper.convertValue(node, Map.class))
+                        .containsEntry("row", 3).containsEntry("code", null).containsEntry("error", "expirationDate: invalid value"));
+    }
+
+    /**
+     * Valida o limite de tamanho do upload: pelo Content-Length, sem ler o corpo,
+     * e durante a cópia quando o tamanho não é informado (o arquivo parcial é removido).
+     */
+    @Test
+    void rejectsUploadsAboveMaxSize() throws IOException {
+        InputStream unread = new InputStream() {
+            @Override
+            public int read() {
+                throw new AssertionError("body must not be read");
+            }
+        };
+        assertThrows(ImportTooLargeException.class, () -> importService.start(ImportFormat.NDJSON, unread, 65 * 1024));
+
+        List<Path> before = importFiles();
+        String oversized = ndjson("IMG001").repeat(1000); // ~100 KB
+        assertThrows(ImportTooLargeException.class, () -> importService.start(ImportFormat.NDJSON, stream(oversized)));
+        assertThat(importFiles()).isEqualTo(before);
+    }
+
+    @Test
+    void unknownImportIsNotFound() {
+        assertThrows(ImportJobNotFoundException.class, () -> importService.find("missing"));
+    }
+
+    private static String ndjson(String code) {
+        return "{\"code\":\"" + code + "\",\"description\":\"Importado\",\"discountValue\":1,\"expirationDate\":\"" + EXPIRATION + "\"}";
+    }
+
+    private static List<Path> importFiles() throws IOException {
+        try (Stream<Path> files = Files.list(Path.of("target/coupon-imports"))) {
+            return files.sorted().toList();
+        }
+    }
+
+    private static ByteArrayInputStream stream(String content) {
+        return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<JsonNode> rejections(ImportJob job) throws IOException {
+        List<JsonNode> nodes = new ArrayList<>();
+        for (String line : Files.readAllLines(job.getRejectionFile())) {
+            nodes.add(objectMapper.readTree(line));
+        }
+        return nodes;
+    }
+
+    private static ImportJob await(ImportJob job) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!job.isFinished() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+        return job;
+    }
+}
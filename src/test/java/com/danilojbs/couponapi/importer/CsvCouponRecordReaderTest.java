@@ -0,0 +1,85 @@
+package com.danilojbs.couponapi.importer;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Teste de Unidade do leitor CSV: cabeçalho em qualquer ordem, campos entre aspas e erros por registro
+class CsvCouponRecordReaderTest {
+
+    @Test
+    void mapsColumnsByHeaderAndIgnoresUnknownColumns() throws IOException {
+        List<ImportRecord> records = readAll("""
+                id,discountValue,code,description,expirationDate,published,maxRedemptions
+                x,10.5,CSV001,Simples,2999-01-01T00:00:00Z,true,3
+                y,1,CSV002,Sem limite,2999-01-01T00:00:00Z,,
+                """);
+
+        assertThat(records).hasSize(2);
+        CreateCouponRequestDTO first = records.get(0).request();
+        assertThat(first.getCode()).isEqualTo("CSV001");
+        assertThat(first.getDiscountValue()).isEqualByComparingTo(new BigDecimal("10.5"));
+        assertThat(first.getExpirationDate()).isEqualTo(Instant.parse("2999-01-01T00:00:00Z"));
+        assertThat(first.getPublished()).isTrue();
+        assertThat(first.getMaxRedemptions()).isEqualTo(3);
+        assertThat(records.get(1).request().getPublished()).isNull(); // Campo vazio = nulo
+        assertThat(records.get(1).request().getMaxRedemptions()).isNull();
+    }
+
+    @Test
+    void readsQuotedFieldsWithCommasQuotesAndLineBreaks() throws IOException {
+        List<ImportRecord> records = readAll("\uFEFFcode,description\r\n"
+                + "CSV003,\"Desconto, \"\"especial\"\"\r\nem duas linhas\"\r\n"
+                + "\r\n"
+                + "CSV004,\"\"\r\n");
+
+        assertThat(records).hasSize(2);
+        assertThat(records.get(0).request().getCode()).isEqualTo("CSV003"); // BOM removido do cabeçalho
+        assertThat(records.get(0).request().getDescription()).isEqualTo("Desconto, \"especial\"\r\nem duas linhas");
+        assertThat(records.get(1).request().getDescription()).isNull();
+    }
+
+    @Test
+    void reportsInvalidRecordsWithoutStoppingTheFile() throws IOException {
+        List<ImportRecord> records = readAll("""
+                code,discountValue,published
+                CSV005,abc,true
+                CSV006,1,maybe
+                CSV007,1
+                CSV008,1,false
+                CSV009,"1,false
+                """);
+
+        assertThat(records).extracting(ImportRecord::error).containsExactly(
+                "discountValue: invalid value",
+                "published: invalid value",
+                "Expected 3 fields but found 2.",
+                null,
+                "Malformed CSV: unterminated quoted field.");
+        assertThat(records.get(3).request().getPublished()).isFalse();
+    }
+
+    @Test
+    void emptyFileHasNoRecords() throws IOException {
+        assertThat(readAll("")).isEmpty();
+        assertThat(readAll("code,description\n")).isEmpty();
+    }
+
+    private static List<ImportRecord> readAll(String csv) throws IOException {
+        List<ImportRecord> records = new ArrayList<>();
+        try (CsvCouponRecordReader reader = new CsvCouponRecordReader(new StringReader(csv))) {
+            for (ImportRecord record = reader.next(); record != null; record = reader.next()) {
+                records.add(record);
+            }
+        }
+        return records;
+    }
+}
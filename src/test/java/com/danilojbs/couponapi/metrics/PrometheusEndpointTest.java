@@ -0,0 +1,61 @@
+package com.danilojbs.couponapi.metrics;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração do endpoint de métricas:
+ * Executa requisições reais e verifica as séries expostas em /actuator/prometheus.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = "coupon.expiration.enabled=false")
+class PrometheusEndpointTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void exposesApplicationAndInfrastructureMetrics() throws Exception {
+        String body = """
+                {"code":"MET001","description":"Métricas","discountValue":1.0,"expirationDate":"%s","published":true}
+                """.formatted(Instant.now().plusSeconds(3600));
+        assertThat(send(HttpRequest.newBuilder(uri("/api/coupons"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(body))).statusCode()).isEqualTo(201);
+        assertThat(send(HttpRequest.newBuilder(uri("/api/coupons/unknown-id")).DELETE()).statusCode()).isEqualTo(404);
+
+        HttpResponse<String> scrape = send(HttpRequest.newBuilder(uri("/actuator/prometheus")).GET());
+
+        assertThat(scrape.statusCode()).isEqualTo(200);
+        assertThat(scrape.body())
+                .contains("http_server_requests_seconds_bucket")
+                .containsPattern("coupon_operations_seconds_count\\{.*operation=\"create\",outcome=\"success\".*} 1")
+                .containsPattern("coupon_operations_seconds_count\\{.*operation=\"delete\",outcome=\"not_found\".*} 1")
+                .containsPattern("coupon_api_exceptions_total\\{.*exception=\"CouponNotFoundException\",status=\"404\".*} 1")
+                .contains("hikaricp_connections_active")
+                .contains("hibernate_")
+                .containsPattern("cache_gets_total\\{.*cache=\"couponLookup\"")
+                .contains("coupon_expiration_lag_seconds")
+                .contains("coupon_outbox_pending")
+                .contains("coupon_outbox_redeliveries_total");
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
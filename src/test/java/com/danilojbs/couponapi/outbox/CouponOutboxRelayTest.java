@@ -0,0 +1,92 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.config.OutboxProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mock;
+import org.mockito.MockitoAnnotations;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+/**
+ * Teste de Unidade do relay: contagem de entregas, falhas e reenvios.
+ * O outbox e o destino são simulados; o TransactionTemplate usa um gerenciador de transações simulado.
+ */
+class CouponOutboxRelayTest {
+
+    @Mock
+    private CouponOutbox outbox;
+
+    @Mock
+    private CouponEventSink sink;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private CouponOutboxRelay relay;
+
+    private final List<CouponEvent> events = List.of(event(1), event(2));
+
+    @BeforeEach
+    void setUp() {
+        MockitoAnnotations.openMocks(this);
+        when(transactionManager.getTransaction(any())).thenReturn(mock(TransactionStatus.class));
+        relay = new CouponOutboxRelay(outbox, sink, new TransactionTemplate(transactionManager),
+                new OutboxProperties(true, "listener", 2, 10, Duration.ofSeconds(1), "events.ndjson", 10));
+    }
+
+    @Test
+    void removesEventsOnlyAfterTheSinkAcceptsThem() throws Exception {
+        when(outbox.lockOldest(2)).thenReturn(events, List.of());
+        when(sink.publish(events)).thenReturn(2);
+
+        assertThat(relay.relay()).isEqualTo(2);
+
+        verify(outbox).remove(List.of(1L, 2L));
+        verify(transactionManager, times(2)).commit(any());
+        assertThat(relay.getTotalPublished()).isEqualTo(2);
+    }
+
+    // Falha no destino: rollback, nada é removido e os eventos contam como reenvio pendente
+    @Test
+    void sinkFailureRollsBackAndCountsRedeliveries() throws Exception {
+        when(outbox.lockOldest(2)).thenReturn(events);
+        when(sink.publish(events)).thenThrow(new IOException("disk full"));
+
+        assertThat(relay.relay()).isZero();
+
+        verify(outbox, never()).remove(any());
+        verify(transactionManager).rollback(any());
+        assertThat(relay.getFailedBatches()).isEqualTo(1);
+        assertThat(relay.getRedeliveries()).isEqualTo(2);
+        assertThat(relay.getTotalPublished()).isZero();
+    }
+
+    // Falha no commit após a publicação: os eventos já entregues serão entregues novamente
+    @Test
+    void commitFailureAfterPublishCountsRedeliveries() throws Exception {
+        when(outbox.lockOldest(2)).thenReturn(events);
+        when(sink.publish(events)).thenReturn(2);
+        doThrow(new IllegalStateException("connection lost")).when(transactionManager).commit(any());
+
+        assertThat(relay.relay()).isZero();
+
+        assertThat(relay.getFailedBatches()).isEqualTo(1);
+        assertThat(relay.getRedeliveries()).isEqualTo(2);
+    }
+
+    private static CouponEvent event(long sequence) {
+        return new CouponEvent(sequence, CouponEventType.DELETED, "0190a4e2-5b3c-7d41-8f00-00000000000" + sequence,
+                "EVT00" + sequence, Instant.now(), null);
+    }
+}
@@ -0,0 +1,136 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.dto.BulkDeleteRequestDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.service.CouponBulkService;
+import com.danilojbs.couponapi.service.CouponService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataIntegrityViolationException;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Teste de Integração do outbox:
+ * Os eventos são gravados junto com as alterações dos cupons e publicados pelo relay na fila local (sink "queue").
+ * O agendamento do relay fica desligado e cada execução é disparada manualmente.
+ */
+@SpringBootTest(properties = {
+        "coupon.outbox.enabled=false",
+        "coupon.outbox.sink=queue",
+        "coupon.outbox.queue-capacity=3",
+        "coupon.outbox.batch-size=2",
+        "coupon.expiration.enabled=false"
+})
+class CouponOutboxTest {
+
+    @Autowired
+    private CouponService service;
+
+    @Autowired
+    private CouponBulkService bulkService;
+
+    @Autowired
+    private CouponOutboxRelay relay;
+
+    @Autowired
+    private QueueCouponEventSink queue;
+
+    // Descarta eventos de testes anteriores
+    @BeforeEach
+    void setUp() throws InterruptedException {
+        while (relay.relay() > 0 || queue.size() > 0) {
+            drain();
+        }
+    }
+
+    @Test
+    void publishesLifecycleEventsInOrder() throws InterruptedException {
+        CouponResponseDTO first = service.create(request("OUT001"));
+        service.create(request("OUT002"));
+        service.delete(first.id());
+
+        assertThat(relay.relay()).isEqualTo(3);
+        List<CouponEvent> events = drain();
+
+        assertThat(events).extracting(CouponEvent::type, CouponEvent::code).containsExactly(
+                tuple(CouponEventType.CREATED, "OUT001"),
+                tuple(CouponEventType.CREATED, "OUT002"),
+                tuple(CouponEventType.DELETED, "OUT001"));
+        assertThat(events).extracting(CouponEvent::sequence).isSorted();
+        assertThat(events.get(0).coupon()).isEqualTo(first);
+        assertThat(events.get(2).couponId()).isEqualTo(first.id());
+        assertThat(relay.getPending()).isZero();
+    }
+
+    // Criação recusada pelo banco (código duplicado): o rollback desfaz também o evento
+    @Test
+    void failedWriteLeavesNoEvent() throws InterruptedException {
+        service.create(request("OUT003"));
+        assertThrows(DataIntegrityViolationException.class, () -> service.create(request("OUT003")));
+
+        relay.relay();
+
+        assertThat(drain()).extracting(CouponEvent::code).containsExactly("OUT003");
+    }
+
+    @Test
+    void bulkOperationsWriteOneEventPerCoupon() throws InterruptedException {
+        String firstId = bulkService.createAll(List.of(request("OUT004"), request("OUT005")).iterator())
+                .items().get(0).id();
+        bulkService.deleteAll(new BulkDeleteRequestDTO(List.of(firstId), null, null, null));
+
+        relay.relay();
+
+        assertThat(drain()).extracting(CouponEvent::type)
+                .containsExactly(CouponEventType.CREATED, CouponEventType.CREATED, CouponEventType.DELETED);
+    }
+
+    // Fila cheia: o relay publica apenas o que cabe e mantém o restante no outbox até a próxima execução
+    @Test
+    void stopsAtQueueCapacityAndResumesAfterConsumption() throws InterruptedException {
+        long stalls = relay.getBackpressureStalls();
+        for (int i = 0; i < 5; i++) {
+            service.create(request("BKP00" + i));
+        }
+
+        assertThat(relay.relay()).isEqualTo(3);
+        assertThat(relay.getBackpressureStalls()).isEqualTo(stalls + 1);
+        assertThat(relay.getPending()).isEqualTo(2);
+
+        assertThat(drain()).hasSize(3);
+        assertThat(relay.relay()).isEqualTo(2);
+        assertThat(drain()).extracting(CouponEvent::code).containsExactly("BKP003", "BKP004");
+        assertThat(relay.getPending()).isZero();
+    }
+
+    private List<CouponEvent> drain() throws InterruptedException {
+        List<CouponEvent> events = new ArrayList<>();
+        CouponEvent event;
+        while ((event = queue.poll(Duration.ZERO)) != null) {
+            events.add(event);
+        }
+        return events;
+    }
+
+    private CreateCouponRequestDTO request(String code) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(code);
+        request.setDescription("Outbox");
+        request.setDiscountValue(BigDecimal.ONE);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
@@ -0,0 +1,47 @@
+package com.danilojbs.couponapi.outbox;
+
+import com.danilojbs.couponapi.config.OutboxProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+// Teste de Unidade do destino em arquivo: um evento JSON por linha, acrescentado a cada lote
+class FileCouponEventSinkTest {
+
+    @TempDir
+    private Path dir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().build();
+
+    @Test
+    void appendsOneJsonLinePerEvent() throws Exception {
+        Path file = dir.resolve("events.ndjson");
+        FileCouponEventSink sink = new FileCouponEventSink(objectMapper,
+                new OutboxProperties(true, "file", 500, 100, Duration.ofSeconds(1), file.toString(), 10));
+
+        assertThat(sink.publish(List.of(event(1, "FIL001"), event(2, "FIL002")))).isEqualTo(2);
+        assertThat(sink.publish(List.of(event(3, "FIL003")))).isEqualTo(1);
+
+        List<String> lines = Files.readAllLines(file);
+        assertThat(lines).hasSize(3);
+        JsonNode last = objectMapper.readTree(lines.get(2));
+        assertThat(last.get("sequence").asLong()).isEqualTo(3);
+        assertThat(last.get("type").asString()).isEqualTo("DELETED");
+        assertThat(last.get("code").asString()).isEqualTo("FIL003");
+    }
+
+    private static CouponEvent event(long sequence, String code) {
+        return new CouponEvent(sequence, CouponEventType.DELETED, "0190a4e2-5b3c-7d41-8f00-1234567890ab", code,
+                Instant.now(), null);
+    }
+}
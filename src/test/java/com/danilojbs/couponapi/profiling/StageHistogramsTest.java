@@ -0,0 +1,83 @@
+package com.danilojbs.couponapi.profiling;
+
+import com.danilojbs.couponapi.config.ProfilingProperties;
+import com.danilojbs.couponapi.profiling.StageHistograms.StageSummary;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.util.Base64;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.data.Percentage.withPercentage;
+
+class StageHistogramsTest {
+
+    private final StageHistograms histograms = new StageHistograms(new ProfilingProperties(true, 1.0, true, 3));
+
+    @AfterEach
+    void tearDown() {
+        RequestStages.end();
+    }
+
+    // Fora de uma requisição amostrada, a medição não registra nada
+    @Test
+    void notSampledThreadSkipsMeasurement() {
+        long start = RequestStages.start();
+        RequestStages.stop(Stage.DOMAIN, start);
+
+        assertThat(start).isEqualTo(RequestStages.NOT_SAMPLED);
+        assertThat(RequestStages.current()).isNull();
+    }
+
+    // Uma etapa repetida (nova tentativa) acumula as durações; as etapas não executadas ficam de fora
+    @Test
+    void recordsOnlyExecutedStages() {
+        RequestStages.begin("POST /api/coupons");
+        StageProfile profile = RequestStages.current();
+        profile.add(Stage.DOMAIN, 1_000, 0);
+        profile.add(Stage.DOMAIN, 2_000, 0);
+        profile.add(Stage.FLUSH, 500_000, 0);
+        RequestStages.end().finish(System.nanoTime());
+
+        histograms.record(profile);
+        Map<String, StageSummary> stages = histograms.snapshot().get("POST /api/coupons");
+
+        assertThat(stages).containsOnlyKeys("domain", "flush", "total");
+        assertThat(stages.get("domain").count()).isEqualTo(1);
+        assertThat(stages.get("domain").max()).isEqualTo(0.003);
+        assertThat(stages.get("flush").p50()).isEqualTo(0.5);
+    }
+
+    // Os valores acumulam entre as consultas; o histograma exportado pode ser decodificado (e somado) fora da aplicação
+    @Test
+    void snapshotsAccumulateAndExportTheHistogram() throws Exception {
+        for (int i = 1; i <= 100; i++) {
+            histograms.record(profile(Stage.FLUSH, i * 1_000_000L));
+        }
+        histograms.snapshot();
+        for (int i = 101; i <= 200; i++) {
+            histograms.record(profile(Stage.FLUSH, i * 1_000_000L));
+        }
+
+        StageSummary flush = histograms.snapshot().get("POST /api/coupons").get("flush");
+        assertThat(flush.count()).isEqualTo(200);
+        assertThat(flush.p50()).isCloseTo(100, withPercentage(1));
+        assertThat(flush.max()).isCloseTo(200, withPercentage(1));
+
+        Histogram decoded = Histogram.decodeFromCompressedByteBuffer(
+                ByteBuffer.wrap(Base64.getDecoder().decode(flush.histogram())), 0);
+        assertThat(decoded.getTotalCount()).isEqualTo(200);
+
+        histograms.reset();
+        assertThat(histograms.snapshot()).isEmpty();
+    }
+
+    private static StageProfile profile(Stage stage, long nanos) {
+        StageProfile profile = new StageProfile("POST /api/coupons", 0);
+        profile.add(stage, nanos, 0);
+        return profile;
+    }
+}
@@ -0,0 +1,110 @@
+package com.danilojbs.couponapi.profiling;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import tools.jackson.databind.JsonNode;
+import tools.jackson.databind.ObjectMapper;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração da medição por etapa (amostragem de 100%):
+ * cabeçalho Server-Timing da criação e histogramas acumulados em /actuator/stagetimings.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"coupon.expiration.enabled=false", "coupon.rate-limit.enabled=false",
+                "coupon.profiling.enabled=true", "coupon.profiling.sample-rate=1.0"})
+class StageTimingIntegrationTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() throws Exception {
+        send(HttpRequest.newBuilder(uri("/actuator/stagetimings")).DELETE());
+    }
+
+    @Test
+    void createReportsEveryStageInServerTiming() throws Exception {
+        HttpResponse<String> response = create("""
+                {"generateCode": true, "description": "Perfil", "discountValue": 10,
+                 "expirationDate": "2999-01-01T00:00:00Z", "published": true}
+                """);
+
+        assertThat(response.statusCode()).isEqualTo(201);
+        Map<String, Double> timings = parse(response.headers().firstValue("Server-Timing").orElseThrow());
+        assertThat(timings).containsOnlyKeys("read", "validation", "domain", "persist", "flush", "outbox", "commit", "total");
+        assertThat(timings.values()).allSatisfy(duration -> assertThat(duration).isNotNegative());
+        assertThat(timings.get("total")).isGreaterThanOrEqualTo(timings.get("flush"));
+    }
+
+    // Requisições recusadas também são medidas: a validação falha e o domínio/banco não são executados
+    @Test
+    void rejectedCreateStopsAtValidation() throws Exception {
+        HttpResponse<String> response = create("""
+                {"code": "ABC123", "description": "Perfil", "discountValue": 0.1,
+                 "expirationDate": "2999-01-01T00:00:00Z"}
+                """);
+
+        assertThat(response.statusCode()).isEqualTo(400);
+        assertThat(parse(response.headers().firstValue("Server-Timing").orElseThrow()))
+                .containsOnlyKeys("read", "validation", "total");
+    }
+
+    @Test
+    void histogramsAggregateSampledRequests() throws Exception {
+        for (int i = 0; i < 5; i++) {
+            create("""
+                    {"generateCode": true, "description": "Perfil", "discountValue": 10,
+                     "expirationDate": "2999-01-01T00:00:00Z", "published": true}
+                    """);
+        }
+
+        HttpResponse<String> report = send(HttpRequest.newBuilder(uri("/actuator/stagetimings")).GET());
+        JsonNode body = objectMapper.readTree(report.body());
+        assertThat(body.get("enabled").asBoolean()).isTrue();
+
+        JsonNode stages = body.get("routes").get("POST /api/coupons");
+        assertThat(stages.propertyNames()).containsExactly(
+                "read", "validation", "domain", "persist", "flush", "outbox", "commit", "write", "total");
+        assertThat(stages.get("total").get("count").asLong()).isEqualTo(5);
+        assertThat(stages.get("total").get("p99").asDouble()).isGreaterThan(0);
+        assertThat(stages.get("total").get("histogram").asString()).isNotBlank();
+    }
+
+    private HttpResponse<String> create(String json) throws Exception {
+        return send(HttpRequest.newBuilder(uri("/api/coupons"))
+                .header("Content-Type", "application/json")
+                .POST(HttpRequest.BodyPublishers.ofString(json)));
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    // "read;dur=0.041, total;dur=1.530" -> {read=0.041, total=1.530}
+    private static Map<String, Double> parse(String header) {
+        return Arrays.stream(header.split(", "))
+                .map(metric -> metric.split(";dur="))
+                .collect(Collectors.toMap(parts -> parts[0], parts -> Double.parseDouble(parts[1]),
+                        (first, second) -> first, LinkedHashMap::new));
+    }
+}
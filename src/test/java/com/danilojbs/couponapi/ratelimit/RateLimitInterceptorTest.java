@@ -0,0 +1,78 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração do limite de requisições:
+ * Executa requisições reais em um endpoint limitado e verifica a recusa (429), o Retry-After
+ * e a separação por cliente (cabeçalho X-Api-Key com chave configurada; chaves desconhecidas contam pelo IP).
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {
+                "coupon.expiration.enabled=false",
+                "coupon.rate-limit.limits.lookup.capacity=3",
+                "coupon.rate-limit.limits.lookup.refill-per-second=0.1",
+                "coupon.rate-limit.api-keys=partner-a,partner-b,partner-c"
+        })
+class RateLimitInterceptorTest {
+
+    @LocalServerPort
+    private int port;
+
+    private final HttpClient client = HttpClient.newHttpClient();
+
+    @Test
+    void rejectsClientAboveLimitWithRetryAfter() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(lookup("partner-a").statusCode()).isEqualTo(404); // Cupom inexistente, mas a requisição passou pelo limite
+        }
+
+        HttpResponse<String> rejected = lookup("partner-a");
+        assertThat(rejected.statusCode()).isEqualTo(429);
+        assertThat(rejected.headers().firstValue("Retry-After")).hasValue("10");
+        assertThat(rejected.body()).contains("\"status\":429", "\"error\":\"Too Many Requests\"");
+
+        assertThat(lookup("partner-b").statusCode()).isEqualTo(404); // Outro cliente: limite próprio
+    }
+
+    // Chaves desconhecidas (ex: uma nova a cada requisição) compartilham o balde do IP de origem
+    @Test
+    void unknownKeysShareRemoteAddressBucket() throws Exception {
+        for (int i = 0; i < 3; i++) {
+            assertThat(lookup("random-" + i).statusCode()).isEqualTo(404);
+        }
+
+        assertThat(lookup("random-3").statusCode()).isEqualTo(429);
+        assertThat(lookup("partner-c").statusCode()).isEqualTo(404); // Chave configurada: balde próprio
+    }
+
+    // Endpoints sem @RateLimited não são limitados
+    @Test
+    void ignoresEndpointsWithoutLimit() throws Exception {
+        for (int i = 0; i < 10; i++) {
+            assertThat(send(HttpRequest.newBuilder(uri("/api/coupons?size=1"))
+                    .header("X-Api-Key", "partner-c").GET()).statusCode()).isEqualTo(200);
+        }
+    }
+
+    private HttpResponse<String> lookup(String apiKey) throws Exception {
+        return send(HttpRequest.newBuilder(uri("/api/coupons/by-code/RATE404")).header("X-Api-Key", apiKey).GET());
+    }
+
+    private URI uri(String path) {
+        return URI.create("http://localhost:" + port + path);
+    }
+
+    private HttpResponse<String> send(HttpRequest.Builder request) throws Exception {
+        return client.send(request.build(), HttpResponse.BodyHandlers.ofString());
+    }
+}
@@ -0,0 +1,137 @@
+package com.danilojbs.couponapi.ratelimit;
+
+import com.danilojbs.couponapi.config.RateLimitProperties;
+import com.danilojbs.couponapi.config.RateLimitProperties.Limit;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Teste de Unidade do limite de requisições.
+ * O relógio é controlado pelo teste: rajada, reposição e Retry-After são verificados sem esperas reais.
+ */
+class TokenBucketRateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    private final AtomicLong now = new AtomicLong(1_000 * SECOND);
+    private MeterRegistry registry;
+    private TokenBucketRateLimiter limiter;
+
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        // 5 requisições de rajada, reposição de 1 por segundo
+        limiter = new TokenBucketRateLimiter(new RateLimitProperties(true, "X-Api-Key", 1000,
+                Map.of("bulk", new Limit(5, 1)), Set.of()), registry, now::get);
+    }
+
+    @Test
+    void acceptsBurstUpToCapacityThenRejects() {
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("bulk", "client-a")).isZero();
+        }
+
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isEqualTo(SECOND);
+        assertThat(registry.get("coupon.rate.limit.rejected").tag("limit", "bulk").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void refillsAtConfiguredRate() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("bulk", "client-a");
+        }
+
+        now.addAndGet(SECOND / 2);
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isEqualTo(SECOND / 2); // Ficha ainda não reposta
+
+        now.addAndGet(SECOND / 2);
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isZero();
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isPositive();
+
+        // Parado por mais que o tempo de reposição completa: rajada cheia novamente, sem acumular além da capacidade
+        now.addAndGet(60 * SECOND);
+        for (int i = 0; i < 5; i++) {
+            assertThat(limiter.tryAcquire("bulk", "client-a")).isZero();
+        }
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isPositive();
+    }
+
+    @Test
+    void isolatesClients() {
+        for (int i = 0; i < 5; i++) {
+            limiter.tryAcquire("bulk", "client-a");
+        }
+
+        assertThat(limiter.tryAcquire("bulk", "client-a")).isPositive();
+        assertThat(limiter.tryAcquire("bulk", "client-b")).isZero();
+    }
+
+    @Test
+    void ignoresUnconfiguredLimits() {
+        for (int i = 0; i < 100; i++) {
+            assertThat(limiter.tryAcquire("lookup", "client-a")).isZero();
+        }
+    }
+
+    // Retry-After em segundos inteiros, arredondado para cima (nunca 0 em uma recusa)
+    @Test
+    void acquireThrowsWithRetryAfterRoundedUp() {
+        for (int i = 0; i < 5; i++) {
+            limiter.acquire("bulk", "client-a");
+        }
+        now.addAndGet(SECOND / 4);
+
+        assertThatThrownBy(() -> limiter.acquire("bulk", "client-a"))
+                .isInstanceOf(RateLimitExceededException.class)
+                .hasFieldOrPropertyWithValue("retryAfterSeconds", 1L)
+                .hasFieldOrPropertyWithValue("limit", "bulk");
+    }
+
+    @Test
+    void rejectsInvalidLimit() {
+        assertThatThrownBy(() -> new TokenBucketRateLimiter(new RateLimitProperties(true, "X-Api-Key", 1000,
+                Map.of("bulk", new Limit(0, 1)), Set.of()), registry, now::get))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    // Com o relógio parado, threads concorrentes do mesmo cliente consomem exatamente a capacidade (sem perdas no CAS)
+    @Test
+    void concurrentRequestsNeverExceedCapacity() throws InterruptedException {
+        TokenBucketRateLimiter contended = new TokenBucketRateLimiter(new RateLimitProperties(true, "X-Api-Key", 1000,
+                Map.of("redeem", new Limit(1000, 1)), Set.of()), registry, now::get);
+        AtomicInteger accepted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+
+        for (int t = 0; t < 8; t++) {
+            executor.submit(() -> {
+                start.await();
+                for (int i = 0; i < 1000; i++) {
+                    if (contended.tryAcquire("redeem", "client-a") == 0) {
+                        accepted.incrementAndGet();
+                    }
+                }
+                return null;
+            });
+        }
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+        assertThat(accepted).hasValue(1000);
+    }
+}
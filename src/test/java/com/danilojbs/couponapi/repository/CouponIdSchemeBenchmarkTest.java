@@ -0,0 +1,93 @@
+package com.danilojbs.couponapi.repository;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.SplittableRandom;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark da chave primária: UUID v4 em texto (esquema anterior) x UUID v4 binário x UUID v7 binário (atual).
+ * Insere os mesmos registros em cada esquema (H2 em arquivo) e compara a vazão e o espaço em disco da tabela
+ * (dados + índice da chave primária).
+ * Executado apenas sob demanda: ./mvnw test -Dtest=CouponIdSchemeBenchmarkTest -Dbenchmark=true
+ */
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CouponIdSchemeBenchmarkTest {
+
+    private static final int ROWS = Integer.getInteger("benchmark.rows", 300_000);
+    private static final int BATCH = 500;
+
+    private final SplittableRandom random = new SplittableRandom(42);
+
+    @Test
+    void compareIdSchemes() throws Exception {
+        Path dir = Files.createTempDirectory("coupon-id-benchmark");
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + dir.resolve("ids"), "sa", "")) {
+            for (String phase : new String[]{"warmup_", ""}) { // Primeira rodada (menor) apenas aquece o JIT
+                int rows = phase.isEmpty() ? ROWS : ROWS / 10;
+                run(connection, phase + "varchar_v4", "varchar(255)", () -> UUID.randomUUID().toString(), rows);
+                run(connection, phase + "uuid_v4", "uuid", UUID::randomUUID, rows);
+                run(connection, phase + "uuid_v7", "uuid", this::uuidV7, rows);
+            }
+        }
+    }
+
+    private void run(Connection connection, String table, String idType, IdSupplier ids, int rows) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("create table " + table + " (id " + idType + " primary key, code varchar(6) not null)");
+        }
+        connection.setAutoCommit(false);
+        long start = System.nanoTime();
+        try (PreparedStatement insert = connection.prepareStatement("insert into " + table + " (id, code) values (?, ?)")) {
+            for (int i = 1; i <= rows; i++) {
+                insert.setObject(1, ids.next());
+                insert.setString(2, "C" + (i % 100_000));
+                insert.addBatch();
+                if (i % BATCH == 0) {
+                    insert.executeBatch();
+                    connection.commit();
+                }
+            }
+            insert.executeBatch();
+            connection.commit();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        connection.setAutoCommit(true);
+
+        long bytes;
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("checkpoint sync");
+            try (ResultSet rs = statement.executeQuery("select disk_space_used('" + table.toUpperCase() + "')")) {
+                rs.next();
+                bytes = rs.getLong(1);
+            }
+        }
+        assertThat(bytes).isPositive();
+        System.out.printf("%-10s %,10.0f rows/s | %,8.1f MB | %,5.1f bytes/row%n",
+                table, rows / seconds, bytes / 1024.0 / 1024.0, (double) bytes / rows);
+    }
+
+    // UUID v7: 48 bits de timestamp (ms) + versão + bits aleatórios (mesmo layout do gerador do Hibernate)
+    private UUID uuidV7() {
+        long millis = System.currentTimeMillis();
+        long msb = (millis << 16) | 0x7000L | (random.nextInt() & 0x0FFFL);
+        long lsb = (random.nextLong() & 0x3FFFFFFFFFFFFFFFL) | 0x8000000000000000L;
+        return new UUID(msb, lsb);
+    }
+
+    @FunctionalInterface
+    private interface IdSupplier {
+        Object next();
+    }
+}
@@ -0,0 +1,157 @@
+package com.danilojbs.couponapi.repository;
+
+import com.danilojbs.couponapi.domain.CouponStatus;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.data.domain.Limit;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.Instant;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de regressão dos planos de execução (H2):
+ * Captura o SQL que o Hibernate realmente gera para cada consulta do repositório e valida,
+ * via EXPLAIN, que o banco usa o índice esperado em vez de percorrer a tabela inteira.
+ * Uma alteração de consulta ou migração que desfaça o uso de índice quebra este teste.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.danilojbs.couponapi.repository.CouponQueryPlanTest$SqlCapture")
+class CouponQueryPlanTest {
+
+    private static final Instant NOW = Instant.now();
+    private static final UUID ID = UUID.randomUUID();
+    private static final UUID OTHER_ID = UUID.randomUUID();
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Volume suficiente para o otimizador preferir índices a uma leitura completa
+    @BeforeEach
+    void setUp() {
+        if (jdbcTemplate.queryForObject("select count(*) from coupons", Long.class) > 0) {
+            return; // Carga já confirmada por um teste anterior (ver ANALYZE abaixo)
+        }
+        jdbcTemplate.update("""
+                insert into coupons (id, code, description, discount_value, expiration_date, status, published, redemption_count)
+                select random_uuid(7), lpad(x, 6, '0'), 'Plano', 1, dateadd('SECOND', x, current_timestamp),
+                       case mod(x, 4) when 0 then 'ACTIVE' when 1 then 'DELETED' when 2 then 'EXPIRED' else 'INACTIVE' end,
+                       mod(x, 2) = 0, 0
+                from system_range(1, 5000)
+                """);
+        // Estatísticas da carga acima: sem elas, o H2 pode estimar os custos com os números anteriores à carga
+        // (ex: tabela recriada pelo ALTER TABLE da V4), escolhendo um índice pior que o de produção.
+        // O ANALYZE confirma a transação do teste: a carga permanece no banco exclusivo desta classe.
+        jdbcTemplate.execute("analyze table coupons");
+    }
+
+    @Test
+    void lookupByCodeUsesUniqueIndex() {
+        assertThat(planOf(() -> repository.findByCode("000001"))).contains("UK_COUPONS_CODE").doesNotContain("tableScan");
+        assertThat(planOf(() -> repository.redeem("000001", CouponStatus.ACTIVE, NOW))).contains("UK_COUPONS_CODE");
+        assertThat(planOf(() -> repository.findExistingCodes(List.of("000001", "000002")))).contains("UK_COUPONS_CODE");
+    }
+
+    // Keyset: o cursor deve iniciar o intervalo no índice, e a ordenação deve vir do próprio índice
+    @Test
+    void pageWithoutStatusUsesPrimaryKeyRange() {
+        String plan = planOf(() -> repository.findPage(null, null, null, CouponRepository.FIRST_PAGE, Limit.of(10)));
+
+        assertThat(plan).containsPattern("PRIMARY_KEY\\w*: ID > \\?").contains("index sorted");
+    }
+
+    @Test
+    void pageByStatusUsesStatusIdIndex() {
+        String plan = planOf(() -> repository.findPageByStatus(CouponStatus.EXPIRED, true, null, null,
+                CouponRepository.FIRST_PAGE, Limit.of(10)));
+
+        assertThat(plan).containsPattern("IDX_COUPONS_STATUS_ID: STATUS = \\?\\d+\\s+AND ID > \\?").contains("index sorted");
+    }
+
+    @Test
+    void exportUsesSameIndexesAsPaging() {
+        assertThat(planOf(() -> {
+            try (var rows = repository.streamAll(null, null, null, CouponRepository.FIRST_PAGE)) {
+                rows.findFirst();
+            }
+        })).contains("PRIMARY_KEY").contains("index sorted");
+        assertThat(planOf(() -> {
+            try (var rows = repository.streamAllByStatus(CouponStatus.ACTIVE, null, null, null, CouponRepository.FIRST_PAGE)) {
+                rows.findFirst();
+            }
+        })).contains("IDX_COUPONS_STATUS_ID").contains("index sorted");
+    }
+
+    @Test
+    void expirationQueriesUseStatusExpirationIndex() {
+        assertThat(planOf(() -> repository.lockExpiredBatch(CouponStatus.ACTIVE, NOW, Limit.of(100))))
+                .containsPattern("IDX_COUPONS_STATUS_EXPIRATION: STATUS = \\?\\d+\\s+AND EXPIRATION_DATE < \\?");
+        assertThat(planOf(() -> repository.findOldestPendingExpiration(Set.of(CouponStatus.ACTIVE, CouponStatus.INACTIVE), NOW)))
+                .contains("IDX_COUPONS_STATUS_EXPIRATION");
+    }
+
+    @Test
+    void bulkOperationsByIdUsePrimaryKey() {
+        assertThat(planOf(() -> repository.findStatusByIds(List.of(ID, OTHER_ID)))).containsPattern("PRIMARY_KEY\\w*: ID IN");
+        assertThat(planOf(() -> repository.softDeleteAll(List.of(ID, OTHER_ID), CouponStatus.DELETED, NOW))).containsPattern("PRIMARY_KEY\\w*: ID IN");
+        assertThat(planOf(() -> repository.updateStatus(List.of(ID, OTHER_ID), CouponStatus.EXPIRED))).containsPattern("PRIMARY_KEY\\w*: ID IN");
+        assertThat(planOf(() -> repository.updatePublication(List.of(ID, OTHER_ID), true, CouponStatus.ACTIVE,
+                List.of(CouponStatus.DELETED, CouponStatus.EXPIRED)))).containsPattern("PRIMARY_KEY\\w*: ID IN");
+        assertThat(planOf(() -> repository.findDeletable(CouponStatus.DELETED, null, "ABC%", null,
+                CouponRepository.FIRST_PAGE, Limit.of(10)))).containsPattern("PRIMARY_KEY\\w*: ID > \\?");
+    }
+
+    // Limpeza das chaves de idempotência (SQL do JdbcIdempotencyStore)
+    @Test
+    void idempotencyPurgeUsesExpirationIndex() {
+        assertThat(explain("delete from idempotency_keys where expires_at < ?")).contains("IDX_IDEMPOTENCY_KEYS_EXPIRES_AT");
+    }
+
+    // Executa a consulta e retorna o plano do último SQL emitido pelo Hibernate
+    private String planOf(Runnable query) {
+        SqlCapture.STATEMENTS.clear();
+        query.run();
+        return explain(SqlCapture.STATEMENTS.get(SqlCapture.STATEMENTS.size() - 1));
+    }
+
+    // O plano é calculado na preparação, sem conhecer os valores: parâmetros nulos bastam para o EXPLAIN
+    private String explain(String sql) {
+        return jdbcTemplate.execute((ConnectionCallback<String>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement("explain " + sql)) {
+                for (int i = 1; i <= statement.getParameterMetaData().getParameterCount(); i++) {
+                    statement.setObject(i, null);
+                }
+                try (ResultSet result = statement.executeQuery()) {
+                    result.next();
+                    return result.getString(1);
+                }
+            }
+        });
+    }
+
+    // Registrado no Hibernate via propriedade: guarda cada SQL gerado
+    public static class SqlCapture implements StatementInspector {
+
+        static final List<String> STATEMENTS = new CopyOnWriteArrayList<>();
+
+        @Override
+        public String inspect(String sql) {
+            STATEMENTS.add(sql);
+            return sql;
+        }
+    }
+}
@@ -7,7 +7,10 @@ import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -50,5 +53,26 @@ class CouponRepositoryTest {
         // a lógica ocorreu antes da persistência.
         assertThat(found.get().getCode()).isEqualTo("ABC123");
     }
-}
 
+    // Valida a busca pelo código já formatado (utilizada na validação por código)
+    @Test
+    void testFindByCode() {
+        repository.save(new Coupon("XYZ-789", "Cupom Teste", BigDecimal.ONE, Instant.now().plusSeconds(3600), true));
+
+        assertThat(repository.findByCode("XYZ789")).isPresent();
+        assertThat(repository.findByCode("XYZ-789")).isEmpty();
+    }
+
+    // Ids gerados são UUID versão 7: crescentes na ordem de criação (inserções no fim do índice da chave primária)
+    @Test
+    void testGeneratedIdsAreTimeOrdered() {
+        List<UUID> ids = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            ids.add(repository.saveAndFlush(new Coupon("ORD00" + i, "Cupom Teste", BigDecimal.ONE,
+                    Instant.now().plusSeconds(3600), true)).getId());
+        }
+
+        assertThat(ids).allMatch(id -> id.version() == 7);
+        assertThat(ids).isSorted();
+    }
+}
@@ -0,0 +1,289 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
+import com.danilojbs.couponapi.dto.BulkCreateItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkCreateResponseDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteRequestDTO;
+import com.danilojbs.couponapi.dto.BulkDeleteResponseDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationItemResultDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationRequestDTO;
+import com.danilojbs.couponapi.dto.BulkPublicationResponseDTO;
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.outbox.CouponOutbox;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.Test;
+import org.mockito.stubbing.Answer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mockingDetails;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Teste de Integração da criação em lote.
+ * Utiliza o banco H2 em memória para validar a gravação em blocos e o resultado por item.
+ */
+@SpringBootTest(properties = "coupon.bulk.chunk-size=2") // Blocos pequenos para exercitar a divisão em chunks
+class CouponBulkServiceTest {
+
+    @Autowired
+    private CouponBulkService bulkService;
+
+    @MockitoSpyBean
+    private CouponRepository repository;
+
+    @MockitoSpyBean
+    private CouponOutbox outbox;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * Valida que itens válidos são gravados e os inválidos são reportados individualmente,
+     * sem interromper o restante do lote.
+     */
+    @Test
+    void testCreateAll_MixedResults() {
+        repository.saveAndFlush(new Coupon(
+                "BLK-001", "Existente", BigDecimal.ONE, Instant.now().plusSeconds(3600), true));
+
+        List<CreateCouponRequestDTO> requests = new ArrayList<>();
+        requests.add(request("BLK002", BigDecimal.ONE));        // válido
+        requests.add(request("BLK001", BigDecimal.ONE));        // já existe no banco
+        requests.add(request("BLK003", new BigDecimal("0.1"))); // desconto inválido
+        requests.add(request("BLK-003", BigDecimal.ONE));       // válido após formatação
+        requests.add(request("BLK003", BigDecimal.ONE));        // gravado no bloco anterior
+
+        BulkCreateResponseDTO response = bulkService.createAll(requests.iterator());
+
+        assertThat(response.created()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(3);
+        assertThat(response.items()).extracting(BulkCreateItemResultDTO::index).containsExactly(0, 1, 2, 3, 4);
+        assertThat(response.items()).extracting(BulkCreateItemResultDTO::status).containsExactly(
+                "CREATED", "REJECTED", "REJECTED", "CREATED", "REJECTED");
+        assertThat(response.items().get(0).id()).isNotNull();
+        assertThat(response.items().get(1).error()).isEqualTo("Coupon code already exists.");
+        assertThat(repository.findExistingCodes(List.of("BLK002", "BLK003"))).containsExactlyInAnyOrder("BLK002", "BLK003");
+    }
+
+    // Valida a rejeição de códigos repetidos dentro do mesmo bloco
+    @Test
+    void testCreateAll_DuplicatedCodeInChunk() {
+        BulkCreateResponseDTO response = bulkService.createAll(
+                List.of(request("DUP001", BigDecimal.ONE), request("DUP-001", BigDecimal.ONE)).iterator());
+
+        assertThat(response.created()).isEqualTo(1);
+        assertThat(response.items().get(1).error()).isEqualTo("Duplicated coupon code in request.");
+    }
+
+    // Valida a criação em lote com códigos gerados pelo servidor (sem código no payload)
+    @Test
+    void testCreateAll_GeneratedCodes() {
+        List<CreateCouponRequestDTO> requests = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            CreateCouponRequestDTO request = request(null, BigDecimal.ONE);
+            request.setGenerateCode(true);
+            requests.add(request);
+        }
+        CreateCouponRequestDTO both = request("GEN001", BigDecimal.ONE);
+        both.setGenerateCode(true);
+        requests.add(both); // Código e geração ao mesmo tempo: rejeitado
+
+        BulkCreateResponseDTO response = bulkService.createAll(requests.iterator());
+
+        assertThat(response.created()).isEqualTo(5);
+        assertThat(response.items().get(5).error()).isEqualTo("code: Code must not be sent when generateCode is true");
+        List<String> codes = response.items().subList(0, 5).stream().map(BulkCreateItemResultDTO::code).toList();
+        assertThat(codes).doesNotHaveDuplicates().allMatch(code -> code.matches("[0-9A-Z]{6}"));
+        assertThat(repository.findExistingCodes(codes)).hasSize(5);
+    }
+
+    /**
+     * Valida a exclusão em lote por ids (em mais de um bloco): cada id recebe seu resultado,
+     * sem interromper o lote em cupons já excluídos ou inexistentes.
+     */
+    @Test
+    void testDeleteAll_ByIds() {
+        Coupon first = repository.saveAndFlush(coupon("DEL001"));
+        Coupon second = repository.saveAndFlush(coupon("DEL002"));
+        Coupon deleted = coupon("DEL003");
+        deleted.markAsDeleted();
+        deleted = repository.saveAndFlush(deleted);
+
+        BulkDeleteResponseDTO response = bulkService.deleteAll(new BulkDeleteRequestDTO(
+                List.of(first.getId().toString(), deleted.getId().toString(), "missing-id", second.getId().toString(),
+                        first.getId().toString()), null, null, null));
+
+        assertThat(response.deleted()).isEqualTo(2);
+        assertThat(response.alreadyDeleted()).isEqualTo(1);
+        assertThat(response.notFound()).isEqualTo(1);
+        assertThat(response.items()).extracting(BulkDeleteItemResultDTO::status).containsExactly(
+                "DELETED", "ALREADY_DELETED", "NOT_FOUND", "DELETED");
+        Coupon reloaded = repository.findById(first.getId()).orElseThrow();
+        assertThat(reloaded.getStatus()).isEqualTo(CouponStatus.DELETED);
+        assertThat(reloaded.getDeletedAt()).isNotNull();
+    }
+
+    // Valida a exclusão em lote por filtro (prefixo do código), percorrendo vários blocos
+    @Test
+    void testDeleteAll_ByFilter() {
+        List.of("CMP001", "CMP002", "CMP003", "CMP004", "CMP005", "OTH001")
+                .forEach(code -> repository.saveAndFlush(coupon(code)));
+
+        BulkDeleteResponseDTO response = bulkService.deleteAll(new BulkDeleteRequestDTO(null, "cmp", null, null));
+        assertThat(response.deleted()).isZero(); // O prefixo diferencia maiúsculas de minúsculas, como o código
+
+        response = bulkService.deleteAll(new BulkDeleteRequestDTO(null, "CM-P", CouponStatus.ACTIVE, null));
+
+        assertThat(response.deleted()).isEqualTo(5);
+        assertThat(repository.findByCode("CMP005").orElseThrow().getStatus()).isEqualTo(CouponStatus.DELETED);
+        assertThat(repository.findByCode("OTH001").orElseThrow().getStatus()).isEqualTo(CouponStatus.ACTIVE);
+        assertThat(bulkService.deleteAll(new BulkDeleteRequestDTO(null, "CMP", null, null)).deleted()).isZero();
+    }
+
+    /**
+     * Valida a exclusão concorrente entre a leitura e o UPDATE do bloco: o bloco é refeito,
+     * e o cupom excluído pela outra transação é reportado como ALREADY_DELETED (sem novo evento no outbox).
+     */
+    @Test
+    void testDeleteAll_ConcurrentDeleteRetriesChunk() {
+        Coupon first = repository.saveAndFlush(coupon("CON001"));
+        Coupon second = repository.saveAndFlush(coupon("CON002"));
+        AtomicBoolean concurrentDelete = new AtomicBoolean(true);
+        // Spy de um proxy do Spring Data: a resposta padrão delega ao repositório real
+        Answer<?> realRepository = mockingDetails(repository).getMockCreationSettings().getDefaultAnswer();
+        doAnswer(invocation -> {
+            if (concurrentDelete.getAndSet(false)) {
+                TransactionTemplate concurrent = new TransactionTemplate(transactionManager);
+                concurrent.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+                concurrent.executeWithoutResult(status -> jdbcTemplate.update(
+                        "update coupons set status = 'DELETED', deleted_at = current_timestamp where id = ?", second.getId()));
+            }
+            return realRepository.answer(invocation);
+        }).when(repository).softDeleteAll(any(), any(), any());
+
+        BulkDeleteResponseDTO response = bulkService.deleteAll(new BulkDeleteRequestDTO(
+                List.of(first.getId().toString(), second.getId().toString()), null, null, null));
+
+        assertThat(response.items()).extracting(BulkDeleteItemResultDTO::status).containsExactly("DELETED", "ALREADY_DELETED");
+        verify(repository, times(2)).softDeleteAll(any(), any(), any());
+        verify(outbox).append(argThat(events -> events.size() == 1 && events.get(0).code().equals("CON001")));
+    }
+
+    // Conflito em todas as tentativas: 409 sem apontar um cupom específico (o UPDATE não indica qual cupom mudou)
+    @Test
+    void testDeleteAll_ConflictExhaustsAttempts() {
+        Coupon coupon = repository.saveAndFlush(coupon("CON003"));
+        doReturn(0).when(repository).softDeleteAll(any(), any(), any());
+
+        CouponConflictException ex = assertThrows(CouponConflictException.class, () -> bulkService.deleteAll(
+                new BulkDeleteRequestDTO(List.of(coupon.getId().toString()), null, null, null)));
+
+        assertThat(ex.getMessage()).isEqualTo("Coupons were modified concurrently during the bulk operation, please retry.");
+        verify(repository, times(CouponService.MAX_CONFLICT_ATTEMPTS)).softDeleteAll(any(), any(), any());
+        assertThat(repository.findById(coupon.getId()).orElseThrow().getStatus()).isEqualTo(CouponStatus.ACTIVE);
+    }
+
+    // Ids e filtro são mutuamente exclusivos (e ao menos um deles é obrigatório)
+    @Test
+    void testDeleteAll_RequiresIdsOrFilter() {
+        assertThrows(CouponBusinessException.class,
+                () -> bulkService.deleteAll(new BulkDeleteRequestDTO(null, null, null, null)));
+        assertThrows(CouponBusinessException.class,
+                () -> bulkService.deleteAll(new BulkDeleteRequestDTO(List.of("id"), "CMP", null, null)));
+    }
+
+    /**
+     * Valida a publicação/despublicação em lote (em mais de um bloco): o status acompanha a publicação,
+     * cupons já no estado pedido não recebem nova versão, e excluídos não voltam a ficar ativos.
+     */
+    @Test
+    void testChangePublicationAll() {
+        Coupon active = repository.saveAndFlush(coupon("PUB001"));
+        Coupon inactive = repository.saveAndFlush(new Coupon("PUB002", "Cupom Lote", BigDecimal.ONE,
+                Instant.now().plusSeconds(3600), false));
+        Coupon deleted = coupon("PUB003");
+        deleted.markAsDeleted();
+        deleted = repository.saveAndFlush(deleted);
+        List<String> ids = List.of(active.getId().toString(), inactive.getId().toString(), deleted.getId().toString(), "missing-id");
+
+        BulkPublicationResponseDTO response = bulkService.changePublicationAll(new BulkPublicationRequestDTO(ids), false);
+
+        assertThat(response.items()).extracting(BulkPublicationItemResultDTO::status)
+                .containsExactly("UPDATED", "UNCHANGED", "REJECTED", "NOT_FOUND");
+        Coupon unpublished = repository.findById(active.getId()).orElseThrow();
+        assertThat(unpublished.getPublished()).isFalse();
+        assertThat(unpublished.getStatus()).isEqualTo(CouponStatus.INACTIVE);
+        assertThat(unpublished.getVersion()).isEqualTo(active.getVersion() + 1);
+        assertThat(repository.findById(inactive.getId()).orElseThrow().getVersion()).isEqualTo(inactive.getVersion());
+
+        response = bulkService.changePublicationAll(new BulkPublicationRequestDTO(ids), true);
+
+        assertThat(response.updated()).isEqualTo(2);
+        assertThat(response.rejected()).isEqualTo(1);
+        assertThat(repository.findByCode("PUB002").orElseThrow().getStatus()).isEqualTo(CouponStatus.ACTIVE);
+        Coupon stillDeleted = repository.findById(deleted.getId()).orElseThrow();
+        assertThat(stillDeleted.getStatus()).isEqualTo(CouponStatus.DELETED);
+        assertThat(stillDeleted.getPublished()).isTrue(); // Publicação original preservada
+    }
+
+    // Conflito em todas as tentativas: 409 sem apontar o primeiro id do bloco (que pode nem ter sido alterado)
+    @Test
+    void testChangePublicationAll_ConflictExhaustsAttempts() {
+        Coupon coupon = repository.saveAndFlush(coupon("PUB010"));
+        doReturn(0).when(repository).updatePublication(any(), anyBoolean(), any(), any());
+
+        CouponConflictException ex = assertThrows(CouponConflictException.class, () -> bulkService.changePublicationAll(
+                new BulkPublicationRequestDTO(List.of("missing-id", coupon.getId().toString())), false));
+
+        assertThat(ex.getMessage()).isEqualTo("Coupons were modified concurrently during the bulk operation, please retry.");
+        verify(repository, times(CouponService.MAX_CONFLICT_ATTEMPTS)).updatePublication(any(), anyBoolean(), any(), any());
+        assertThat(repository.findById(coupon.getId()).orElseThrow().getStatus()).isEqualTo(CouponStatus.ACTIVE);
+    }
+
+    @Test
+    void testChangePublicationAll_RequiresIds() {
+        assertThrows(CouponBusinessException.class,
+                () -> bulkService.changePublicationAll(new BulkPublicationRequestDTO(List.of()), true));
+    }
+
+    private Coupon coupon(String code) {
+        return new Coupon(code, "Cupom Lote", BigDecimal.ONE, Instant.now().plusSeconds(3600), true);
+    }
+
+    private CreateCouponRequestDTO request(String code, BigDecimal discount) {
+        CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+        request.setCode(code);
+        request.setDescription("Cupom Lote");
+        request.setDiscountValue(discount);
+        request.setExpirationDate(Instant.now().plusSeconds(3600));
+        request.setPublished(true);
+        return request;
+    }
+}
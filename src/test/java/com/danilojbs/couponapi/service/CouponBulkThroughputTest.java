@@ -0,0 +1,64 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Benchmark de vazão: criação individual (CouponService.create) x criação em lote (CouponBulkService).
+ * Executado apenas sob demanda: ./mvnw test -Dtest=CouponBulkThroughputTest -Dbenchmark=true
+ */
+@SpringBootTest
+@EnabledIfSystemProperty(named = "benchmark", matches = "true")
+class CouponBulkThroughputTest {
+
+    private static final int COUPONS = Integer.getInteger("benchmark.coupons", 20_000);
+
+    @Autowired
+    private CouponService service;
+
+    @Autowired
+    private CouponBulkService bulkService;
+
+    @Test
+    void compareSingleAndBulkThroughput() {
+        List<CreateCouponRequestDTO> single = requests("S", COUPONS);
+        List<CreateCouponRequestDTO> bulk = requests("B", COUPONS);
+
+        long start = System.nanoTime();
+        single.forEach(service::create);
+        double singleSeconds = (System.nanoTime() - start) / 1e9;
+
+        start = System.nanoTime();
+        int created = bulkService.createAll(bulk.iterator()).created();
+        double bulkSeconds = (System.nanoTime() - start) / 1e9;
+
+        assertThat(created).isEqualTo(COUPONS);
+        System.out.printf("single: %,.0f coupons/s | bulk: %,.0f coupons/s | speedup: %.1fx%n",
+                COUPONS / singleSeconds, COUPONS / bulkSeconds, singleSeconds / bulkSeconds);
+    }
+
+    // Gera códigos únicos de 6 caracteres: prefixo + número em base 36
+    private List<CreateCouponRequestDTO> requests(String prefix, int count) {
+        List<CreateCouponRequestDTO> requests = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            CreateCouponRequestDTO request = new CreateCouponRequestDTO();
+            request.setCode(prefix + String.format("%5s", Integer.toString(i, 36)).replace(' ', '0'));
+            request.setDescription("Benchmark");
+            request.setDiscountValue(BigDecimal.ONE);
+            request.setExpirationDate(Instant.now().plusSeconds(3600));
+            request.setPublished(true);
+            requests.add(request);
+        }
+        return requests;
+    }
+}
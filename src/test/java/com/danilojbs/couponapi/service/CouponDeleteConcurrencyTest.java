@@ -0,0 +1,149 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Concorrência da exclusão (concorrência otimista).
+ * Exclusões simultâneas do mesmo cupom e exclusões disputando com resgates:
+ * apenas uma exclusão vence, e nenhum resgate confirmado é perdido pela gravação da exclusão.
+ */
+@SpringBootTest(properties = "coupon.expiration.enabled=false")
+class CouponDeleteConcurrencyTest {
+
+    private static final int THREADS = 16;
+    private static final int COUPONS = 200;
+    private static final int DELETES_PER_COUPON = 4;
+
+    @Autowired
+    private CouponService service;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private MeterRegistry registry;
+
+    @Test
+    void testConcurrentDeletesHaveSingleWinner() throws InterruptedException {
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < COUPONS; i++) {
+            ids.add(repository.saveAndFlush(new Coupon(String.format("OLK%03d", i), "Exclusão Concorrente",
+                    BigDecimal.ONE, Instant.now().plusSeconds(3600), true)).getId().toString());
+        }
+        double retriesBefore = conflictRetries();
+
+        AtomicInteger deleted = new AtomicInteger();
+        AtomicInteger alreadyDeleted = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1); // Libera todas as threads ao mesmo tempo
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (String id : ids) {
+            for (int i = 0; i < DELETES_PER_COUPON; i++) {
+                executor.submit(() -> {
+                    start.await();
+                    try {
+                        service.delete(id);
+                        deleted.incrementAndGet();
+                    } catch (CouponBusinessException ex) {
+                        alreadyDeleted.incrementAndGet();
+                    }
+                    return null;
+                });
+            }
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        assertThat(deleted).hasValue(COUPONS);
+        assertThat(alreadyDeleted).hasValue(COUPONS * (DELETES_PER_COUPON - 1));
+
+        int attempts = COUPONS * DELETES_PER_COUPON;
+        double retries = conflictRetries() - retriesBefore;
+        System.out.printf("delete stress: %d threads, %d attempts, %,.0f attempts/s, conflict retries: %.0f (%.1f%%)%n",
+                THREADS, attempts, attempts / seconds, retries, 100 * retries / attempts);
+    }
+
+    // Exclusão lida antes de resgates concorrentes não pode sobrescrever o contador ao gravar
+    @Test
+    void testDeleteDoesNotLoseConcurrentRedemptions() throws InterruptedException {
+        Coupon coupon = repository.saveAndFlush(new Coupon("OLKRDM", "Exclusão x Resgate", BigDecimal.ONE,
+                Instant.now().plusSeconds(3600), true));
+        String id = coupon.getId().toString();
+
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicInteger conflicts = new AtomicInteger();
+        AtomicBoolean open = new AtomicBoolean(true);
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int t = 0; t < THREADS - 1; t++) {
+            executor.submit(() -> {
+                start.await();
+                while (open.get()) {
+                    try {
+                        service.redeem("OLKRDM");
+                        redeemed.incrementAndGet();
+                    } catch (CouponBusinessException ex) {
+                        open.set(false); // Cupom excluído: resgates encerrados
+                    }
+                }
+                return null;
+            });
+        }
+        executor.submit(() -> {
+            start.await();
+            while (redeemed.get() < 100) {
+                Thread.onSpinWait();
+            }
+            // O cliente repete a exclusão ao receber 409 (tentativas esgotadas)
+            while (true) {
+                try {
+                    service.delete(id);
+                    return null;
+                } catch (CouponConflictException ex) {
+                    conflicts.incrementAndGet();
+                }
+            }
+        });
+
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+
+        Coupon stored = repository.findByCode("OLKRDM").orElseThrow();
+        assertThat(stored.getStatus()).isEqualTo(CouponStatus.DELETED);
+        assertThat(stored.getRedemptionCount()).isEqualTo(redeemed.get());
+
+        System.out.printf("delete x redeem: %d redemptions preserved, %d conflicts returned to the client%n",
+                redeemed.get(), conflicts.get());
+    }
+
+    private double conflictRetries() {
+        return registry.get("coupon.operations.conflict.retries").tag("operation", "delete").counter().count();
+    }
+}
@@ -0,0 +1,71 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Integração do processo de expiração.
+ * O agendamento fica desligado e a varredura é disparada manualmente, com lotes pequenos.
+ */
+@SpringBootTest(properties = {
+        "coupon.expiration.enabled=false",
+        "coupon.expiration.batch-size=2",
+        "coupon.expiration.max-rows-per-second=0"
+})
+class CouponExpirationSweeperTest {
+
+    @Autowired
+    private CouponExpirationSweeper sweeper;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void testSweepExpiresOnlyPastCoupons() {
+        // O domínio não permite criar cupons vencidos: a data é alterada diretamente no banco
+        List<String> expired = List.of("EXP001", "EXP002", "EXP003", "EXP004", "EXP005");
+        expired.forEach(code -> save(code, !code.endsWith("5"))); // EXP005 não publicado (INACTIVE)
+        save("EXP006", true);   // ainda válido
+        save("EXP007", true);   // vencido, mas excluído: não deve mudar
+        expired.forEach(this::moveToPast);
+        moveToPast("EXP007");
+        jdbcTemplate.update("update coupons set status = 'DELETED' where code = 'EXP007'");
+
+        int updated = sweeper.sweep();
+
+        assertThat(updated).isEqualTo(5);
+        expired.forEach(code ->
+                assertThat(repository.findByCode(code).orElseThrow().getStatus()).isEqualTo(CouponStatus.EXPIRED));
+        assertThat(repository.findByCode("EXP006").orElseThrow().getStatus()).isEqualTo(CouponStatus.ACTIVE);
+        assertThat(repository.findByCode("EXP007").orElseThrow().getStatus()).isEqualTo(CouponStatus.DELETED);
+        assertThat(sweeper.getLastRunRows()).isEqualTo(5);
+        assertThat(sweeper.getLagSeconds()).isZero();
+
+        // Execução seguinte: nada a processar
+        assertThat(sweeper.sweep()).isZero();
+    }
+
+    private void save(String code, boolean published) {
+        repository.saveAndFlush(new Coupon(code, "Cupom Expiração", BigDecimal.ONE, Instant.now().plusSeconds(3600), published));
+    }
+
+    private void moveToPast(String code) {
+        jdbcTemplate.update("update coupons set expiration_date = ? where code = ?",
+                Timestamp.from(Instant.now().minusSeconds(60)), code);
+    }
+}
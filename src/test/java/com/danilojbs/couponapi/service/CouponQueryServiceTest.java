@@ -0,0 +1,90 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.CouponStatus;
+import com.danilojbs.couponapi.dto.CouponFilterDTO;
+import com.danilojbs.couponapi.dto.CouponPageResponseDTO;
+import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.data.jpa.test.autoconfigure.DataJpaTest;
+import org.springframework.context.annotation.Import;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste do Serviço de leitura: valida a paginação por cursor e a exportação em stream
+ * contra o banco H2 em memória.
+ */
+@DataJpaTest
+@Import(CouponQueryService.class)
+class CouponQueryServiceTest {
+
+    private static final CouponFilterDTO NO_FILTER = new CouponFilterDTO(null, null, null, null);
+
+    @Autowired
+    private CouponQueryService queryService;
+
+    @Autowired
+    private CouponRepository repository;
+
+    private Instant now;
+
+    @BeforeEach
+    void setUp() {
+        now = Instant.now().truncatedTo(ChronoUnit.SECONDS);
+        for (int i = 0; i < 5; i++) {
+            repository.save(new Coupon("PAG00" + i, "Cupom " + i, BigDecimal.ONE,
+                    now.plus(i + 1, ChronoUnit.DAYS), i % 2 == 0));
+        }
+    }
+
+    // Percorre todas as páginas pelo cursor e garante que cada cupom aparece uma única vez, em ordem
+    @Test
+    void testListWalksAllPages() {
+        List<String> ids = new ArrayList<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            CouponPageResponseDTO page = queryService.list(NO_FILTER, cursor, 2);
+            page.items().forEach(item -> ids.add(item.id()));
+            cursor = page.nextCursor();
+            pages++;
+        } while (cursor != null);
+
+        assertThat(pages).isEqualTo(3);
+        assertThat(ids).hasSize(5).doesNotHaveDuplicates().isSorted();
+    }
+
+    // Filtros por status e intervalo de expiração (início inclusivo, fim exclusivo)
+    @Test
+    void testListFilters() {
+        CouponFilterDTO active = new CouponFilterDTO(CouponStatus.ACTIVE, true, null, null);
+        CouponFilterDTO range = new CouponFilterDTO(null, null,
+                now.plus(2, ChronoUnit.DAYS), now.plus(4, ChronoUnit.DAYS));
+
+        assertThat(queryService.list(active, null, 10).items())
+                .extracting(CouponResponseDTO::code).containsExactlyInAnyOrder("PAG000", "PAG002", "PAG004");
+        assertThat(queryService.list(range, null, 10).items())
+                .extracting(CouponResponseDTO::code).containsExactlyInAnyOrder("PAG001", "PAG002");
+    }
+
+    // A exportação entrega os registros um a um ao consumidor
+    @Test
+    void testExport() {
+        List<String> codes = new ArrayList<>();
+
+        queryService.export(new CouponFilterDTO(CouponStatus.INACTIVE, null, null, null),
+                coupon -> codes.add(coupon.code()));
+
+        assertThat(codes).containsExactlyInAnyOrder("PAG001", "PAG003");
+    }
+}
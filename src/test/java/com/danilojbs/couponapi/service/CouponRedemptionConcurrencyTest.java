@@ -0,0 +1,106 @@
+package com.danilojbs.couponapi.service;
+
+import com.danilojbs.couponapi.domain.Coupon;
+import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
+import com.danilojbs.couponapi.repository.CouponRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Teste de Concorrência do resgate.
+ * Dispara muito mais tentativas do que o limite do cupom, a partir de várias threads simultâneas,
+ * e garante que o limite nunca é ultrapassado (sem over-redemption).
+ */
+@SpringBootTest
+class CouponRedemptionConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int ATTEMPTS = 4_000;
+    private static final int MAX_REDEMPTIONS = 1_000;
+    private static final int WARMUP = 2_000;
+
+    @Autowired
+    private CouponService service;
+
+    @Autowired
+    private CouponRepository repository;
+
+    @Test
+    void testConcurrentRedemptionsNeverExceedLimit() throws InterruptedException {
+        repository.saveAndFlush(new Coupon("RDM-001", "Cupom Concorrente", BigDecimal.ONE,
+                Instant.now().plusSeconds(3600), true, MAX_REDEMPTIONS));
+        warmUp();
+
+        AtomicInteger redeemed = new AtomicInteger();
+        AtomicInteger refused = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1); // Libera todas as threads ao mesmo tempo
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (int i = 0; i < ATTEMPTS; i++) {
+            executor.submit(() -> {
+                start.await();
+                try {
+                    service.redeem("RDM001");
+                    redeemed.incrementAndGet();
+                } catch (CouponBusinessException ex) {
+                    refused.incrementAndGet();
+                }
+                return null;
+            });
+        }
+
+        long begin = System.nanoTime();
+        start.countDown();
+        executor.shutdown();
+        assertThat(executor.awaitTermination(2, TimeUnit.MINUTES)).isTrue();
+        double seconds = (System.nanoTime() - begin) / 1e9;
+
+        assertThat(redeemed).hasValue(MAX_REDEMPTIONS);
+        assertThat(refused).hasValue(ATTEMPTS - MAX_REDEMPTIONS);
+        assertThat(repository.findByCode("RDM001").orElseThrow().getRedemptionCount()).isEqualTo(MAX_REDEMPTIONS);
+
+        System.out.printf("redemption stress: %d threads, %d attempts, %,.0f attempts/s, %,.0f redemptions/s%n",
+                THREADS, ATTEMPTS, ATTEMPTS / seconds, MAX_REDEMPTIONS / seconds);
+    }
+
+    // O resgate invalida o cache: a validação deixa de aceitar o cupom assim que o limite é atingido (sem esperar o TTL)
+    @Test
+    void testValidationReportsExhaustedAfterLastRedemption() {
+        repository.saveAndFlush(new Coupon("RDM-002", "Cupom Esgotado", BigDecimal.ONE,
+                Instant.now().plusSeconds(3600), true, 2));
+        assertThat(service.validateCode("RDM002").valid()).isTrue(); // Popula o cache
+
+        service.redeem("RDM002");
+        assertThat(service.validateCode("RDM002").valid()).isTrue();
+        service.redeem("RDM002");
+
+        CouponValidationResponseDTO response = service.validateCode("RDM002");
+        assertThat(response.valid()).isFalse();
+        assertThat(response.reason()).isEqualTo("EXHAUSTED");
+    }
+
+    // Aquecimento (JIT) em outro cupom para que a medição reflita o regime estável
+    private void warmUp() {
+        repository.saveAndFlush(new Coupon("RDM-000", "Aquecimento", BigDecimal.ONE,
+                Instant.now().plusSeconds(3600), true, 1));
+        for (int i = 0; i < WARMUP; i++) {
+            try {
+                service.redeem("RDM000");
+            } catch (CouponBusinessException ex) {
+                // Esperado após o primeiro resgate: exercita também o caminho de recusa
+            }
+        }
+    }
+}
@@ -1,24 +1,48 @@
 package com.danilojbs.couponapi.service;
 
+import com.danilojbs.couponapi.cache.CachedCoupon;
+import com.danilojbs.couponapi.cache.CouponLookupCache;
+import com.danilojbs.couponapi.config.ReplicaDataSourceProperties;
+import com.danilojbs.couponapi.datasource.ReadYourWritesTracker;
 import com.danilojbs.couponapi.domain.Coupon;
 import com.danilojbs.couponapi.domain.CouponStatus;
 import com.danilojbs.couponapi.domain.exception.CouponBusinessException;
+import com.danilojbs.couponapi.domain.exception.CouponConflictException;
+import com.danilojbs.couponapi.domain.exception.CouponNotFoundException;
 import com.danilojbs.couponapi.dto.CouponResponseDTO;
+import com.danilojbs.couponapi.dto.CouponValidationResponseDTO;
 import com.danilojbs.couponapi.dto.CreateCouponRequestDTO;
+import com.danilojbs.couponapi.generator.CouponCodeGenerator;
+import com.danilojbs.couponapi.metrics.CouponMetrics;
+import com.danilojbs.couponapi.outbox.CouponEventType;
+import com.danilojbs.couponapi.outbox.CouponOutbox;
 import com.danilojbs.couponapi.repository.CouponRepository;
+import com.danilojbs.couponapi.repository.CouponStatusView;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
+import org.mockito.Spy;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.Duration;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.UUID;
+import java.util.function.Function;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 /**
@@ -27,9 +51,30 @@ import static org.mockito.Mockito.*;
  */
 class CouponServiceTest {
 
+    private static final String ID = "0190a4e2-5b3c-7d41-8f00-1234567890ab";
+
     @Mock
     private CouponRepository repository; // Simula o banco de dados
 
+    @Mock
+    private CouponLookupCache lookupCache; // Simula o cache de consulta por código
+
+    @Spy
+    private ReadYourWritesTracker readYourWrites = new ReadYourWritesTracker(new ReplicaDataSourceProperties(
+            false, null, "sa", "", 10, Duration.ofSeconds(5), 100)); // Sem réplica: leituras seguem direto ao repositório
+
+    @Mock
+    private CouponCodeGenerator codeGenerator; // Simula a geração de códigos
+
+    @Mock
+    private CouponOutbox outbox; // Simula o outbox de eventos
+
+    @Spy
+    private CouponMetrics metrics = new CouponMetrics(new SimpleMeterRegistry()); // Registro em memória
+
+    @Spy
+    private TransactionTemplate transactionTemplate = new TransactionTemplate(mock(PlatformTransactionManager.class)); // Executa o callback sem banco
+
     @InjectMocks
     private CouponService service; // Mock do serviço para simulação dos cenários
 
@@ -78,9 +123,43 @@ class CouponServiceTest {
         assertThat(response.description()).isEqualTo("Cupom Teste");
 
         verify(repository, times(1)).save(any(Coupon.class)); // Garante que salvou no banco
+        verify(outbox).append(argThat(events -> events.size() == 1
+                && events.get(0).type() == CouponEventType.CREATED && events.get(0).code().equals("ABC123")));
     }
 
 
+    /**
+     * Testa a criação com código gerado pelo servidor.
+     * Uma colisão com um código já cadastrado gera um novo código e uma nova tentativa.
+     */
+    @Test
+    void testCreateCoupon_GeneratedCode() {
+        request.setCode(null);
+        request.setGenerateCode(true);
+        when(codeGenerator.next()).thenReturn("G00001", "G00002");
+        when(repository.save(any(Coupon.class)))
+                .thenThrow(new DataIntegrityViolationException("duplicate code"))
+                .thenAnswer(invocation -> invocation.getArgument(0));
+
+        CouponResponseDTO response = service.create(request);
+
+        assertThat(response.code()).isEqualTo("G00002");
+        verify(repository, times(2)).save(any(Coupon.class));
+        verify(outbox, times(1)).append(any()); // A tentativa que falhou não chega a gravar o evento
+    }
+
+    // Após o limite de tentativas, a falha de gravação é propagada
+    @Test
+    void testCreateCoupon_GeneratedCodeAttemptsExhausted() {
+        request.setCode(null);
+        request.setGenerateCode(true);
+        when(codeGenerator.next()).thenReturn("G00001", "G00002", "G00003");
+        when(repository.save(any(Coupon.class))).thenThrow(new DataIntegrityViolationException("duplicate code"));
+
+        assertThrows(DataIntegrityViolationException.class, () -> service.create(request));
+        verify(repository, times(CouponService.MAX_GENERATION_ATTEMPTS)).save(any(Coupon.class));
+    }
+
     /**
      * Testa o Soft Delete com sucesso.
      * Verifica se o status mudou para DELETED e se a data foi preenchida.
@@ -88,36 +167,140 @@ class CouponServiceTest {
     @Test
     void testDeleteCoupon_Success() {
         coupon.setStatus(CouponStatus.INACTIVE);
+        ReflectionTestUtils.setField(coupon, "id", UUID.fromString(ID));
 
-        when(repository.findById("1")).thenReturn(Optional.of(coupon));
+        when(repository.findById(UUID.fromString(ID))).thenReturn(Optional.of(coupon));
         when(repository.save(any(Coupon.class))).thenReturn(coupon);
 
-        service.delete("1");
+        service.delete(ID);
 
         assertThat(coupon.getStatus()).isEqualTo(CouponStatus.DELETED);
         assertThat(coupon.getDeletedAt()).isNotNull();
         verify(repository, times(1)).save(coupon);
+        verify(lookupCache, times(1)).evictAfterCommit("ABC123", 1L); // Invalida o cache do código (versão gravada)
+        verify(outbox).append(argThat(events -> events.size() == 1 && events.get(0).type() == CouponEventType.DELETED
+                && events.get(0).couponId().equals(ID) && events.get(0).coupon() == null));
     }
 
     @Test
     void testDeleteCoupon_NotFound() {
-        when(repository.findById("1")).thenReturn(Optional.empty());
+        when(repository.findById(UUID.fromString(ID))).thenReturn(Optional.empty());
 
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> service.delete(ID));
+
+        assertThat(exception.getMessage()).isEqualTo("Coupon not found with id: " + ID);
+    }
+
+    // Id fora do formato UUID não corresponde a nenhum cupom (404, sem consulta ao banco)
+    @Test
+    void testDeleteCoupon_InvalidId() {
         RuntimeException exception = assertThrows(RuntimeException.class, () -> service.delete("1"));
 
         assertThat(exception.getMessage()).isEqualTo("Coupon not found with id: 1");
+        verifyNoInteractions(repository);
     }
 
     @Test
     void testDeleteCoupon_AlreadyDeleted() {
         coupon.setStatus(CouponStatus.DELETED);
-        when(repository.findById("1")).thenReturn(Optional.of(coupon));
+        when(repository.findById(UUID.fromString(ID))).thenReturn(Optional.of(coupon));
 
-        RuntimeException exception = assertThrows(RuntimeException.class, () -> service.delete("1"));
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> service.delete(ID));
 
         assertThat(exception.getMessage()).isEqualTo("Coupon is already deleted.");
     }
 
+    // Outra transação alterou o cupom entre a leitura e a gravação: relê e repete a exclusão
+    @Test
+    void testDeleteCoupon_RetriesAfterConcurrentModification() {
+        ReflectionTestUtils.setField(coupon, "id", UUID.fromString(ID));
+        when(repository.findById(UUID.fromString(ID)))
+                .thenReturn(Optional.of(freshCoupon()), Optional.of(coupon));
+        when(repository.save(any(Coupon.class)))
+                .thenThrow(new ObjectOptimisticLockingFailureException(Coupon.class, ID))
+                .thenReturn(coupon);
+
+        service.delete(ID);
+
+        assertThat(coupon.getStatus()).isEqualTo(CouponStatus.DELETED);
+        verify(repository, times(2)).findById(UUID.fromString(ID));
+        verify(metrics).conflictRetried(CouponMetrics.Operation.DELETE);
+    }
+
+    @Test
+    void testDeleteCoupon_ConflictAfterMaxAttempts() {
+        ReflectionTestUtils.setField(coupon, "id", UUID.fromString(ID));
+        when(repository.findById(UUID.fromString(ID))).thenAnswer(invocation -> Optional.of(freshCoupon()));
+        when(repository.save(any(Coupon.class))).thenThrow(new ObjectOptimisticLockingFailureException(Coupon.class, ID));
+
+        assertThrows(CouponConflictException.class, () -> service.delete(ID));
+
+        verify(repository, times(CouponService.MAX_CONFLICT_ATTEMPTS)).save(any(Coupon.class));
+        verify(outbox, never()).append(any());
+    }
+
+    /**
+     * Testa a publicação sem carregar a entidade:
+     * um UPDATE condicionado ao status lido, evento PUBLISHED e invalidação do cache do código.
+     */
+    @Test
+    void testChangePublication_Publish() {
+        UUID id = UUID.fromString(ID);
+        when(repository.findStatusByIds(List.of(id))).thenReturn(List.of(new CouponStatusView(id, "ABC123", CouponStatus.INACTIVE)));
+        when(repository.updatePublication(List.of(id), true, CouponStatus.ACTIVE, Coupon.FINAL_STATUSES)).thenReturn(1);
+
+        service.changePublication(ID, true);
+
+        verify(repository, never()).findById(any());
+        verify(outbox).append(argThat(events -> events.size() == 1 && events.get(0).type() == CouponEventType.PUBLISHED));
+        verify(lookupCache).evictAfterCommit("ABC123");
+    }
+
+    // Cupom já no estado pedido: nenhuma escrita (operação idempotente)
+    @Test
+    void testChangePublication_AlreadyInState() {
+        UUID id = UUID.fromString(ID);
+        when(repository.findStatusByIds(List.of(id))).thenReturn(List.of(new CouponStatusView(id, "ABC123", CouponStatus.INACTIVE)));
+
+        service.changePublication(ID, false);
+
+        verify(repository, never()).updatePublication(any(), anyBoolean(), any(), any());
+        verifyNoInteractions(outbox, lookupCache);
+    }
+
+    // Cupons excluídos ou expirados não podem ser publicados novamente
+    @Test
+    void testChangePublication_FinalStatus() {
+        UUID id = UUID.fromString(ID);
+        when(repository.findStatusByIds(List.of(id)))
+                .thenReturn(List.of(new CouponStatusView(id, "ABC123", CouponStatus.DELETED)))
+                .thenReturn(List.of(new CouponStatusView(id, "ABC123", CouponStatus.EXPIRED)));
+
+        assertThat(assertThrows(CouponBusinessException.class, () -> service.changePublication(ID, true)).getMessage())
+                .isEqualTo("Coupon is deleted.");
+        assertThat(assertThrows(CouponBusinessException.class, () -> service.changePublication(ID, true)).getMessage())
+                .isEqualTo("Coupon is expired.");
+        verify(repository, never()).updatePublication(any(), anyBoolean(), any(), any());
+    }
+
+    @Test
+    void testChangePublication_NotFound() {
+        assertThrows(CouponNotFoundException.class, () -> service.changePublication(ID, true));
+        assertThrows(CouponNotFoundException.class, () -> service.changePublication("1", true));
+    }
+
+    // Status alterado por outra transação entre a leitura e o UPDATE: conflito (409), sem evento
+    @Test
+    void testChangePublication_ConcurrentChange() {
+        UUID id = UUID.fromString(ID);
+        when(repository.findStatusByIds(List.of(id))).thenReturn(List.of(new CouponStatusView(id, "ABC123", CouponStatus.ACTIVE)));
+        when(repository.updatePublication(List.of(id), false, CouponStatus.INACTIVE, Coupon.FINAL_STATUSES)).thenReturn(0);
+
+        assertThrows(CouponConflictException.class, () -> service.changePublication(ID, false));
+
+        verifyNoInteractions(outbox);
+    }
+
     /**
      * Testes de Falha (Negative Path):
      * Garantem que o sistema barra dados inválidos que violam as regras.
@@ -146,4 +329,148 @@ class CouponServiceTest {
         // Valida que o domínio rejeita códigos que, após limpos, não tenham 6 dígitos
         assertThrows(CouponBusinessException.class, () -> service.create(request));
     }
+
+    /**
+     * Testes da validação por código:
+     * O código é normalizado antes da consulta e o cache é utilizado como read-through.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testValidateCode_Valid() {
+        coupon.setStatus(CouponStatus.ACTIVE);
+        when(repository.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+        when(lookupCache.get(eq("ABC123"), any(Function.class)))
+                .thenAnswer(invocation -> invocation.<Function<String, CachedCoupon>>getArgument(1).apply("ABC123"));
+
+        CouponValidationResponseDTO response = service.validateCode("ABC-123");
+
+        assertThat(response.valid()).isTrue();
+        assertThat(response.reason()).isNull();
+        assertThat(response.coupon().code()).isEqualTo("ABC123");
+    }
+
+    @Test
+    void testValidateCode_Deleted() {
+        coupon.setStatus(CouponStatus.DELETED);
+        when(lookupCache.get(eq("ABC123"), any())).thenReturn(CachedCoupon.of(coupon));
+
+        CouponValidationResponseDTO response = service.validateCode("ABC-123");
+
+        assertThat(response.valid()).isFalse();
+        assertThat(response.reason()).isEqualTo("DELETED");
+        verify(repository, never()).findByCode(any()); // Cache hit: o banco não é acessado
+    }
+
+    @Test
+    void testValidateCode_Exhausted() {
+        Coupon limited = new Coupon("LIM-001", "Cupom Limitado", BigDecimal.ONE, Instant.now().plusSeconds(3600), true, 1);
+        org.springframework.test.util.ReflectionTestUtils.setField(limited, "redemptionCount", 1);
+        when(lookupCache.get(eq("LIM001"), any())).thenReturn(CachedCoupon.of(limited));
+
+        CouponValidationResponseDTO response = service.validateCode("LIM-001");
+
+        assertThat(response.valid()).isFalse();
+        assertThat(response.reason()).isEqualTo("EXHAUSTED");
+    }
+
+    @Test
+    void testValidateCode_NotFound() {
+        when(lookupCache.get(eq("ZZZ999"), any())).thenReturn(CachedCoupon.MISSING);
+
+        CouponNotFoundException exception = assertThrows(CouponNotFoundException.class,
+                () -> service.validateCode("ZZZ-999"));
+
+        assertThat(exception.getMessage()).isEqualTo("Coupon not found with code: ZZZ999");
+    }
+
+    /**
+     * Testes do resgate:
+     * O motivo da recusa só é consultado quando o UPDATE condicional não altera nenhuma linha.
+     */
+    @Test
+    void testRedeem_Success() {
+        when(repository.redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(1);
+
+        service.redeem("ABC-123");
+
+        verify(repository, never()).findByCode(any()); // Caminho feliz: nenhuma leitura da entidade
+        verify(lookupCache).evictAfterCommit("ABC123"); // Contador alterado: a validação relê o cupom
+    }
+
+    @Test
+    void testRedeem_LimitReached() {
+        Coupon limited = new Coupon("LIM-001", "Cupom Limitado", BigDecimal.ONE, Instant.now().plusSeconds(3600), true, 1);
+        org.springframework.test.util.ReflectionTestUtils.setField(limited, "redemptionCount", 1);
+        when(repository.redeem(eq("LIM001"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+        when(repository.findByCode("LIM001")).thenReturn(Optional.of(limited));
+
+        CouponBusinessException exception = assertThrows(CouponBusinessException.class, () -> service.redeem("LIM001"));
+
+        assertThat(exception.getMessage()).isEqualTo("Coupon redemption limit reached.");
+    }
+
+    @Test
+    void testRedeem_NotPublished() {
+        coupon.setStatus(CouponStatus.INACTIVE);
+        when(repository.redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+        when(repository.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+
+        CouponBusinessException exception = assertThrows(CouponBusinessException.class, () -> service.redeem("ABC123"));
+
+        assertThat(exception.getMessage()).isEqualTo("Coupon is not published.");
+    }
+
+    // Status ainda ACTIVE (a expiração em lote não executou), mas com a data vencida
+    @Test
+    void testRedeem_ExpiredByDate() {
+        coupon.setStatus(CouponStatus.ACTIVE);
+        org.springframework.test.util.ReflectionTestUtils.setField(coupon, "expirationDate", Instant.now().minusSeconds(60));
+        when(repository.redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+        when(repository.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+
+        CouponBusinessException exception = assertThrows(CouponBusinessException.class, () -> service.redeem("ABC123"));
+
+        assertThat(exception.getMessage()).isEqualTo("Coupon is expired.");
+    }
+
+    // Recusa com o cupom resgatável na leitura (alteração concorrente): o UPDATE é repetido uma vez
+    @Test
+    void testRedeem_ConcurrentChangeRetried() {
+        coupon.setStatus(CouponStatus.ACTIVE);
+        when(repository.redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(0, 1);
+        when(repository.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+
+        service.redeem("ABC123");
+
+        verify(repository, times(2)).redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class));
+        verify(lookupCache).evictAfterCommit("ABC123");
+    }
+
+    @Test
+    void testRedeem_ConcurrentChangeConflict() {
+        coupon.setStatus(CouponStatus.ACTIVE);
+        when(repository.redeem(eq("ABC123"), eq(CouponStatus.ACTIVE), any(Instant.class))).thenReturn(0);
+        when(repository.findByCode("ABC123")).thenReturn(Optional.of(coupon));
+
+        assertThrows(CouponConflictException.class, () -> service.redeem("ABC123"));
+        verify(metrics).conflictRetried(CouponMetrics.Operation.REDEEM);
+        verify(lookupCache, never()).evictAfterCommit(any(String.class));
+    }
+
+    @Test
+    void testCreateCoupon_InvalidMaxRedemptions() {
+        request.setMaxRedemptions(0);
+
+        assertThrows(CouponBusinessException.class, () -> service.create(request),
+                "Max redemptions must be greater than zero.");
+    }
+
+    // Nova leitura do mesmo cupom (cada tentativa recebe uma instância própria)
+    private Coupon freshCoupon() {
+        Coupon copy = new Coupon(coupon.getCode(), coupon.getDescription(), coupon.getDiscountValue(),
+                coupon.getExpirationDate(), coupon.getPublished());
+        copy.setStatus(CouponStatus.INACTIVE);
+        ReflectionTestUtils.setField(copy, "id", UUID.fromString(ID));
+        return copy;
+    }
 }